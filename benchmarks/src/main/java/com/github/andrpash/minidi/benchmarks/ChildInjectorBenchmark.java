@@ -0,0 +1,92 @@
+package com.github.andrpash.minidi.benchmarks;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.benchmarks.model.DeepGraph;
+import com.github.andrpash.minidi.benchmarks.model.Service;
+import com.github.andrpash.minidi.benchmarks.model.ServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ChildInjectorBenchmark
+{
+	@Param( { "1", "5", "20" } )
+	private int depth;
+
+	private MiniDI.Injector root;
+	private MiniDI.Injector pooledRoot;
+	private MiniDI.Injector leaf;
+	private final Service requestService = new ServiceImpl( );
+
+	@Setup
+	public void setup( )
+	{
+		this.root = DeepGraph.bindTransient( MiniDI.create( ) )
+			.bind( Service.class ).toClass( ServiceImpl.class )
+			.initialize( );
+
+		MiniDI.Injector injector = this.root;
+		for ( int i = 0; i < this.depth; i++ )
+		{
+			injector = injector.createChild( ).initialize( );
+		}
+		this.leaf = injector;
+
+		this.pooledRoot = MiniDI.create( )
+			.poolRequestChildren( 16 )
+			.initialize( );
+	}
+
+	@Benchmark
+	public Service singletonGetThroughChildren( )
+	{
+		return this.leaf.get( Service.class );
+	}
+
+	@Benchmark
+	@Threads( Threads.MAX )
+	public Service singletonGetThroughChildrenContended( )
+	{
+		return this.leaf.get( Service.class );
+	}
+
+	@Benchmark
+	public DeepGraph transientGetThroughChildren( )
+	{
+		return this.leaf.get( DeepGraph.class );
+	}
+
+	@Benchmark
+	public MiniDI.Injector createAndInitializeChild( )
+	{
+		return this.root.createChild( ).initialize( );
+	}
+
+	@Benchmark
+	public Service createAndCloseRequestChild( )
+	{
+		try ( final MiniDI.Injector request = this.root.createRequestChild( )
+			.bind( Service.class ).toInstance( this.requestService )
+			.initialize( ) )
+		{
+			return request.get( Service.class );
+		}
+	}
+
+	@Benchmark
+	public Service createAndClosePooledRequestChild( )
+	{
+		try ( final MiniDI.Injector request = this.pooledRoot.createRequestChild( )
+			.bind( Service.class ).toInstance( this.requestService )
+			.initialize( ) )
+		{
+			return request.get( Service.class );
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.github.andrpash.minidi.benchmarks;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.benchmarks.model.GeneratedGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class DynamicBindingBenchmark
+{
+	@Param( { "100", "1000" } )
+	private int bindings;
+
+	private GeneratedGraph graph;
+	private Class<?>[] nodes;
+
+	@Setup
+	public void setup( )
+	{
+		this.graph = new GeneratedGraph( this.bindings );
+		this.nodes = this.graph.getNodes( ).toArray( new Class<?>[ 0 ] );
+	}
+
+	@Benchmark
+	public MiniDI.Injector bindDynamicOneByOne( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( ).dynamic( this.nodes ).initialize( );
+		for ( final Class<?> node : this.nodes )
+		{
+			bindDynamic( injector, node );
+		}
+
+		return injector;
+	}
+
+	private static <T> void bindDynamic( final MiniDI.Injector injector, final Class<T> node )
+	{
+		injector.bindDynamic( node ).toClass( node );
+	}
+}
@@ -0,0 +1,42 @@
+package com.github.andrpash.minidi.benchmarks;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.benchmarks.model.DeepGraph;
+import com.github.andrpash.minidi.benchmarks.model.Product;
+import com.github.andrpash.minidi.benchmarks.model.ProductFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class FactoryBindingBenchmark
+{
+	private MiniDI.Injector injector;
+
+	@Setup
+	public void setup( )
+	{
+		this.injector = MiniDI.create( )
+			.bind( DeepGraph.Level3.class ).toClass( DeepGraph.Level3.class )
+			.bind( Product.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toFactory( ProductFactory.class )
+			.initialize( );
+	}
+
+	@Benchmark
+	public Product transientFactory( )
+	{
+		return this.injector.get( Product.class );
+	}
+
+	@Benchmark
+	@Threads( Threads.MAX )
+	public Product transientFactoryContended( )
+	{
+		return this.injector.get( Product.class );
+	}
+}
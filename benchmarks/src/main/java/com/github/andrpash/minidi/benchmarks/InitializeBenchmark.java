@@ -0,0 +1,40 @@
+package com.github.andrpash.minidi.benchmarks;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.benchmarks.model.GeneratedGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class InitializeBenchmark
+{
+	@Param( { "1000", "10000" } )
+	private int bindings;
+
+	private GeneratedGraph graph;
+
+	@Setup
+	public void setup( )
+	{
+		this.graph = new GeneratedGraph( this.bindings );
+	}
+
+	@Benchmark
+	public MiniDI.Injector initialize( )
+	{
+		return this.graph.bind( MiniDI.create( ) ).initialize( );
+	}
+
+	@Benchmark
+	@Threads( Threads.MAX )
+	public MiniDI.Injector initializeContended( )
+	{
+		return this.graph.bind( MiniDI.create( ) ).initialize( );
+	}
+}
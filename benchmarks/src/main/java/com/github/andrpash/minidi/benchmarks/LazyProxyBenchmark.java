@@ -0,0 +1,62 @@
+package com.github.andrpash.minidi.benchmarks;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.benchmarks.model.LazyServiceConsumer;
+import com.github.andrpash.minidi.benchmarks.model.Service;
+import com.github.andrpash.minidi.benchmarks.model.ServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class LazyProxyBenchmark
+{
+	private MiniDI.Injector injector;
+	private Service direct;
+	private Service proxy;
+	private int value = 42;
+
+	@Setup
+	public void setup( )
+	{
+		this.injector = MiniDI.create( )
+			.bind( Service.class ).toClass( ServiceImpl.class )
+			.bind( LazyServiceConsumer.class ).withScope( MiniDI.BindingScope.TRANSIENT )
+			.toClass( LazyServiceConsumer.class )
+			.initialize( );
+
+		this.direct = new ServiceImpl( );
+		this.proxy = this.injector.get( LazyServiceConsumer.class ).getService( );
+		this.proxy.compute( 0 );
+	}
+
+	@Benchmark
+	public int directCall( )
+	{
+		return this.direct.compute( this.value );
+	}
+
+	@Benchmark
+	public int proxyCall( )
+	{
+		return this.proxy.compute( this.value );
+	}
+
+	@Benchmark
+	@Threads( Threads.MAX )
+	public int proxyCallContended( )
+	{
+		return this.proxy.compute( this.value );
+	}
+
+	@Benchmark
+	public int proxyCreateAndFirstCall( )
+	{
+		return this.injector.get( LazyServiceConsumer.class ).getService( ).compute( this.value );
+	}
+}
@@ -0,0 +1,50 @@
+package com.github.andrpash.minidi.benchmarks;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.benchmarks.model.Service;
+import com.github.andrpash.minidi.benchmarks.model.ServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SingletonGetBenchmark
+{
+	@Param( { "false", "true" } )
+	public boolean metrics;
+
+	private MiniDI.Injector injector;
+
+	@Setup
+	public void setup( )
+	{
+		final MiniDI.InjectorBuilder builder = MiniDI.create( );
+		if ( this.metrics )
+		{
+			builder.metrics( new MiniDI.JmxMetrics( ) );
+		}
+
+		this.injector = builder
+			.bind( Service.class ).toClass( ServiceImpl.class )
+			.initialize( );
+		this.injector.get( Service.class );
+	}
+
+	@Benchmark
+	public Service singletonGet( )
+	{
+		return this.injector.get( Service.class );
+	}
+
+	@Benchmark
+	@Threads( Threads.MAX )
+	public Service singletonGetContended( )
+	{
+		return this.injector.get( Service.class );
+	}
+}
@@ -0,0 +1,43 @@
+package com.github.andrpash.minidi.benchmarks;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.benchmarks.model.DeepGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class TransientGetBenchmark
+{
+	private MiniDI.Injector injector;
+
+	@Setup
+	public void setup( )
+	{
+		this.injector = DeepGraph.bindTransient( MiniDI.create( ) ).initialize( );
+	}
+
+	@Benchmark
+	public DeepGraph transientDeepGraph( )
+	{
+		return this.injector.get( DeepGraph.class );
+	}
+
+	@Benchmark
+	@Threads( Threads.MAX )
+	public DeepGraph transientDeepGraphContended( )
+	{
+		return this.injector.get( DeepGraph.class );
+	}
+
+	@Benchmark
+	public DeepGraph.Level3 transientLeaf( )
+	{
+		return this.injector.get( DeepGraph.Level3.class );
+	}
+}
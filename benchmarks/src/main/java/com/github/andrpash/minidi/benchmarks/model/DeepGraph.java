@@ -0,0 +1,49 @@
+package com.github.andrpash.minidi.benchmarks.model;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class DeepGraph
+{
+	@MiniDI.Inject
+	private Level2_1 child1;
+
+	@MiniDI.Inject
+	private Level2_2 child2;
+
+	@MiniDI.Inject
+	private Level3 child3;
+
+	public static class Level2_1
+	{
+		@MiniDI.Inject
+		private Level2_2 child1;
+
+		@MiniDI.Inject
+		private Level3 child2;
+	}
+
+	public static class Level2_2
+	{
+		private final Level3 child;
+
+		@MiniDI.Inject
+		public Level2_2( final Level3 child )
+		{
+			this.child = child;
+		}
+	}
+
+	public static class Level3
+	{
+
+	}
+
+	public static MiniDI.InjectorBuilder bindTransient( final MiniDI.InjectorBuilder builder )
+	{
+		return builder
+			.bind( DeepGraph.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( DeepGraph.class )
+			.bind( Level2_1.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( Level2_1.class )
+			.bind( Level2_2.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( Level2_2.class )
+			.bind( Level3.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( Level3.class );
+	}
+}
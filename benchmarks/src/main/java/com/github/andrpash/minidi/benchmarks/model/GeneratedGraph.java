@@ -0,0 +1,204 @@
+package com.github.andrpash.minidi.benchmarks.model;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/*
+ * Generates large binding graphs for startup benchmarks, as thousands of distinct classes cannot be written by hand.
+ * Node i injects nodes i - 1, i / 2 and i / 3 into public fields, which produces plenty of shared (diamond) subgraphs.
+ */
+public class GeneratedGraph
+{
+	private static final String PACKAGE = "com/github/andrpash/minidi/benchmarks/generated/";
+	private static final String INJECT_DESCRIPTOR = "L" + MiniDI.Inject.class.getName( ).replace( '.', '/' ) + ";";
+
+	private final List<Class<?>> nodes = new ArrayList<>( );
+
+	public GeneratedGraph( final int size )
+	{
+		final GraphClassLoader classLoader = new GraphClassLoader( GeneratedGraph.class.getClassLoader( ) );
+		for ( int i = 0; i < size; i++ )
+		{
+			final String name = PACKAGE + "Node" + i;
+			this.nodes.add( classLoader.define( name.replace( '/', '.' ), writeNode( name, dependenciesOf( i ) ) ) );
+		}
+	}
+
+	public List<Class<?>> getNodes( )
+	{
+		return this.nodes;
+	}
+
+	public MiniDI.InjectorBuilder bind( final MiniDI.InjectorBuilder builder )
+	{
+		for ( final Class<?> node : this.nodes )
+		{
+			bind( builder, node );
+		}
+
+		return builder;
+	}
+
+	private static <T> void bind( final MiniDI.InjectorBuilder builder, final Class<T> node )
+	{
+		builder.bind( node ).toClass( node );
+	}
+
+	private static Set<Integer> dependenciesOf( final int node )
+	{
+		final Set<Integer> dependencies = new LinkedHashSet<>( );
+		for ( final int dependency : new int[] { node - 1, node / 2, node / 3 } )
+		{
+			if ( dependency >= 0 && dependency < node )
+			{
+				dependencies.add( dependency );
+			}
+		}
+
+		return dependencies;
+	}
+
+	private static byte[] writeNode( final String name, final Set<Integer> dependencies )
+	{
+		try
+		{
+			final ConstantPool pool = new ConstantPool( );
+			final int thisClass = pool.classRef( name );
+			final int superClass = pool.classRef( "java/lang/Object" );
+			final int superConstructor = pool.methodRef( "java/lang/Object", "<init>", "()V" );
+			final int constructorName = pool.utf8( "<init>" );
+			final int constructorDescriptor = pool.utf8( "()V" );
+			final int code = pool.utf8( "Code" );
+			final int annotations = pool.utf8( "RuntimeVisibleAnnotations" );
+			final int inject = pool.utf8( INJECT_DESCRIPTOR );
+
+			final ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream( );
+			final DataOutputStream fields = new DataOutputStream( fieldBytes );
+			int index = 0;
+			for ( final int dependency : dependencies )
+			{
+				fields.writeShort( 0x0001 );
+				fields.writeShort( pool.utf8( "dependency" + index++ ) );
+				fields.writeShort( pool.utf8( "L" + PACKAGE + "Node" + dependency + ";" ) );
+				fields.writeShort( 1 );
+				fields.writeShort( annotations );
+				fields.writeInt( 6 );
+				fields.writeShort( 1 );
+				fields.writeShort( inject );
+				fields.writeShort( 0 );
+			}
+
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream( );
+			final DataOutputStream output = new DataOutputStream( bytes );
+			output.writeInt( 0xCAFEBABE );
+			output.writeShort( 0 );
+			output.writeShort( 52 );
+			pool.writeTo( output );
+			output.writeShort( 0x0021 );
+			output.writeShort( thisClass );
+			output.writeShort( superClass );
+			output.writeShort( 0 );
+			output.writeShort( dependencies.size( ) );
+			fieldBytes.writeTo( output );
+
+			output.writeShort( 1 );
+			output.writeShort( 0x0001 );
+			output.writeShort( constructorName );
+			output.writeShort( constructorDescriptor );
+			output.writeShort( 1 );
+			output.writeShort( code );
+			output.writeInt( 17 );
+			output.writeShort( 1 );
+			output.writeShort( 1 );
+			output.writeInt( 5 );
+			output.writeByte( 0x2a ); /* aload_0 */
+			output.writeByte( 0xb7 ); /* invokespecial */
+			output.writeShort( superConstructor );
+			output.writeByte( 0xb1 ); /* return */
+			output.writeShort( 0 );
+			output.writeShort( 0 );
+
+			output.writeShort( 0 );
+			output.flush( );
+
+			return bytes.toByteArray( );
+		}
+		catch ( final IOException e )
+		{
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	private static class ConstantPool
+	{
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream( );
+		private final DataOutputStream output = new DataOutputStream( this.bytes );
+		private final Map<String, Integer> entries = new HashMap<>( );
+		private int count = 1;
+
+		int utf8( final String value ) throws IOException
+		{
+			final Integer existing = this.entries.get( value );
+			if ( existing != null )
+			{
+				return existing;
+			}
+
+			this.output.writeByte( 1 );
+			this.output.writeUTF( value );
+			this.entries.put( value, this.count );
+
+			return this.count++;
+		}
+
+		int classRef( final String internalName ) throws IOException
+		{
+			final int name = utf8( internalName );
+			this.output.writeByte( 7 );
+			this.output.writeShort( name );
+
+			return this.count++;
+		}
+
+		int methodRef( final String owner, final String name, final String descriptor ) throws IOException
+		{
+			final int ownerClass = classRef( owner );
+			final int nameIndex = utf8( name );
+			final int descriptorIndex = utf8( descriptor );
+			this.output.writeByte( 12 );
+			this.output.writeShort( nameIndex );
+			this.output.writeShort( descriptorIndex );
+			final int nameAndType = this.count++;
+			this.output.writeByte( 10 );
+			this.output.writeShort( ownerClass );
+			this.output.writeShort( nameAndType );
+
+			return this.count++;
+		}
+
+		void writeTo( final DataOutputStream output ) throws IOException
+		{
+			this.output.flush( );
+			output.writeShort( this.count );
+			this.bytes.writeTo( output );
+		}
+	}
+
+	private static class GraphClassLoader extends ClassLoader
+	{
+		GraphClassLoader( final ClassLoader parent )
+		{
+			super( parent );
+		}
+
+		Class<?> define( final String name, final byte[] bytes )
+		{
+			return defineClass( name, bytes, 0, bytes.length );
+		}
+	}
+}
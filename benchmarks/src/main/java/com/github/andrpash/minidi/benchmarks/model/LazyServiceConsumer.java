@@ -0,0 +1,15 @@
+package com.github.andrpash.minidi.benchmarks.model;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class LazyServiceConsumer
+{
+	@MiniDI.Inject
+	@MiniDI.Lazy
+	private Service service;
+
+	public Service getService( )
+	{
+		return this.service;
+	}
+}
@@ -0,0 +1,16 @@
+package com.github.andrpash.minidi.benchmarks.model;
+
+public class Product
+{
+	private final DeepGraph.Level3 part;
+
+	public Product( final DeepGraph.Level3 part )
+	{
+		this.part = part;
+	}
+
+	public DeepGraph.Level3 getPart( )
+	{
+		return this.part;
+	}
+}
@@ -0,0 +1,15 @@
+package com.github.andrpash.minidi.benchmarks.model;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class ProductFactory implements MiniDI.Factory<Product>
+{
+	@MiniDI.Inject
+	private DeepGraph.Level3 part;
+
+	@Override
+	public Product create( )
+	{
+		return new Product( this.part );
+	}
+}
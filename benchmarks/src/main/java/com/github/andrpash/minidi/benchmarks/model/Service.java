@@ -0,0 +1,6 @@
+package com.github.andrpash.minidi.benchmarks.model;
+
+public interface Service
+{
+	int compute( int value );
+}
@@ -0,0 +1,10 @@
+package com.github.andrpash.minidi.benchmarks.model;
+
+public class ServiceImpl implements Service
+{
+	@Override
+	public int compute( final int value )
+	{
+		return value * 31 + 7;
+	}
+}
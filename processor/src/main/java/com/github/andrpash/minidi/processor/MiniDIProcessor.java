@@ -0,0 +1,526 @@
+package com.github.andrpash.minidi.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@SupportedAnnotationTypes( MiniDIProcessor.INJECT )
+public class MiniDIProcessor extends AbstractProcessor
+{
+	/*
+	 * Emits a <binary name>_MiniDIFactory for every class with @MiniDI.Inject members. MiniDI picks these factories up
+	 * at bind time and skips the reflective constructor and field scan. Classes the generated code cannot reach
+	 * (private members, final fields, inner or generic classes) are left to the reflective path. The binary names of
+	 * all classes with a factory are listed in an index, so that MiniDI does not probe for factories that don't exist.
+	 */
+	static final String MINIDI = "com.github.andrpash.minidi.MiniDI";
+	static final String INJECT = MINIDI + ".Inject";
+	static final String LAZY = MINIDI + ".Lazy";
+	static final String PROVIDER = MINIDI + ".Provider";
+	static final String POST_CONSTRUCT = MINIDI + ".PostConstruct";
+	static final String PRE_DESTROY = MINIDI + ".PreDestroy";
+	static final String SUFFIX = "_MiniDIFactory";
+	static final String INDEX = "META-INF/minidi/factories";
+
+	private final Set<String> indexedClasses = new LinkedHashSet<>( );
+	private final List<Element> indexedElements = new ArrayList<>( );
+
+	@Override
+	public SourceVersion getSupportedSourceVersion( )
+	{
+		return SourceVersion.latestSupported( );
+	}
+
+	@Override
+	public boolean process( final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment )
+	{
+		final Set<TypeElement> injectedTypes = new LinkedHashSet<>( );
+		for ( final TypeElement annotation : annotations )
+		{
+			for ( final Element element : roundEnvironment.getElementsAnnotatedWith( annotation ) )
+			{
+				injectedTypes.add( ( TypeElement ) element.getEnclosingElement( ) );
+			}
+		}
+
+		for ( final TypeElement injectedType : injectedTypes )
+		{
+			final InjectedClass injectedClass = analyze( injectedType );
+			if ( injectedClass != null )
+			{
+				write( injectedClass );
+			}
+		}
+
+		if ( roundEnvironment.processingOver( ) && !this.indexedClasses.isEmpty( ) )
+		{
+			writeIndex( );
+		}
+
+		return false;
+	}
+
+	private void writeIndex( )
+	{
+		try
+		{
+			final FileObject index = this.processingEnv.getFiler( ).createResource( StandardLocation.CLASS_OUTPUT, "",
+				INDEX, this.indexedElements.toArray( new Element[ 0 ] ) );
+			try ( final Writer writer = index.openWriter( ) )
+			{
+				for ( final String indexedClass : this.indexedClasses )
+				{
+					writer.write( indexedClass );
+					writer.write( '\n' );
+				}
+			}
+		}
+		catch ( final IOException e )
+		{
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	private InjectedClass analyze( final TypeElement type )
+	{
+		if ( type.getKind( ) != ElementKind.CLASS || type.getModifiers( ).contains( Modifier.ABSTRACT ) ||
+			!type.getTypeParameters( ).isEmpty( ) || !isReachable( type ) )
+		{
+			return skip( type, "it is not a concrete, non-generic class reachable from its package" );
+		}
+
+		final InjectedClass injectedClass = new InjectedClass( type );
+
+		ExecutableElement constructor = null;
+		ExecutableElement defaultConstructor = null;
+		for ( final Element element : type.getEnclosedElements( ) )
+		{
+			if ( element.getKind( ) == ElementKind.CONSTRUCTOR )
+			{
+				final ExecutableElement executable = ( ExecutableElement ) element;
+				if ( constructor == null && hasAnnotation( executable, INJECT ) )
+				{
+					constructor = executable;
+				}
+				if ( executable.getParameters( ).isEmpty( ) )
+				{
+					defaultConstructor = executable;
+				}
+			}
+			else if ( element.getKind( ) == ElementKind.FIELD && hasAnnotation( element, INJECT ) )
+			{
+				final VariableElement field = ( VariableElement ) element;
+				if ( field.getModifiers( ).contains( Modifier.PRIVATE ) || field.getModifiers( ).contains( Modifier.FINAL ) )
+				{
+					return skip( type, "field " + field.getSimpleName( ) + " is private or final" );
+				}
+
+				final boolean lazy = hasAnnotation( field, LAZY );
+				if ( lazy && !isLazyProxyable( field.asType( ) ) )
+				{
+					/* MiniDI rejects the binding with InvalidLazyAnnotation, keep that on the reflective path */
+					this.processingEnv.getMessager( ).printMessage( Diagnostic.Kind.WARNING,
+						"@Lazy is only supported on interfaces and fully delegatable public classes", field );
+					return null;
+				}
+
+				final InjectionPoint injectionPoint = injectionPoint( field.asType( ), lazy );
+				if ( injectionPoint == null )
+				{
+					return skip( type, "field " + field.getSimpleName( ) + " has an unsupported type" );
+				}
+
+				injectedClass.fields.add( field );
+				injectedClass.fieldDependencies.add( injectionPoint );
+			}
+		}
+
+		if ( constructor == null )
+		{
+			constructor = defaultConstructor;
+			if ( constructor == null || !constructor.getModifiers( ).contains( Modifier.PUBLIC ) )
+			{
+				return skip( type, "it has neither an @Inject constructor nor a public default constructor" );
+			}
+		}
+		if ( constructor.getModifiers( ).contains( Modifier.PRIVATE ) )
+		{
+			return skip( type, "its constructor is private" );
+		}
+
+		for ( final VariableElement parameter : constructor.getParameters( ) )
+		{
+			if ( hasAnnotation( parameter, LAZY ) && !isLazyProxyable( parameter.asType( ) ) )
+			{
+				this.processingEnv.getMessager( ).printMessage( Diagnostic.Kind.WARNING,
+					"@Lazy is only supported on interfaces and fully delegatable public classes", parameter );
+				return null;
+			}
+
+			final InjectionPoint injectionPoint = injectionPoint( parameter.asType( ), hasAnnotation( parameter, LAZY ) );
+			if ( injectionPoint == null )
+			{
+				return skip( type, "constructor parameter " + parameter.getSimpleName( ) + " has an unsupported type" );
+			}
+
+			injectedClass.constructorDependencies.add( injectionPoint );
+		}
+
+		analyzeLifecycle( injectedClass );
+
+		return injectedClass;
+	}
+
+	private void analyzeLifecycle( final InjectedClass injectedClass )
+	{
+		/*
+		 * Mirrors the reflective lookup in MiniDI: superclass post construct methods first, pre destroy methods last,
+		 * overridden methods only through their override. If any of them cannot be called from the generated factory,
+		 * or is invalid, the callbacks are left to the reflective path.
+		 */
+		final PackageElement factoryPackage = this.processingEnv.getElementUtils( ).getPackageOf( injectedClass.type );
+		final List<String> postConstruct = new ArrayList<>( );
+		final List<String> preDestroy = new ArrayList<>( );
+		final Set<String> overridden = new HashSet<>( );
+		TypeElement current = injectedClass.type;
+		while ( !current.getQualifiedName( ).contentEquals( "java.lang.Object" ) )
+		{
+			for ( final Element element : current.getEnclosedElements( ) )
+			{
+				if ( element.getKind( ) != ElementKind.METHOD )
+				{
+					continue;
+				}
+
+				final ExecutableElement method = ( ExecutableElement ) element;
+				final Set<Modifier> modifiers = method.getModifiers( );
+				final boolean isPostConstruct = hasAnnotation( method, POST_CONSTRUCT );
+				final boolean isPreDestroy = hasAnnotation( method, PRE_DESTROY );
+				final boolean isOverridable = method.getParameters( ).isEmpty( ) &&
+					!modifiers.contains( Modifier.PRIVATE ) && !modifiers.contains( Modifier.STATIC );
+				if ( !isPostConstruct && !isPreDestroy )
+				{
+					if ( isOverridable )
+					{
+						overridden.add( method.getSimpleName( ).toString( ) );
+					}
+					continue;
+				}
+
+				if ( !isOverridable )
+				{
+					return;
+				}
+				if ( !overridden.add( method.getSimpleName( ).toString( ) ) )
+				{
+					continue;
+				}
+				if ( !modifiers.contains( Modifier.PUBLIC ) &&
+					!this.processingEnv.getElementUtils( ).getPackageOf( current ).equals( factoryPackage ) )
+				{
+					return;
+				}
+
+				if ( isPostConstruct )
+				{
+					postConstruct.add( 0, method.getSimpleName( ).toString( ) );
+				}
+				if ( isPreDestroy )
+				{
+					preDestroy.add( method.getSimpleName( ).toString( ) );
+				}
+			}
+
+			final TypeMirror superclass = current.getSuperclass( );
+			if ( superclass.getKind( ) != TypeKind.DECLARED )
+			{
+				break;
+			}
+			current = ( TypeElement ) ( ( DeclaredType ) superclass ).asElement( );
+		}
+
+		injectedClass.postConstruct = postConstruct;
+		injectedClass.preDestroy = preDestroy;
+	}
+
+	private InjectedClass skip( final TypeElement type, final String reason )
+	{
+		this.processingEnv.getMessager( ).printMessage( Diagnostic.Kind.NOTE,
+			"No MiniDI factory generated for " + type.getQualifiedName( ) + " because " + reason, type );
+
+		return null;
+	}
+
+	private InjectionPoint injectionPoint( final TypeMirror type, final boolean lazy )
+	{
+		final TypeMirror erasure = this.processingEnv.getTypeUtils( ).erasure( type );
+		if ( !isProvider( erasure ) )
+		{
+			return new InjectionPoint( erasure.toString( ), erasure.toString( ), lazy, false );
+		}
+
+		final List<? extends TypeMirror> typeArguments = ( ( DeclaredType ) type ).getTypeArguments( );
+		if ( typeArguments.isEmpty( ) || typeArguments.get( 0 ).getKind( ) != TypeKind.DECLARED )
+		{
+			/* raw and wildcard providers are reported by MiniDI itself */
+			return null;
+		}
+
+		final TypeMirror providedType = this.processingEnv.getTypeUtils( ).erasure( typeArguments.get( 0 ) );
+
+		return new InjectionPoint( erasure.toString( ), providedType.toString( ), lazy, true );
+	}
+
+	private boolean isProvider( final TypeMirror erasure )
+	{
+		return erasure.getKind( ) == TypeKind.DECLARED &&
+			( ( TypeElement ) ( ( DeclaredType ) erasure ).asElement( ) ).getQualifiedName( ).contentEquals( PROVIDER );
+	}
+
+	private static boolean isLazyProxyable( final TypeMirror type )
+	{
+		if ( type.getKind( ) != TypeKind.DECLARED )
+		{
+			return false;
+		}
+
+		final Element element = ( ( DeclaredType ) type ).asElement( );
+		if ( element.getKind( ) == ElementKind.INTERFACE )
+		{
+			return true;
+		}
+
+		return element.getKind( ) == ElementKind.CLASS && element.getModifiers( ).contains( Modifier.PUBLIC ) &&
+			!element.getModifiers( ).contains( Modifier.FINAL ) && isFullyDelegated( ( TypeElement ) element );
+	}
+
+	private static boolean isFullyDelegated( final TypeElement type )
+	{
+		/* mirrors MiniDI: the subclass proxy only forwards public non-final methods and has no usable fields */
+		TypeElement current = type;
+		while ( !current.getQualifiedName( ).contentEquals( "java.lang.Object" ) )
+		{
+			for ( final Element member : current.getEnclosedElements( ) )
+			{
+				final Set<Modifier> modifiers = member.getModifiers( );
+				if ( modifiers.contains( Modifier.STATIC ) || modifiers.contains( Modifier.PRIVATE ) )
+				{
+					continue;
+				}
+				if ( member.getKind( ) == ElementKind.FIELD ||
+					member.getKind( ) == ElementKind.METHOD &&
+						( modifiers.contains( Modifier.FINAL ) || !modifiers.contains( Modifier.PUBLIC ) ) )
+				{
+					return false;
+				}
+			}
+
+			final TypeMirror superclass = current.getSuperclass( );
+			if ( superclass.getKind( ) != TypeKind.DECLARED )
+			{
+				break;
+			}
+			current = ( TypeElement ) ( ( DeclaredType ) superclass ).asElement( );
+		}
+
+		return true;
+	}
+
+	private static boolean isReachable( final TypeElement type )
+	{
+		Element element = type;
+		while ( element instanceof TypeElement )
+		{
+			final TypeElement typeElement = ( TypeElement ) element;
+			if ( typeElement.getModifiers( ).contains( Modifier.PRIVATE ) )
+			{
+				return false;
+			}
+			if ( typeElement.getNestingKind( ) == NestingKind.MEMBER )
+			{
+				if ( !typeElement.getModifiers( ).contains( Modifier.STATIC ) &&
+					typeElement.getEnclosingElement( ).getKind( ) == ElementKind.CLASS )
+				{
+					return false;
+				}
+			}
+			else if ( typeElement.getNestingKind( ) != NestingKind.TOP_LEVEL )
+			{
+				return false;
+			}
+
+			element = typeElement.getEnclosingElement( );
+		}
+
+		return true;
+	}
+
+	private static boolean hasAnnotation( final Element element, final String annotation )
+	{
+		for ( final AnnotationMirror annotationMirror : element.getAnnotationMirrors( ) )
+		{
+			final TypeElement annotationType = ( TypeElement ) annotationMirror.getAnnotationType( ).asElement( );
+			if ( annotationType.getQualifiedName( ).contentEquals( annotation ) )
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void write( final InjectedClass injectedClass )
+	{
+		final String packageName = this.processingEnv.getElementUtils( ).getPackageOf( injectedClass.type )
+			.getQualifiedName( ).toString( );
+		final String binaryName = this.processingEnv.getElementUtils( ).getBinaryName( injectedClass.type ).toString( );
+		final String factoryName = ( packageName.isEmpty( ) ? binaryName : binaryName.substring( packageName.length( ) + 1 ) )
+			.replace( '$', '_' ) + SUFFIX;
+		final String className = injectedClass.type.getQualifiedName( ).toString( );
+
+		final StringBuilder source = new StringBuilder( );
+		if ( !packageName.isEmpty( ) )
+		{
+			source.append( "package " ).append( packageName ).append( ";\n\n" );
+		}
+		source.append( "@SuppressWarnings( { \"unchecked\", \"rawtypes\" } )\n" )
+			.append( "public final class " ).append( factoryName ).append( " implements " ).append( MINIDI )
+			.append( ".GeneratedFactory\n{\n" );
+
+		appendInjectionPoints( source, "constructorDependencies", injectedClass.constructorDependencies );
+		appendInjectionPoints( source, "fieldDependencies", injectedClass.fieldDependencies );
+
+		source.append( "\t@Override\n\tpublic " ).append( MINIDI ).append( ".Instantiator instantiator( )\n\t{\n" )
+			.append( "\t\treturn arguments -> new " ).append( className ).append( "(" );
+		for ( int i = 0; i < injectedClass.constructorDependencies.size( ); i++ )
+		{
+			source.append( i == 0 ? " " : ", " )
+				.append( "( " ).append( injectedClass.constructorDependencies.get( i ).declaredType ).append( " ) " )
+				.append( "arguments[ " ).append( i ).append( " ]" );
+		}
+		source.append( " );\n\t}\n\n" );
+
+		source.append( "\t@Override\n\tpublic " ).append( MINIDI ).append( ".FieldInjector[] fieldInjectors( )\n\t{\n" )
+			.append( "\t\treturn new " ).append( MINIDI ).append( ".FieldInjector[] {\n" );
+		for ( int i = 0; i < injectedClass.fields.size( ); i++ )
+		{
+			final VariableElement field = injectedClass.fields.get( i );
+			final String target = field.getModifiers( ).contains( Modifier.STATIC )
+				? className
+				: "( ( " + className + " ) instance )";
+			source.append( "\t\t\t( instance, value ) -> " ).append( target ).append( "." )
+				.append( field.getSimpleName( ) ).append( " = ( " )
+				.append( injectedClass.fieldDependencies.get( i ).declaredType ).append( " ) value,\n" );
+		}
+		source.append( "\t\t};\n\t}\n" );
+
+		if ( injectedClass.postConstruct != null )
+		{
+			appendLifecycleCallback( source, "postConstruct", className, injectedClass.postConstruct );
+			appendLifecycleCallback( source, "preDestroy", className, injectedClass.preDestroy );
+		}
+		source.append( "}\n" );
+
+		try
+		{
+			final String qualifiedFactoryName = packageName.isEmpty( ) ? factoryName : packageName + "." + factoryName;
+			final JavaFileObject sourceFile = this.processingEnv.getFiler( )
+				.createSourceFile( qualifiedFactoryName, injectedClass.type );
+			try ( final Writer writer = sourceFile.openWriter( ) )
+			{
+				writer.write( source.toString( ) );
+			}
+			this.indexedClasses.add( binaryName );
+			this.indexedElements.add( injectedClass.type );
+		}
+		catch ( final IOException e )
+		{
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	private static void appendInjectionPoints( final StringBuilder source, final String method,
+		final List<InjectionPoint> injectionPoints )
+	{
+		source.append( "\t@Override\n\tpublic " ).append( MINIDI ).append( ".InjectionPoint[] " ).append( method )
+			.append( "( )\n\t{\n\t\treturn new " ).append( MINIDI ).append( ".InjectionPoint[] {\n" );
+		for ( final InjectionPoint injectionPoint : injectionPoints )
+		{
+			source.append( "\t\t\tnew " ).append( MINIDI ).append( ".InjectionPoint( " )
+				.append( injectionPoint.dependencyType ).append( ".class, " )
+				.append( injectionPoint.lazy ).append( ", " )
+				.append( injectionPoint.provider ).append( " ),\n" );
+		}
+		source.append( "\t\t};\n\t}\n\n" );
+	}
+
+	private static void appendLifecycleCallback( final StringBuilder source, final String method,
+		final String className, final List<String> methodNames )
+	{
+		source.append( "\n\t@Override\n\tpublic " ).append( MINIDI ).append( ".LifecycleCallback " ).append( method )
+			.append( "( )\n\t{\n" );
+		if ( methodNames.isEmpty( ) )
+		{
+			source.append( "\t\treturn " ).append( MINIDI ).append( ".LifecycleCallback.NONE;\n\t}\n" );
+			return;
+		}
+
+		source.append( "\t\treturn instance -> {\n" );
+		for ( final String methodName : methodNames )
+		{
+			source.append( "\t\t\t( ( " ).append( className ).append( " ) instance )." ).append( methodName )
+				.append( "( );\n" );
+		}
+		source.append( "\t\t};\n\t}\n" );
+	}
+
+	private static class InjectedClass
+	{
+		final TypeElement type;
+		final List<InjectionPoint> constructorDependencies = new ArrayList<>( );
+		final List<VariableElement> fields = new ArrayList<>( );
+		final List<InjectionPoint> fieldDependencies = new ArrayList<>( );
+		/* null if the lifecycle callbacks are left to the reflective path */
+		List<String> postConstruct = null;
+		List<String> preDestroy = null;
+
+		InjectedClass( final TypeElement type )
+		{
+			this.type = type;
+		}
+	}
+
+	private static class InjectionPoint
+	{
+		final String declaredType;
+		final String dependencyType;
+		final boolean lazy;
+		final boolean provider;
+
+		InjectionPoint( final String declaredType, final String dependencyType, final boolean lazy,
+			final boolean provider )
+		{
+			this.declaredType = declaredType;
+			this.dependencyType = dependencyType;
+			this.lazy = lazy;
+			this.provider = provider;
+		}
+	}
+}
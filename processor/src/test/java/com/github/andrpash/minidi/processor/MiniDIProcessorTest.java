@@ -0,0 +1,128 @@
+package com.github.andrpash.minidi.processor;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.processor.testclasses.*;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MiniDIProcessorTest
+{
+	@Test
+	public void test_factoriesAreGeneratedForReachableClasses( ) throws ClassNotFoundException
+	{
+		assertThat( MiniDI.GeneratedFactory.class ).isAssignableFrom(
+			Class.forName( FieldInjectedService.class.getName( ) + "_MiniDIFactory" ),
+			Class.forName( ConstructorInjectedService.class.getName( ) + "_MiniDIFactory" ),
+			Class.forName( ConstructorInjectedService.class.getName( ) + "_Nested_MiniDIFactory" ) );
+	}
+
+	@Test
+	public void test_noFactoryForPrivateInjectionFields( )
+	{
+		assertThatThrownBy( ( ) -> Class.forName( PrivateFieldService.class.getName( ) + "_MiniDIFactory" ) )
+			.isInstanceOf( ClassNotFoundException.class );
+	}
+
+	@Test
+	public void test_classesWithFactoryAreIndexed( ) throws IOException
+	{
+		final List<String> indexedClasses;
+		try ( final BufferedReader reader = new BufferedReader( new InputStreamReader( getClass( ).getClassLoader( )
+			.getResource( "META-INF/minidi/factories" ).openStream( ), StandardCharsets.UTF_8 ) ) )
+		{
+			indexedClasses = reader.lines( ).collect( Collectors.toList( ) );
+		}
+
+		assertThat( indexedClasses ).contains( FieldInjectedService.class.getName( ),
+			ConstructorInjectedService.class.getName( ), ConstructorInjectedService.Nested.class.getName( ) )
+			.doesNotContain( PrivateFieldService.class.getName( ) );
+	}
+
+	@Test
+	public void test_generatedFactoriesReplaceReflection( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.instantiationStrategy( new FailingInstantiationStrategy( ) )
+			.bind( Repository.class ).toInstance( new InMemoryRepository( ) )
+			.bind( Clock.class ).toInstance( new Clock( ) )
+			.bind( FieldInjectedService.class ).toClass( FieldInjectedService.class )
+			.bind( ConstructorInjectedService.class ).toClass( ConstructorInjectedService.class )
+			.bind( ConstructorInjectedService.Nested.class ).toClass( ConstructorInjectedService.Nested.class )
+			.initialize( );
+
+		final FieldInjectedService fieldInjectedService = injector.get( FieldInjectedService.class );
+		assertThat( fieldInjectedService.getRepository( ) ).isSameAs( injector.get( Repository.class ) );
+		assertThat( fieldInjectedService.getLazyRepository( ).name( ) ).isEqualTo( "in-memory" );
+		assertThat( fieldInjectedService.getClocks( ).get( ) ).isSameAs( injector.get( Clock.class ) );
+
+		final ConstructorInjectedService constructorInjectedService = injector.get( ConstructorInjectedService.class );
+		assertThat( constructorInjectedService.getRepository( ) ).isSameAs( injector.get( Repository.class ) );
+		assertThat( constructorInjectedService.getClock( ) ).isSameAs( injector.get( Clock.class ) );
+
+		assertThat( injector.get( ConstructorInjectedService.Nested.class ).getClock( ) )
+			.isSameAs( injector.get( Clock.class ) );
+	}
+
+	@Test
+	public void test_classesWithoutFactoryFallBackToReflection( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Clock.class ).toClass( Clock.class )
+			.bind( PrivateFieldService.class ).toClass( PrivateFieldService.class )
+			.initialize( );
+
+		assertThat( injector.get( PrivateFieldService.class ).getClock( ) ).isSameAs( injector.get( Clock.class ) );
+	}
+
+	@Test
+	public void test_lifecycleCallbacksAreGenerated( ) throws Exception
+	{
+		final MiniDI.GeneratedFactory factory = ( MiniDI.GeneratedFactory ) Class.forName(
+			LifecycleService.class.getName( ) + "_MiniDIFactory" ).getConstructor( ).newInstance( );
+		assertThat( factory.postConstruct( ) ).isNotNull( ).isNotSameAs( MiniDI.LifecycleCallback.NONE );
+		assertThat( factory.preDestroy( ) ).isNotNull( ).isNotSameAs( MiniDI.LifecycleCallback.NONE );
+
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Clock.class ).toClass( Clock.class )
+			.bind( LifecycleService.class ).toClass( LifecycleService.class )
+			.initialize( );
+		final LifecycleService service = injector.get( LifecycleService.class );
+		assertThat( service.started ).isTrue( );
+
+		injector.close( );
+		assertThat( service.stopped ).isTrue( );
+	}
+
+	@Test
+	public void test_privateLifecycleMethodsFallBackToReflection( ) throws Exception
+	{
+		final MiniDI.GeneratedFactory factory = ( MiniDI.GeneratedFactory ) Class.forName(
+			PrivateLifecycleService.class.getName( ) + "_MiniDIFactory" ).getConstructor( ).newInstance( );
+		assertThat( factory.postConstruct( ) ).isNull( );
+
+		final PrivateLifecycleService service = MiniDI.create( )
+			.bind( Clock.class ).toClass( Clock.class )
+			.bind( PrivateLifecycleService.class ).toClass( PrivateLifecycleService.class )
+			.initialize( )
+			.get( PrivateLifecycleService.class );
+		assertThat( service.started ).isTrue( );
+	}
+
+	@Test( expected = MiniDI.MissingBindingException.class )
+	public void test_generatedFactoriesAreValidated( )
+	{
+		MiniDI.create( )
+			.bind( Repository.class ).toInstance( new InMemoryRepository( ) )
+			.bind( ConstructorInjectedService.class ).toClass( ConstructorInjectedService.class )
+			.initialize( );
+	}
+}
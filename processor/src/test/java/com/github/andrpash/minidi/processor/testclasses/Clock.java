@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+public class Clock
+{
+}
@@ -0,0 +1,37 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class ConstructorInjectedService
+{
+	private final Repository repository;
+	private final Clock clock;
+
+	@MiniDI.Inject
+	ConstructorInjectedService( final Repository repository, final Clock clock )
+	{
+		this.repository = repository;
+		this.clock = clock;
+	}
+
+	public Repository getRepository( )
+	{
+		return this.repository;
+	}
+
+	public Clock getClock( )
+	{
+		return this.clock;
+	}
+
+	public static class Nested
+	{
+		@MiniDI.Inject
+		protected Clock clock;
+
+		public Clock getClock( )
+		{
+			return this.clock;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+public class FailingInstantiationStrategy implements MiniDI.InstantiationStrategy
+{
+	@Override
+	public MiniDI.Instantiator instantiator( final Constructor<?> constructor )
+	{
+		throw new IllegalStateException( "reflective instantiator requested for " + constructor );
+	}
+
+	@Override
+	public MiniDI.FieldInjector fieldInjector( final Field field )
+	{
+		throw new IllegalStateException( "reflective field injector requested for " + field );
+	}
+}
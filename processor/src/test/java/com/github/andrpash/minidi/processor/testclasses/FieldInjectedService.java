@@ -0,0 +1,31 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class FieldInjectedService
+{
+	@MiniDI.Inject
+	Repository repository;
+
+	@MiniDI.Inject
+	@MiniDI.Lazy
+	Repository lazyRepository;
+
+	@MiniDI.Inject
+	MiniDI.Provider<Clock> clocks;
+
+	public Repository getRepository( )
+	{
+		return this.repository;
+	}
+
+	public Repository getLazyRepository( )
+	{
+		return this.lazyRepository;
+	}
+
+	public MiniDI.Provider<Clock> getClocks( )
+	{
+		return this.clocks;
+	}
+}
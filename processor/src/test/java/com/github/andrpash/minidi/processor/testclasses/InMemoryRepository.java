@@ -0,0 +1,10 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+public class InMemoryRepository implements Repository
+{
+	@Override
+	public String name( )
+	{
+		return "in-memory";
+	}
+}
@@ -0,0 +1,24 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class LifecycleService
+{
+	@MiniDI.Inject
+	Clock clock;
+
+	public volatile boolean started = false;
+	public volatile boolean stopped = false;
+
+	@MiniDI.PostConstruct
+	void start( )
+	{
+		this.started = true;
+	}
+
+	@MiniDI.PreDestroy
+	public void stop( )
+	{
+		this.stopped = true;
+	}
+}
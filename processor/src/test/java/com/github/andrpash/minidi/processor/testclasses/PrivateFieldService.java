@@ -0,0 +1,14 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class PrivateFieldService
+{
+	@MiniDI.Inject
+	private Clock clock;
+
+	public Clock getClock( )
+	{
+		return this.clock;
+	}
+}
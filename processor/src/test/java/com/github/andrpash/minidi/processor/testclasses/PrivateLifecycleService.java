@@ -0,0 +1,17 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class PrivateLifecycleService
+{
+	@MiniDI.Inject
+	Clock clock;
+
+	public volatile boolean started = false;
+
+	@MiniDI.PostConstruct
+	private void start( )
+	{
+		this.started = true;
+	}
+}
@@ -0,0 +1,6 @@
+package com.github.andrpash.minidi.processor.testclasses;
+
+public interface Repository
+{
+	String name( );
+}
@@ -1,12 +1,65 @@
 package com.github.andrpash.minidi;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.management.ManagementFactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 public class MiniDI
 {
@@ -18,34 +71,108 @@ public class MiniDI
 
 		InjectorBuilder dynamic( Class<?>... classes );
 
+		InjectorBuilder instantiationStrategy( InstantiationStrategy instantiationStrategy );
+
+		InjectorBuilder metadataCache( Path file );
+
+		InjectorBuilder metrics( InjectorMetrics metrics );
+
+		InjectorBuilder eager( );
+
+		InjectorBuilder eager( Executor executor );
+
+		InjectorBuilder poolRequestChildren( int size );
+
+		InjectorBuilder shutdown( Executor executor, long timeout, TimeUnit unit );
+
 		Injector initialize( );
 	}
 
-	public interface Injector
+	public interface Injector extends AutoCloseable
 	{
 		<T> T get( Class<T> clazz );
 
+		<T> CompletableFuture<T> getAsync( Class<T> clazz );
+
+		<T> List<T> getMany( Class<T> clazz, int count );
+
 		InjectorBuilder createChild( );
 
+		InjectorBuilder createRequestChild( );
+
 		<T, U extends T> BindingBuilder<T, U> bindDynamic( Class<T> clazz );
+
+		void bindDynamic( Consumer<DynamicBindings> bindings );
+
+		@Override
+		void close( );
+	}
+
+	public interface DynamicBindings
+	{
+		<T, U extends T> BindingBuilder<T, U> bind( Class<T> clazz );
 	}
 
 	static class InjectorImpl implements Injector, InjectorBuilder
 	{
-		InjectorImpl parent = null;
-		Registry registry = new Registry( );
+		private static final AtomicLong INJECTOR_IDS = new AtomicLong( );
 
-		List<Class<?>> dynamicBindings = new ArrayList<>( );
-		List<Class<?>> injectorPrivates = new ArrayList<>( );
+		InjectorImpl parent = null;
+		/* replaced as a whole when dynamic bindings change, readers never see a registry being modified */
+		volatile Registry registry;
+		/* shared by the whole hierarchy, as all publications advance the same binding generation */
+		private final ReentrantLock dynamicBindingLock;
+		/* reverse index of dynamic edges: bindings of this injector by the dynamic key they wait on */
+		final Map<Class<?>, Set<Binding<?>>> dynamicDependents = new ConcurrentHashMap<>( );
+
+		Set<Class<?>> dynamicBindings = new HashSet<>( );
+		Set<Class<?>> injectorPrivates = new HashSet<>( );
+		InstantiationStrategy instantiationStrategy = InstantiationStrategy.METHOD_HANDLES;
+		MetadataCache metadataCache = null;
+		InjectorMetrics metrics = null;
+		String metricsName = null;
+		Executor eagerExecutor = null;
+		BoundedPool<RequestInjectorImpl> requestChildPool = null;
+		Executor shutdownExecutor = ForkJoinPool.commonPool( );
+		long shutdownTimeoutNanos = TimeUnit.SECONDS.toNanos( 30 );
+		final AtomicBoolean closed = new AtomicBoolean( );
+		/* renewed whenever a pooled request child is released, plans and providers of earlier requests then fail */
+		volatile int lease = 0;
+		/* copies of inherited bindings that are built on every request, wired from this injector instead of the parent */
+		final Map<Binding<?>, Binding<?>> inherited = new ConcurrentHashMap<>( );
+		private volatile long inheritedGeneration = 0;
+
+		/*
+		 * Shared by the whole hierarchy and bumped whenever bindings change so that all lookup tables are rebuilt.
+		 * It is odd while a dynamic batch is being published, lookups then bypass the tables altogether.
+		 */
+		final AtomicLong bindingGeneration;
+		volatile LookupTable ownLookups = LookupTable.EMPTY;
+		volatile LookupTable childLookups = LookupTable.EMPTY;
 
 		private InjectorImpl( final InjectorImpl parent )
+		{
+			this( parent, new Registry( ) );
+		}
+
+		InjectorImpl( final InjectorImpl parent, final Registry registry )
 		{
 			this.parent = parent;
+			this.registry = registry;
+			this.instantiationStrategy = parent.instantiationStrategy;
+			this.metadataCache = parent.metadataCache;
+			this.metrics = parent.metrics;
+			this.shutdownExecutor = parent.shutdownExecutor;
+			this.shutdownTimeoutNanos = parent.shutdownTimeoutNanos;
+			this.bindingGeneration = parent.bindingGeneration;
+			this.dynamicBindingLock = parent.dynamicBindingLock;
 		}
 
 		InjectorImpl( )
 		{
-
+			this.registry = new Registry( );
+			this.bindingGeneration = new AtomicLong( );
+			this.dynamicBindingLock = new ReentrantLock( );
 		}
 
 		@Override
@@ -57,7 +184,15 @@ public class MiniDI
 		@Override
 		public <T, U extends T> BindingBuilder<T, U> bindDynamic( final Class<T> clazz )
 		{
-			return new BindingBuilder<>( clazz, this, true );
+			return new BindingBuilder<>( clazz, this, new DynamicBatch( this, true ) );
+		}
+
+		@Override
+		public void bindDynamic( final Consumer<DynamicBindings> bindings )
+		{
+			final DynamicBatch batch = new DynamicBatch( this, false );
+			bindings.accept( batch );
+			batch.commit( );
 		}
 
 		@Override
@@ -77,602 +212,5333 @@ public class MiniDI
 		}
 
 		@Override
-		public Injector initialize( )
+		public InjectorBuilder instantiationStrategy( final InstantiationStrategy instantiationStrategy )
 		{
-			/* provide binding to injector instance */
-			this.bind( Injector.class ).toInstance( this );
-
-			for ( final Binding<?> binding : this.registry.getBindings( ) )
-			{
-				validateBinding( binding.clazz );
-			}
+			this.instantiationStrategy = instantiationStrategy;
 
 			return this;
 		}
 
 		@Override
-		public InjectorBuilder createChild( )
+		public InjectorBuilder metadataCache( final Path file )
 		{
-			return new InjectorImpl( this );
+			this.metadataCache = MetadataCache.open( file );
+
+			return this;
 		}
 
 		@Override
-		synchronized public <T> T get( final Class<T> clazz )
+		public InjectorBuilder metrics( final InjectorMetrics metrics )
 		{
-			T instance = resolveInstance( clazz );
-			if ( instance == null )
-			{
-				final Binding<T> binding = resolveBinding( clazz );
-				instance = createInstance( binding );
-			}
+			this.metrics = metrics;
+			this.metricsName = "injector-" + INJECTOR_IDS.incrementAndGet( );
 
-			return instance;
+			return this;
 		}
 
-		private <T> T resolveInstance( final Class<T> clazz )
+		@Override
+		public InjectorBuilder eager( )
 		{
-			T instance = null;
-			if ( this.registry.hasInstance( clazz ) )
-			{
-				instance = this.registry.getInstance( clazz );
-			}
-			else if ( this.isChildInjector( ) )
-			{
-				instance = this.parent.resolveInstance( clazz );
-			}
-
-			return instance;
+			return eager( ForkJoinPool.commonPool( ) );
 		}
 
-		private <T> Binding<T> resolveBinding( final Class<T> clazz )
+		@Override
+		public InjectorBuilder eager( final Executor executor )
 		{
-			return resolveBinding( clazz, this );
+			this.eagerExecutor = executor;
+
+			return this;
 		}
 
-		private <T> Binding<T> resolveBinding( final Class<T> clazz, final InjectorImpl requestingInjector )
+		@Override
+		public InjectorBuilder poolRequestChildren( final int size )
 		{
-			final boolean isRequestToSelf = this == requestingInjector;
-			final boolean accessByChildAllowed = !this.injectorPrivates.contains( clazz );
-
-			Binding<T> binding = null;
-			if ( ( isRequestToSelf || accessByChildAllowed ) && this.registry.hasBinding( clazz ) )
-			{
-				binding = this.registry.getBinding( clazz );
-			}
-			else if ( this.isChildInjector( ) )
-			{
-				binding = this.parent.resolveBinding( clazz, this );
-			}
+			this.requestChildPool = new BoundedPool<>( size );
 
-			return binding;
+			return this;
 		}
 
-		private boolean isChildInjector( )
+		@Override
+		public InjectorBuilder shutdown( final Executor executor, final long timeout, final TimeUnit unit )
 		{
-			return this.parent != null;
+			this.shutdownExecutor = executor;
+			this.shutdownTimeoutNanos = unit.toNanos( timeout );
+
+			return this;
 		}
 
-		private <T> T createInstance( final Binding<T> binding )
+		@Override
+		public Injector initialize( )
 		{
-			try
-			{
-				final List<? extends Dependency> constructorDependencies = binding.getConstructorDependencies( );
-				final Object[] constructorDependencyInstances = getDependencyInstances( constructorDependencies );
+			bindSelf( );
 
-				final List<? extends Dependency> fieldDependencies = binding.getFieldDependencies( );
-				final Object[] fieldDependencyInstances = getDependencyInstances( fieldDependencies );
-
-				return binding.construct( constructorDependencyInstances, fieldDependencyInstances );
+			/* inherited and instance bindings are already validated, so small injectors rarely need a validator */
+			final Object validationEvent = FlightRecorderEvents.VALIDATION.begin( );
+			BindingValidator validator = null;
+			int validated = 0;
+			for ( final Binding<?> binding : this.registry.getBindings( ) )
+			{
+				if ( !binding.validated )
+				{
+					validator = validator == null ? new BindingValidator( ) : validator;
+					validator.validate( binding );
+					validated++;
+				}
 			}
-			catch ( final Exception e )
+			/* bindings registered for dynamic keys up front may already close cycles through dynamic edges */
+			List<Binding<?>> dynamic = null;
+			for ( final Binding<?> binding : this.registry.getBindings( ) )
 			{
-				throw new InstantiationException( e );
+				if ( this.isDynamic( binding.clazz ) )
+				{
+					dynamic = dynamic == null ? new ArrayList<>( ) : dynamic;
+					dynamic.add( binding );
+				}
+			}
+			if ( dynamic != null )
+			{
+				( validator == null ? new BindingValidator( ) : validator ).checkDynamicCycles( dynamic );
+			}
+			if ( validationEvent != null )
+			{
+				FlightRecorderEvents.VALIDATION.commit( validationEvent, this.registry.getBindings( ).size( ), validated );
 			}
-		}
 
-		private Object[] getDependencyInstances( final List<? extends Dependency> dependencies )
-		{
-			final ArrayList<Object> dependencyInstances = new ArrayList<>( );
-			for ( final Dependency dependency : dependencies )
+			for ( final Binding<?> binding : this.registry.getBindings( ) )
 			{
-				Object instance = resolveInstance( dependency.type );
-				if ( instance == null )
+				if ( binding.dependencyInformation != DependencyInformation.NONE )
 				{
-					if ( dependency.lazy )
-					{
-						instance = createProxy( dependency.type );
-					}
-					else
-					{
-						instance = get( dependency.type );
-					}
+					compile( binding );
 				}
+			}
+
+			if ( this.metadataCache != null )
+			{
+				this.metadataCache.flush( );
+			}
 
-				dependencyInstances.add( instance );
+			if ( this.eagerExecutor != null )
+			{
+				new SingletonWarmUp( this.eagerExecutor ).run( this.registry.getBindings( ) );
 			}
 
-			return dependencyInstances.toArray( );
+			return this;
+		}
+
+		void bindSelf( )
+		{
+			/* provide binding to injector instance */
+			this.bind( Injector.class ).toInstance( this );
 		}
 
-		private <T> T createProxy( final Class<T> clazz )
+		@Override
+		public InjectorBuilder createChild( )
 		{
-			return ( T ) Proxy.newProxyInstance(
-				clazz.getClassLoader( ),
-				new Class<?>[] { clazz },
-				new LazyInitProxy<>( clazz, this )
-			);
+			final Object event = FlightRecorderEvents.CHILD_CREATION.begin( );
+			final InjectorImpl child = new InjectorImpl( this );
+			if ( this.metrics != null )
+			{
+				child.metricsName = this.metricsName + ".child-" + INJECTOR_IDS.incrementAndGet( );
+			}
+			FlightRecorderEvents.CHILD_CREATION.commit( event, false, false );
+
+			return child;
 		}
 
-		private void validateBinding( final Class<?> clazz )
+		@Override
+		public InjectorBuilder createRequestChild( )
 		{
-			validateBinding( clazz, new ArrayList<>( ) );
+			final Object event = FlightRecorderEvents.CHILD_CREATION.begin( );
+			final RequestInjectorImpl pooled = this.requestChildPool == null ? null : this.requestChildPool.take( );
+			final RequestInjectorImpl child = pooled != null ? pooled.reopen( ) : new RequestInjectorImpl( this );
+			FlightRecorderEvents.CHILD_CREATION.commit( event, true, pooled != null );
+
+			return child;
 		}
 
-		private void validateBinding( final Class<?> clazz, final List<Class<?>> previousDependencies )
+		@Override
+		public void close( )
 		{
-			if ( previousDependencies.contains( clazz ) )
+			/* only the first of concurrent calls runs the pre destroy callbacks */
+			if ( !this.closed.compareAndSet( false, true ) )
 			{
-				throw new CircularDependencyException( previousDependencies.get( 0 ) );
+				return;
 			}
-			previousDependencies.add( clazz );
 
-			final Binding<?> binding = resolveBinding( clazz );
-			if ( this.dynamicBindings.contains( clazz ) && binding == null )
+			try
 			{
-				return;
+				new SingletonShutdown( this.shutdownExecutor, this.shutdownTimeoutNanos )
+					.run( this.registry.getBindings( ) );
+			}
+			finally
+			{
+				if ( this.metrics != null )
+				{
+					this.metrics.injectorClosed( this.metricsName );
+				}
 			}
+		}
 
+		@Override
+		public <T> T get( final Class<T> clazz )
+		{
+			final Binding<T> binding = wire( resolveBinding( clazz ) );
 			if ( binding == null )
 			{
 				throw new MissingBindingException( clazz );
 			}
 
-			for ( final Dependency dependency : binding.dependencyInformation.getAllDependencies( ) )
+			final BindingMetrics metrics = binding.metrics;
+			if ( metrics != null )
 			{
-				/* every subtree has to have it's own list copy to allow for duplicate injections of the same type */
-				validateBinding( dependency.type, new ArrayList<>( previousDependencies ) );
+				/* a single counter per lookup keeps the enabled overhead at a few nanoseconds */
+				if ( binding.instance != null )
+				{
+					metrics.singletonHit( );
+				}
+				else
+				{
+					metrics.lookup( );
+				}
 			}
-		}
-	}
 
-	@Target( { ElementType.FIELD, ElementType.CONSTRUCTOR } )
-	@Retention( RetentionPolicy.RUNTIME )
-	public @interface Inject
-	{
-	}
+			return binding.getInstance( );
+		}
 
-	@Target( { ElementType.FIELD, ElementType.PARAMETER } )
-	@Retention( RetentionPolicy.RUNTIME )
-	public @interface Lazy
-	{
-	}
+		@Override
+		public <T> List<T> getMany( final Class<T> clazz, final int count )
+		{
+			final Binding<T> binding = wire( resolveBinding( clazz ) );
+			if ( binding == null )
+			{
+				throw new MissingBindingException( clazz );
+			}
 
-	static class LazyInitProxy<T> implements InvocationHandler
-	{
-		private final Class<T> clazz;
-		private final InjectorImpl container;
-		private T instance = null;
+			if ( binding.metrics != null )
+			{
+				binding.metrics.lookup( );
+			}
 
-		public LazyInitProxy( final Class<T> clazz, final InjectorImpl container )
-		{
-			this.clazz = clazz;
-			this.container = container;
+			return binding.getMany( count );
 		}
 
 		@Override
-		public Object invoke( final Object proxy, final Method method, final Object[] args ) throws Throwable
+		public <T> CompletableFuture<T> getAsync( final Class<T> clazz )
 		{
-			/* Note: debugging this actually invokes the toString() method, which triggers the object creation */
-			if ( this.instance == null )
+			final Binding<T> binding = wire( resolveBinding( clazz ) );
+			if ( binding == null )
 			{
-				this.instance = this.container.get( this.clazz );
+				return Binding.failed( new MissingBindingException( clazz ) );
 			}
 
-			return method.invoke( this.instance, args );
+			return binding.getAsync( );
 		}
-	}
-
-	public static class Registry
-	{
-		Map<Class<?>, Binding<?>> bindingRegistry = new HashMap<>( );
 
-		<T> Binding<T> getBinding( final Class<T> clazz )
+		private <T> Binding<T> resolveBinding( final Class<T> clazz )
 		{
-			return ( Binding<T> ) this.bindingRegistry.get( clazz );
+			return resolveBinding( clazz, true );
 		}
 
-		<T> void putBinding( final Binding<T> binding )
+		<T> Binding<T> wire( final Binding<T> binding )
 		{
-			this.bindingRegistry.put( binding.clazz, binding );
-		}
+			/*
+			 * Singletons and scoped instances are shared, so they are wired once from the injector defining them. Any
+			 * other inherited binding builds a new instance per request and is wired from the requesting injector,
+			 * which sees its own overriding bindings and hands out itself as Injector.
+			 */
+			if ( binding == null || binding.injector == this || !binding.isWiredPerRequest( ) )
+			{
+				return binding;
+			}
 
-		boolean hasBinding( final Class<?> clazz )
-		{
-			return this.bindingRegistry.containsKey( clazz );
-		}
+			final long generation = this.bindingGeneration.get( );
+			if ( this.inheritedGeneration != generation )
+			{
+				/* copies of rebound dynamic bindings must not pile up */
+				this.inherited.clear( );
+				this.inheritedGeneration = generation;
+			}
 
-		<T> T getInstance( final Class<T> clazz )
-		{
-			T instance = null;
-			if ( this.hasBinding( clazz ) )
+			final Binding<T> wired = ( Binding<T> ) this.inherited.get( binding );
+			if ( wired != null )
 			{
-				instance = this.getBinding( clazz ).instance;
+				return wired;
 			}
 
-			return instance;
+			final Binding<T> copy = binding.copyFor( this );
+			copy.plan = new ResolutionPlan( this, copy.dependencyInformation );
+			final Binding<T> raced = ( Binding<T> ) this.inherited.putIfAbsent( binding, copy );
+
+			return raced != null ? raced : copy;
 		}
 
-		boolean hasInstance( final Class<?> clazz )
+		<T> Binding<T> resolveBinding( final Class<T> clazz, final boolean isRequestToSelf )
 		{
-			boolean hasInstance = false;
-			if ( this.hasBinding( clazz ) )
+			final long generation = this.bindingGeneration.get( );
+			final LookupTable lookups = getLookupTable( isRequestToSelf, generation );
+			final int id = ClassIds.of( clazz );
+			final Object cached = lookups != null ? lookups.get( id ) : null;
+			if ( cached != null )
 			{
-				hasInstance = this.getBinding( clazz ).instance != null;
+				return cached == LookupTable.MISSING ? null : ( Binding<T> ) cached;
 			}
 
-			return hasInstance;
-		}
+			final boolean accessByChildAllowed = !this.injectorPrivates.contains( clazz );
 
-		Collection<Binding<?>> getBindings( )
-		{
-			return this.bindingRegistry.values( );
-		}
-	}
+			Binding<T> binding = null;
+			if ( isRequestToSelf || accessByChildAllowed )
+			{
+				binding = this.registry.getBinding( id );
+			}
+			if ( binding == null && this.isChildInjector( ) )
+			{
+				binding = this.parent.resolveBinding( clazz, false );
+			}
 
-	public interface ScopedBindingBuilder<T>
-	{
-		InjectorBuilder toClass( final Class<? extends T> clazz );
+			/* a result read while bindings were swapped must not end up in a table that is still considered current */
+			if ( lookups != null && this.bindingGeneration.get( ) == generation )
+			{
+				lookups.put( id, binding == null ? LookupTable.MISSING : binding );
+			}
 
-		InjectorBuilder toFactory( final Class<? extends Factory<T>> clazz );
-	}
+			return binding;
+		}
 
-	public interface ConfiguredBindingBuilder<T, U extends T>
-	{
-		ScopedBindingBuilder<T> withScope( final BindingScope bindingScope );
+		private LookupTable getLookupTable( final boolean isRequestToSelf, final long generation )
+		{
+			if ( ( generation & 1 ) != 0 )
+			{
+				return null;
+			}
 
-		InjectorBuilder toInstance( U instance );
-	}
+			final LookupTable lookups = isRequestToSelf ? this.ownLookups : this.childLookups;
+			if ( lookups.generation == generation )
+			{
+				return lookups;
+			}
 
-	public static class BindingBuilder<T, U extends T>
-		implements ConfiguredBindingBuilder<T, U>, ScopedBindingBuilder<T>
-	{
-		private final Class<T> clazz;
-		private BindingScope bindingScope = null;
-		private final InjectorImpl container;
-		private boolean validateOnCreation = false;
+			final LookupTable rebuilt = lookups.rebuild( generation );
+			if ( isRequestToSelf )
+			{
+				this.ownLookups = rebuilt;
+			}
+			else
+			{
+				this.childLookups = rebuilt;
+			}
 
-		private BindingBuilder( final Class<T> clazz, final InjectorImpl container )
-		{
-			this.clazz = clazz;
-			this.container = container;
+			return rebuilt;
 		}
 
-		private BindingBuilder( final Class<T> clazz, final InjectorImpl container, final boolean validateOnCreation )
+		private void forgetDynamicDependent( final Binding<?> binding )
 		{
-			this.validateOnCreation = validateOnCreation;
-			this.clazz = clazz;
-			this.container = container;
+			for ( final Dependency dependency : binding.dependencyInformation.getAllDependencies( ) )
+			{
+				final Set<Binding<?>> dependents = this.dynamicDependents.get( dependency.type );
+				if ( dependents != null )
+				{
+					dependents.remove( binding );
+				}
+			}
 		}
 
-		@Override
-		public InjectorBuilder toClass( final Class<? extends T> clazz )
+		private boolean isChildInjector( )
 		{
-			final Binding<T> binding = new ClassBinding<>( this.clazz, clazz );
-			if ( this.bindingScope != null )
-			{
-				binding.bindingScope = this.bindingScope;
-			}
-			registerBinding( binding );
+			return this.parent != null;
+		}
 
-			return this.container;
+		private boolean isDynamic( final Class<?> clazz )
+		{
+			return this.dynamicBindings.contains( clazz ) || this.isChildInjector( ) && this.parent.isDynamic( clazz );
 		}
 
-		@Override
-		public InjectorBuilder toInstance( final U instance )
+		private void compile( final Binding<?> binding )
 		{
-			final Binding<T> binding = new InstanceBinding<>( this.clazz, instance );
-			registerBinding( binding );
+			binding.plan = new ResolutionPlan( this, binding.dependencyInformation );
+		}
 
-			return this.container;
+		Binding<?> resolveTarget( final Class<?> clazz )
+		{
+			/* edges to dynamic bindings stay unresolved and are looked up per request, as they may still change */
+			return this.isDynamic( clazz ) ? null : this.resolveBinding( clazz );
 		}
 
-		@Override
-		public InjectorBuilder toFactory( final Class<? extends Factory<T>> factory )
+		void checkLease( final int lease )
 		{
-			final Binding<T> binding = new FactoryBinding<>( this.clazz, factory );
-			if ( this.bindingScope != null )
+			if ( this.lease != lease )
 			{
-				binding.bindingScope = this.bindingScope;
+				throw new IllegalStateException( "Request injector has already been closed" );
 			}
-			registerBinding( binding );
-
-			return this.container;
 		}
 
-		@Override public ScopedBindingBuilder<T> withScope( final BindingScope bindingScope )
+		<T> T createProxy( final Class<T> clazz )
+		{
+			final int lease = this.lease;
+			return LazyProxies.create( clazz, new LazyReference<>( ( ) -> {
+				checkLease( lease );
+				final Binding<T> binding = resolveBinding( clazz );
+				if ( binding != null && binding.metrics != null )
+				{
+					binding.metrics.lazyInitialized( );
+				}
+
+				return this.get( clazz );
+			} ) );
+		}
+
+		void bindDynamic( final Map<Class<?>, Binding<?>> staged )
+		{
+			/*
+			 * Read-copy-update: the staged bindings are validated and compiled against each other before a copy of
+			 * the registry containing them is published with a single write. The generation is odd around that write,
+			 * so no lookup table can mix bindings cached before the write with bindings read after it.
+			 */
+			this.dynamicBindingLock.lock( );
+			try
+			{
+				for ( final Class<?> clazz : staged.keySet( ) )
+				{
+					/* plans compiled at initialize( ) hold on to bindings of keys that were not declared dynamic */
+					if ( !this.isDynamic( clazz ) && this.resolveBinding( clazz ) != null )
+					{
+						throw new UndeclaredDynamicBinding( clazz );
+					}
+				}
+
+				final BindingValidator validator = new BindingValidator( this, staged );
+				try
+				{
+					for ( final Binding<?> binding : staged.values( ) )
+					{
+						validator.validate( binding );
+					}
+					validator.checkDynamicCycles( staged.values( ) );
+				}
+				catch ( final RuntimeException e )
+				{
+					staged.values( ).forEach( this::forgetDynamicDependent );
+					throw e;
+				}
+
+				for ( final Binding<?> binding : staged.values( ) )
+				{
+					binding.plan = new ResolutionPlan( this, binding.dependencyInformation,
+						clazz -> staged.containsKey( clazz ) && !this.isDynamic( clazz )
+							? staged.get( clazz )
+							: this.resolveTarget( clazz ) );
+				}
+
+				final Registry registry = this.registry.copy( );
+				for ( final Binding<?> binding : staged.values( ) )
+				{
+					final Binding<?> previous = registry.getBinding( binding.clazz );
+					if ( previous != null )
+					{
+						forgetDynamicDependent( previous );
+					}
+					registry.putBinding( binding );
+				}
+				this.bindingGeneration.incrementAndGet( );
+				this.registry = registry;
+				this.bindingGeneration.incrementAndGet( );
+			}
+			finally
+			{
+				this.dynamicBindingLock.unlock( );
+			}
+		}
+	}
+
+	static class RequestInjectorImpl extends InjectorImpl
+	{
+		/*
+		 * Throwaway child injector for request scoped bindings. It keeps its bindings in a small array, resolves
+		 * everything else through the lookup table the parent keeps for its children and can be reused after close().
+		 * Callers only get a handle bound to the current lease, so that handles of earlier requests fail fast.
+		 */
+		private InstanceBinding<Injector, Injector> selfBinding;
+
+		RequestInjectorImpl( final InjectorImpl parent )
+		{
+			super( parent, new SmallRegistry( ) );
+			/* request children are too short-lived to be reported, their lookups are recorded on the parent bindings */
+			this.metrics = null;
+			/* classes are scanned once per process instead of being looked up in the file on every request */
+			this.metadataCache = null;
+			this.selfBinding = createSelfBinding( );
+		}
+
+		RequestInjectorImpl reopen( )
+		{
+			this.selfBinding = createSelfBinding( );
+			this.closed.set( false );
+
+			return this;
+		}
+
+		private InstanceBinding<Injector, Injector> createSelfBinding( )
+		{
+			final InstanceBinding<Injector, Injector> selfBinding =
+				new InstanceBinding<>( Injector.class, new LeasedInjector( this, this.lease ) );
+			selfBinding.injector = this;
+
+			return selfBinding;
+		}
+
+		@Override
+		public Injector initialize( )
+		{
+			super.initialize( );
+
+			return this.selfBinding.instance;
+		}
+
+		@Override
+		void bindSelf( )
+		{
+			this.registry.putBinding( this.selfBinding );
+		}
+
+		@Override
+		<T> Binding<T> resolveBinding( final Class<T> clazz, final boolean isRequestToSelf )
+		{
+			if ( this.closed.get( ) )
+			{
+				throw new IllegalStateException( "Request injector has already been closed" );
+			}
+
+			final Binding<T> binding = isRequestToSelf || !this.injectorPrivates.contains( clazz )
+				? this.registry.getBinding( clazz )
+				: null;
+
+			return binding != null ? binding : this.parent.resolveBinding( clazz, false );
+		}
+
+		@Override
+		public void close( )
+		{
+			/* only the first of concurrent calls runs the pre destroy callbacks */
+			if ( !this.closed.compareAndSet( false, true ) )
+			{
+				return;
+			}
+
+			try
+			{
+				new SingletonShutdown( this.shutdownExecutor, this.shutdownTimeoutNanos )
+					.run( this.registry.getBindings( ) );
+			}
+			finally
+			{
+				release( );
+			}
+		}
+
+		private void release( )
+		{
+			/* everything a request configured is reset to what a new child of the parent would start with */
+			this.lease++;
+			( ( SmallRegistry ) this.registry ).clear( );
+			if ( !this.dynamicDependents.isEmpty( ) )
+			{
+				this.dynamicDependents.clear( );
+			}
+			this.dynamicBindings.clear( );
+			this.injectorPrivates.clear( );
+			this.inherited.clear( );
+			this.instantiationStrategy = this.parent.instantiationStrategy;
+			this.metadataCache = null;
+			this.metrics = null;
+			this.metricsName = null;
+			this.eagerExecutor = null;
+			this.requestChildPool = null;
+			this.shutdownExecutor = this.parent.shutdownExecutor;
+			this.shutdownTimeoutNanos = this.parent.shutdownTimeoutNanos;
+			this.ownLookups = LookupTable.EMPTY;
+			this.childLookups = LookupTable.EMPTY;
+
+			if ( this.parent.requestChildPool != null )
+			{
+				this.parent.requestChildPool.release( this );
+			}
+		}
+	}
+
+	static final class LeasedInjector implements Injector
+	{
+		/* handle on a pooled request child that stops working once the child is released */
+		private final RequestInjectorImpl child;
+		private final int lease;
+
+		LeasedInjector( final RequestInjectorImpl child, final int lease )
+		{
+			this.child = child;
+			this.lease = lease;
+		}
+
+		@Override
+		public <T> T get( final Class<T> clazz )
+		{
+			this.child.checkLease( this.lease );
+
+			return this.child.get( clazz );
+		}
+
+		@Override
+		public <T> CompletableFuture<T> getAsync( final Class<T> clazz )
+		{
+			this.child.checkLease( this.lease );
+
+			return this.child.getAsync( clazz );
+		}
+
+		@Override
+		public <T> List<T> getMany( final Class<T> clazz, final int count )
+		{
+			this.child.checkLease( this.lease );
+
+			return this.child.getMany( clazz, count );
+		}
+
+		@Override
+		public InjectorBuilder createChild( )
+		{
+			this.child.checkLease( this.lease );
+
+			return this.child.createChild( );
+		}
+
+		@Override
+		public InjectorBuilder createRequestChild( )
+		{
+			this.child.checkLease( this.lease );
+
+			return this.child.createRequestChild( );
+		}
+
+		@Override
+		public <T, U extends T> BindingBuilder<T, U> bindDynamic( final Class<T> clazz )
+		{
+			this.child.checkLease( this.lease );
+
+			return this.child.bindDynamic( clazz );
+		}
+
+		@Override
+		public void bindDynamic( final Consumer<DynamicBindings> bindings )
+		{
+			this.child.checkLease( this.lease );
+			this.child.bindDynamic( bindings );
+		}
+
+		@Override
+		public void close( )
+		{
+			/* closing a handle twice must not close the request the child has been reused for in the meantime */
+			if ( this.child.lease == this.lease )
+			{
+				this.child.close( );
+			}
+		}
+	}
+
+	static class BoundedPool<T>
+	{
+		/*
+		 * A fixed number of slots that are taken and filled with single atomic operations. Threads start scanning at
+		 * different slots, so that concurrent takes and releases rarely compete for the same slot.
+		 */
+		private final AtomicReferenceArray<T> slots;
+
+		BoundedPool( final int size )
+		{
+			this.slots = new AtomicReferenceArray<>( size );
+		}
+
+		T take( )
+		{
+			final int length = this.slots.length( );
+			final int start = start( length );
+			for ( int i = 0; i < length; i++ )
+			{
+				final T instance = this.slots.getAndSet( ( start + i ) % length, null );
+				if ( instance != null )
+				{
+					return instance;
+				}
+			}
+
+			return null;
+		}
+
+		boolean release( final T instance )
+		{
+			final int length = this.slots.length( );
+			final int start = start( length );
+			for ( int i = 0; i < length; i++ )
+			{
+				final int slot = ( start + i ) % length;
+				if ( this.slots.get( slot ) == null && this.slots.compareAndSet( slot, null, instance ) )
+				{
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		private static int start( final int length )
+		{
+			return length == 0 ? 0 : ( int ) ( Thread.currentThread( ).getId( ) % length );
+		}
+	}
+
+	@Target( { ElementType.FIELD, ElementType.CONSTRUCTOR } )
+	@Retention( RetentionPolicy.RUNTIME )
+	public @interface Inject
+	{
+	}
+
+	@Target( { ElementType.FIELD, ElementType.PARAMETER } )
+	@Retention( RetentionPolicy.RUNTIME )
+	public @interface Lazy
+	{
+	}
+
+	@Target( ElementType.METHOD )
+	@Retention( RetentionPolicy.RUNTIME )
+	public @interface PostConstruct
+	{
+	}
+
+	@Target( ElementType.METHOD )
+	@Retention( RetentionPolicy.RUNTIME )
+	public @interface PreDestroy
+	{
+	}
+
+	static final class Lifecycle
+	{
+		/*
+		 * The lifecycle methods of a class including the inherited ones. Post construct methods of superclasses run
+		 * first, pre destroy methods of superclasses last. Overridden methods are only called once.
+		 */
+		private static final Method[] NO_METHODS = new Method[ 0 ];
+		static final Lifecycle NONE =
+			new Lifecycle( NO_METHODS, NO_METHODS, LifecycleCallback.NONE, LifecycleCallback.NONE );
+
+		private static final ClassValue<Lifecycle> LIFECYCLES = new ClassValue<Lifecycle>( )
+		{
+			@Override
+			protected Lifecycle computeValue( final Class<?> type )
+			{
+				final List<Method> postConstruct = new ArrayList<>( );
+				final List<Method> preDestroy = new ArrayList<>( );
+				final Set<String> overridden = new HashSet<>( );
+				for ( Class<?> current = type; current != null && current != Object.class;
+					current = current.getSuperclass( ) )
+				{
+					for ( final Method method : current.getDeclaredMethods( ) )
+					{
+						if ( method.isBridge( ) )
+						{
+							continue;
+						}
+
+						final int modifiers = method.getModifiers( );
+						final boolean isPostConstruct = method.getAnnotation( PostConstruct.class ) != null;
+						final boolean isPreDestroy = method.getAnnotation( PreDestroy.class ) != null;
+						if ( ( isPostConstruct || isPreDestroy )
+							&& ( method.getParameterCount( ) != 0 || Modifier.isStatic( modifiers ) ) )
+						{
+							throw new InvalidLifecycleMethod( method );
+						}
+
+						/* an overridden method is only called through the override, if that is annotated as well */
+						final boolean isOverridable = method.getParameterCount( ) == 0 && !Modifier.isPrivate( modifiers )
+							&& !Modifier.isStatic( modifiers );
+						if ( isOverridable && !overridden.add( method.getName( ) ) )
+						{
+							continue;
+						}
+
+						if ( isPostConstruct || isPreDestroy )
+						{
+							method.setAccessible( true );
+						}
+						if ( isPostConstruct )
+						{
+							postConstruct.add( 0, method );
+						}
+						if ( isPreDestroy )
+						{
+							preDestroy.add( method );
+						}
+					}
+				}
+
+				return of( postConstruct.toArray( NO_METHODS ), preDestroy.toArray( NO_METHODS ) );
+			}
+		};
+
+		/* kept for the metadata cache, empty for callbacks supplied by generated factories */
+		final Method[] postConstructMethods;
+		final Method[] preDestroyMethods;
+		private final LifecycleCallback postConstruct;
+		private final LifecycleCallback preDestroy;
+
+		private Lifecycle( final Method[] postConstructMethods, final Method[] preDestroyMethods,
+			final LifecycleCallback postConstruct, final LifecycleCallback preDestroy )
+		{
+			this.postConstructMethods = postConstructMethods;
+			this.preDestroyMethods = preDestroyMethods;
+			this.postConstruct = postConstruct;
+			this.preDestroy = preDestroy;
+		}
+
+		/* scans the class hierarchy, only used when neither a generated factory nor the metadata cache knows the class */
+		static Lifecycle of( final Class<?> clazz )
+		{
+			return LIFECYCLES.get( clazz );
+		}
+
+		static Lifecycle of( final Method[] postConstruct, final Method[] preDestroy )
+		{
+			if ( postConstruct.length == 0 && preDestroy.length == 0 )
+			{
+				return NONE;
+			}
+
+			return new Lifecycle( postConstruct, preDestroy, callback( postConstruct ), callback( preDestroy ) );
+		}
+
+		static Lifecycle of( final LifecycleCallback postConstruct, final LifecycleCallback preDestroy )
+		{
+			if ( postConstruct == LifecycleCallback.NONE && preDestroy == LifecycleCallback.NONE )
+			{
+				return NONE;
+			}
+
+			return new Lifecycle( NO_METHODS, NO_METHODS, postConstruct, preDestroy );
+		}
+
+		boolean hasPreDestroy( )
+		{
+			return this.preDestroy != LifecycleCallback.NONE;
+		}
+
+		void postConstruct( final Object instance ) throws Exception
+		{
+			this.postConstruct.invoke( instance );
+		}
+
+		void preDestroy( final Object instance ) throws Exception
+		{
+			this.preDestroy.invoke( instance );
+		}
+
+		private static LifecycleCallback callback( final Method[] methods )
+		{
+			return methods.length == 0 ? LifecycleCallback.NONE : instance -> invoke( methods, instance );
+		}
+
+		private static void invoke( final Method[] methods, final Object instance ) throws Exception
+		{
+			for ( final Method method : methods )
+			{
+				try
+				{
+					method.invoke( instance );
+				}
+				catch ( final InvocationTargetException e )
+				{
+					if ( e.getCause( ) instanceof Exception )
+					{
+						throw ( Exception ) e.getCause( );
+					}
+
+					throw e;
+				}
+			}
+		}
+	}
+
+	public static final class LazyReference<T>
+	{
+		private volatile T instance = null;
+		private Supplier<T> supplier;
+		private final ReentrantLock lock = new ReentrantLock( );
+
+		LazyReference( final Supplier<T> supplier )
+		{
+			this.supplier = supplier;
+		}
+
+		public T get( )
+		{
+			T instance = this.instance;
+			if ( instance == null )
+			{
+				this.lock.lock( );
+				try
+				{
+					instance = this.instance;
+					if ( instance == null )
+					{
+						final Object event = FlightRecorderEvents.LAZY_INITIALIZATION.begin( );
+						instance = this.supplier.get( );
+						if ( event != null )
+						{
+							FlightRecorderEvents.LAZY_INITIALIZATION.commit( event, instance.getClass( ) );
+						}
+						this.instance = instance;
+						this.supplier = null;
+					}
+				}
+				finally
+				{
+					this.lock.unlock( );
+				}
+			}
+
+			return instance;
+		}
+	}
+
+	static class LazyInitProxy<T> implements InvocationHandler
+	{
+		private final LazyReference<T> reference;
+
+		public LazyInitProxy( final LazyReference<T> reference )
+		{
+			this.reference = reference;
+		}
+
+		@Override
+		public Object invoke( final Object proxy, final Method method, final Object[] args ) throws Throwable
+		{
+			/* Note: debugging this actually invokes the toString() method, which triggers the object creation */
+			try
+			{
+				return method.invoke( this.reference.get( ), args );
+			}
+			catch ( final InvocationTargetException e )
+			{
+				throw e.getCause( );
+			}
+		}
+	}
+
+	interface LazyProxyFactory
+	{
+		Object create( LazyReference<?> reference ) throws Throwable;
+	}
+
+	static class LazyProxies
+	{
+		private static final ClassValue<LazyProxyFactory> FACTORIES = new ClassValue<LazyProxyFactory>( )
+		{
+			@Override
+			protected LazyProxyFactory computeValue( final Class<?> type )
+			{
+				return createFactory( type );
+			}
+		};
+
+		/*
+		 * Concrete classes are proxied by a generated subclass. Its instances are allocated without running any
+		 * constructor, so creating the proxy never has the side effects the laziness is meant to defer.
+		 */
+		private static final MethodHandle ALLOCATE_INSTANCE = allocateInstance( );
+
+		static boolean isSupported( final Class<?> type )
+		{
+			if ( type.isInterface( ) )
+			{
+				return true;
+			}
+
+			final int modifiers = type.getModifiers( );
+
+			return ALLOCATE_INSTANCE != null && Modifier.isPublic( modifiers ) && !Modifier.isFinal( modifiers ) &&
+				!type.isPrimitive( ) && !type.isArray( ) && !type.isEnum( ) && isFullyDelegated( type );
+		}
+
+		private static boolean isFullyDelegated( final Class<?> type )
+		{
+			/*
+			 * The subclass proxy is never constructed and lives in a different runtime package, so anything it cannot
+			 * override would run against its default-valued state: final and non-public methods as well as fields.
+			 */
+			for ( Class<?> current = type; current != Object.class; current = current.getSuperclass( ) )
+			{
+				for ( final Method method : current.getDeclaredMethods( ) )
+				{
+					final int modifiers = method.getModifiers( );
+					if ( Modifier.isStatic( modifiers ) || Modifier.isPrivate( modifiers ) )
+					{
+						continue;
+					}
+					if ( Modifier.isFinal( modifiers ) || !Modifier.isPublic( modifiers ) )
+					{
+						return false;
+					}
+				}
+				for ( final Field field : current.getDeclaredFields( ) )
+				{
+					final int modifiers = field.getModifiers( );
+					if ( !Modifier.isStatic( modifiers ) && !Modifier.isPrivate( modifiers ) )
+					{
+						return false;
+					}
+				}
+			}
+
+			return true;
+		}
+
+		static <T> T create( final Class<T> type, final LazyReference<T> reference )
+		{
+			try
+			{
+				return type.cast( FACTORIES.get( type ).create( reference ) );
+			}
+			catch ( final RuntimeException | Error e )
+			{
+				throw e;
+			}
+			catch ( final Throwable t )
+			{
+				throw new InstantiationException( t );
+			}
+		}
+
+		private static LazyProxyFactory createFactory( final Class<?> type )
+		{
+			if ( !type.isInterface( ) )
+			{
+				return createSubclassFactory( type );
+			}
+
+			final List<Method> methods = ProxyClassWriter.delegatedMethods( type );
+			if ( !Modifier.isPublic( type.getModifiers( ) ) || methods == null )
+			{
+				return reference -> Proxy.newProxyInstance(
+					type.getClassLoader( ),
+					new Class<?>[] { type },
+					new LazyInitProxy<>( reference )
+				);
+			}
+
+			final String className = ProxyClassWriter.proxyClassName( type );
+			final byte[] bytes = new ProxyClassWriter( className, type, methods ).toByteArray( );
+			final Class<?> proxyClass = new ProxyClassLoader( type.getClassLoader( ) ).define( className, bytes );
+			try
+			{
+				final MethodHandle constructor = MethodHandles.publicLookup( )
+					.findConstructor( proxyClass, MethodType.methodType( void.class, LazyReference.class ) )
+					.asType( MethodType.methodType( Object.class, LazyReference.class ) );
+
+				return reference -> ( Object ) constructor.invokeExact( reference );
+			}
+			catch ( final NoSuchMethodException | IllegalAccessException e )
+			{
+				throw new IllegalStateException( e );
+			}
+		}
+
+		private static LazyProxyFactory createSubclassFactory( final Class<?> type )
+		{
+			if ( !isSupported( type ) )
+			{
+				throw new InvalidLazyAnnotation( type );
+			}
+
+			final String className = ProxyClassWriter.proxyClassName( type );
+			final byte[] bytes = new ProxyClassWriter( className, type, ProxyClassWriter.delegatedMethods( type ) )
+				.toByteArray( );
+			final Class<?> proxyClass = new ProxyClassLoader( type.getClassLoader( ) ).define( className, bytes );
+			try
+			{
+				final Field field = proxyClass.getDeclaredField( "reference" );
+				field.setAccessible( true );
+				final MethodHandle setter = MethodHandles.lookup( ).unreflectSetter( field )
+					.asType( MethodType.methodType( void.class, Object.class, LazyReference.class ) );
+				final MethodHandle allocate = ALLOCATE_INSTANCE.bindTo( proxyClass );
+
+				return reference -> {
+					final Object proxy = ( Object ) allocate.invokeExact( );
+					setter.invokeExact( proxy, reference );
+					return proxy;
+				};
+			}
+			catch ( final NoSuchFieldException | IllegalAccessException e )
+			{
+				throw new IllegalStateException( e );
+			}
+		}
+
+		private static MethodHandle allocateInstance( )
+		{
+			try
+			{
+				final Class<?> unsafeClass = Class.forName( "sun.misc.Unsafe" );
+				final Field field = unsafeClass.getDeclaredField( "theUnsafe" );
+				field.setAccessible( true );
+
+				return MethodHandles.publicLookup( )
+					.findVirtual( unsafeClass, "allocateInstance", MethodType.methodType( Object.class, Class.class ) )
+					.bindTo( field.get( null ) );
+			}
+			catch ( final ReflectiveOperationException | RuntimeException e )
+			{
+				/* without it @Lazy stays limited to interfaces */
+				return null;
+			}
+		}
+	}
+
+	static class ProxyClassLoader extends ClassLoader
+	{
+		ProxyClassLoader( final ClassLoader parent )
+		{
+			super( parent );
+		}
+
+		@Override
+		protected Class<?> findClass( final String name ) throws ClassNotFoundException
+		{
+			/* generated classes link against MiniDI, which the proxied type's loader might not see */
+			if ( name.startsWith( MiniDI.class.getName( ) ) )
+			{
+				return MiniDI.class.getClassLoader( ).loadClass( name );
+			}
+
+			throw new ClassNotFoundException( name );
+		}
+
+		Class<?> define( final String name, final byte[] bytes )
+		{
+			return defineClass( name, bytes, 0, bytes.length );
+		}
+	}
+
+	static class ProxyClassWriter
+	{
+		/*
+		 * Writes a minimal class file whose methods delegate to the instance held by a LazyReference.
+		 * All generated code is straight-line, so no stack map frames are required.
+		 * Interfaces are implemented by a subclass of Object, concrete classes are extended directly. The latter get
+		 * no constructor at all, their instances are allocated without one and the reference is set afterwards.
+		 */
+		private static final String REFERENCE = internalName( LazyReference.class );
+		private static final String REFERENCE_DESCRIPTOR = descriptor( LazyReference.class );
+		private static final String OBJECT = internalName( Object.class );
+
+		private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream( );
+		private final DataOutputStream constantPool = new DataOutputStream( this.constantPoolBytes );
+		private final Map<String, Integer> constants = new HashMap<>( );
+		private int constantCount = 1;
+
+		private final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream( );
+		private final DataOutputStream methodOutput = new DataOutputStream( this.methodBytes );
+		private int methodCount = 0;
+
+		private final String className;
+		private final Class<?> type;
+
+		ProxyClassWriter( final String className, final Class<?> type, final List<Method> methods )
+		{
+			this.className = className.replace( '.', '/' );
+			this.type = type;
+			try
+			{
+				if ( type.isInterface( ) )
+				{
+					writeConstructor( );
+				}
+				for ( final Method method : methods )
+				{
+					writeDelegatingMethod( method );
+				}
+			}
+			catch ( final IOException e )
+			{
+				throw new UncheckedIOException( e );
+			}
+		}
+
+		static String proxyClassName( final Class<?> type )
+		{
+			/* classes must not be defined in java.* packages */
+			final String name = type.getName( ).startsWith( "java." )
+				? MiniDI.class.getPackage( ).getName( ) + "." + type.getName( ).replace( '.', '_' )
+				: type.getName( );
+
+			return name + "$$MiniDILazy";
+		}
+
+		static List<Method> delegatedMethods( final Class<?> type )
+		{
+			if ( !type.isInterface( ) )
+			{
+				return overridableMethods( type );
+			}
+
+			final Map<String, Method> methods = new LinkedHashMap<>( );
+			for ( final String objectMethod : new String[] { "equals", "hashCode", "toString" } )
+			{
+				for ( final Method method : Object.class.getMethods( ) )
+				{
+					if ( method.getName( ).equals( objectMethod ) )
+					{
+						methods.put( method.getName( ) + parameterDescriptor( method ), method );
+					}
+				}
+			}
+
+			for ( final Method method : type.getMethods( ) )
+			{
+				if ( Modifier.isStatic( method.getModifiers( ) ) )
+				{
+					continue;
+				}
+
+				final Method previous = methods.put( method.getName( ) + parameterDescriptor( method ), method );
+				if ( previous != null && previous.getReturnType( ) != method.getReturnType( ) )
+				{
+					/* covariant redeclarations would need bridge methods */
+					return null;
+				}
+			}
+
+			return new ArrayList<>( methods.values( ) );
+		}
+
+		private static List<Method> overridableMethods( final Class<?> type )
+		{
+			/*
+			 * Only public methods can be delegated, protected ones may not be invoked on another instance from a
+			 * different package. Bridge methods are kept, they differ from their target only in the return type.
+			 */
+			final Set<String> finalMethods = new HashSet<>( );
+			final Map<String, Method> methods = new LinkedHashMap<>( );
+			for ( final Method method : type.getMethods( ) )
+			{
+				final String key = method.getName( ) + parameterDescriptor( method ) + descriptor( method.getReturnType( ) );
+				if ( Modifier.isFinal( method.getModifiers( ) ) )
+				{
+					finalMethods.add( key );
+				}
+				else if ( !Modifier.isStatic( method.getModifiers( ) ) )
+				{
+					methods.putIfAbsent( key, method );
+				}
+			}
+			methods.keySet( ).removeAll( finalMethods );
+
+			return new ArrayList<>( methods.values( ) );
+		}
+
+		byte[] toByteArray( )
+		{
+			try
+			{
+				final int thisClass = classConstant( this.className );
+				final boolean isInterface = this.type.isInterface( );
+				final int superClass = classConstant( isInterface ? OBJECT : internalName( this.type ) );
+				final int interfaceClass = isInterface ? classConstant( internalName( this.type ) ) : 0;
+				final int fieldName = utf8( "reference" );
+				final int fieldDescriptor = utf8( REFERENCE_DESCRIPTOR );
+
+				final ByteArrayOutputStream bytes = new ByteArrayOutputStream( );
+				final DataOutputStream output = new DataOutputStream( bytes );
+				output.writeInt( 0xCAFEBABE );
+				output.writeShort( 0 );
+				output.writeShort( 52 );
+				output.writeShort( this.constantCount );
+				this.constantPool.flush( );
+				this.constantPoolBytes.writeTo( output );
+				output.writeShort( 0x1000 | 0x0020 | 0x0010 | 0x0001 );
+				output.writeShort( thisClass );
+				output.writeShort( superClass );
+				if ( isInterface )
+				{
+					output.writeShort( 1 );
+					output.writeShort( interfaceClass );
+				}
+				else
+				{
+					output.writeShort( 0 );
+				}
+				output.writeShort( 1 );
+				output.writeShort( isInterface ? 0x0010 | 0x0002 : 0x0002 );
+				output.writeShort( fieldName );
+				output.writeShort( fieldDescriptor );
+				output.writeShort( 0 );
+				output.writeShort( this.methodCount );
+				this.methodOutput.flush( );
+				this.methodBytes.writeTo( output );
+				output.writeShort( 0 );
+				output.flush( );
+
+				return bytes.toByteArray( );
+			}
+			catch ( final IOException e )
+			{
+				throw new UncheckedIOException( e );
+			}
+		}
+
+		private void writeConstructor( ) throws IOException
+		{
+			final ByteArrayOutputStream code = new ByteArrayOutputStream( );
+			final DataOutputStream output = new DataOutputStream( code );
+			output.writeByte( 0x2a ); /* aload_0 */
+			output.writeByte( 0xb7 ); /* invokespecial */
+			output.writeShort( memberConstant( 10, OBJECT, "<init>", "()V" ) );
+			output.writeByte( 0x2a ); /* aload_0 */
+			output.writeByte( 0x2b ); /* aload_1 */
+			output.writeByte( 0xb5 ); /* putfield */
+			output.writeShort( fieldConstant( ) );
+			output.writeByte( 0xb1 ); /* return */
+
+			writeMethod( 0x0001, "<init>", "(" + REFERENCE_DESCRIPTOR + ")V", 2, 2, code.toByteArray( ) );
+		}
+
+		private void writeDelegatingMethod( final Method method ) throws IOException
+		{
+			final boolean isObjectMethod = method.getDeclaringClass( ) == Object.class;
+			final String owner = isObjectMethod ? OBJECT : internalName( this.type );
+			final String methodDescriptor = parameterDescriptor( method ) + descriptor( method.getReturnType( ) );
+
+			final ByteArrayOutputStream code = new ByteArrayOutputStream( );
+			final DataOutputStream output = new DataOutputStream( code );
+			output.writeByte( 0x2a ); /* aload_0 */
+			output.writeByte( 0xb4 ); /* getfield */
+			output.writeShort( fieldConstant( ) );
+			output.writeByte( 0xb6 ); /* invokevirtual */
+			output.writeShort( memberConstant( 10, REFERENCE, "get", "()" + descriptor( Object.class ) ) );
+			if ( !isObjectMethod )
+			{
+				output.writeByte( 0xc0 ); /* checkcast */
+				output.writeShort( classConstant( owner ) );
+			}
+
+			int slot = 1;
+			for ( final Class<?> parameterType : method.getParameterTypes( ) )
+			{
+				writeLoad( output, loadOpcode( parameterType ), slot );
+				slot += slotSize( parameterType );
+			}
+
+			if ( isObjectMethod )
+			{
+				output.writeByte( 0xb6 ); /* invokevirtual */
+				output.writeShort( memberConstant( 10, owner, method.getName( ), methodDescriptor ) );
+			}
+			else if ( !this.type.isInterface( ) )
+			{
+				output.writeByte( 0xb6 ); /* invokevirtual */
+				output.writeShort( memberConstant( 10, owner, method.getName( ), methodDescriptor ) );
+			}
+			else
+			{
+				output.writeByte( 0xb9 ); /* invokeinterface */
+				output.writeShort( memberConstant( 11, owner, method.getName( ), methodDescriptor ) );
+				output.writeByte( slot );
+				output.writeByte( 0 );
+			}
+			output.writeByte( returnOpcode( method.getReturnType( ) ) );
+
+			final int maxStack = Math.max( slot, slotSize( method.getReturnType( ) ) );
+			writeMethod( 0x0001 | 0x0010, method.getName( ), methodDescriptor, maxStack, slot, code.toByteArray( ) );
+		}
+
+		private static void writeLoad( final DataOutputStream output, final int opcode, final int slot )
+			throws IOException
+		{
+			if ( slot > 0xff )
+			{
+				output.writeByte( 0xc4 ); /* wide */
+				output.writeByte( opcode );
+				output.writeShort( slot );
+			}
+			else
+			{
+				output.writeByte( opcode );
+				output.writeByte( slot );
+			}
+		}
+
+		private void writeMethod( final int access, final String name, final String descriptor, final int maxStack,
+			final int maxLocals, final byte[] code ) throws IOException
+		{
+			final int codeAttribute = utf8( "Code" );
+			this.methodOutput.writeShort( access );
+			this.methodOutput.writeShort( utf8( name ) );
+			this.methodOutput.writeShort( utf8( descriptor ) );
+			this.methodOutput.writeShort( 1 );
+			this.methodOutput.writeShort( codeAttribute );
+			this.methodOutput.writeInt( 12 + code.length );
+			this.methodOutput.writeShort( maxStack );
+			this.methodOutput.writeShort( maxLocals );
+			this.methodOutput.writeInt( code.length );
+			this.methodOutput.write( code );
+			this.methodOutput.writeShort( 0 );
+			this.methodOutput.writeShort( 0 );
+			this.methodCount++;
+		}
+
+		private int fieldConstant( ) throws IOException
+		{
+			return memberConstant( 9, this.className, "reference", REFERENCE_DESCRIPTOR );
+		}
+
+		private int memberConstant( final int tag, final String owner, final String name, final String descriptor )
+			throws IOException
+		{
+			final String key = tag + ":" + owner + "." + name + descriptor;
+			final Integer existing = this.constants.get( key );
+			if ( existing != null )
+			{
+				return existing;
+			}
+
+			final int ownerIndex = classConstant( owner );
+			final int nameIndex = utf8( name );
+			final int descriptorIndex = utf8( descriptor );
+
+			final String nameAndTypeKey = "12:" + name + descriptor;
+			Integer nameAndType = this.constants.get( nameAndTypeKey );
+			if ( nameAndType == null )
+			{
+				this.constantPool.writeByte( 12 );
+				this.constantPool.writeShort( nameIndex );
+				this.constantPool.writeShort( descriptorIndex );
+				nameAndType = this.constantCount++;
+				this.constants.put( nameAndTypeKey, nameAndType );
+			}
+
+			this.constantPool.writeByte( tag );
+			this.constantPool.writeShort( ownerIndex );
+			this.constantPool.writeShort( nameAndType );
+			final int index = this.constantCount++;
+			this.constants.put( key, index );
+
+			return index;
+		}
+
+		private int classConstant( final String internalName ) throws IOException
+		{
+			final String key = "7:" + internalName;
+			final Integer existing = this.constants.get( key );
+			if ( existing != null )
+			{
+				return existing;
+			}
+
+			final int nameIndex = utf8( internalName );
+			this.constantPool.writeByte( 7 );
+			this.constantPool.writeShort( nameIndex );
+			final int index = this.constantCount++;
+			this.constants.put( key, index );
+
+			return index;
+		}
+
+		private int utf8( final String value ) throws IOException
+		{
+			final String key = "1:" + value;
+			final Integer existing = this.constants.get( key );
+			if ( existing != null )
+			{
+				return existing;
+			}
+
+			this.constantPool.writeByte( 1 );
+			this.constantPool.writeUTF( value );
+			final int index = this.constantCount++;
+			this.constants.put( key, index );
+
+			return index;
+		}
+
+		private static String internalName( final Class<?> clazz )
+		{
+			return clazz.getName( ).replace( '.', '/' );
+		}
+
+		private static String parameterDescriptor( final Method method )
+		{
+			final StringBuilder descriptor = new StringBuilder( "(" );
+			for ( final Class<?> parameterType : method.getParameterTypes( ) )
+			{
+				descriptor.append( descriptor( parameterType ) );
+			}
+
+			return descriptor.append( ')' ).toString( );
+		}
+
+		private static String descriptor( final Class<?> clazz )
+		{
+			if ( clazz.isArray( ) )
+			{
+				return internalName( clazz );
+			}
+			if ( !clazz.isPrimitive( ) )
+			{
+				return "L" + internalName( clazz ) + ";";
+			}
+			if ( clazz == void.class )
+			{
+				return "V";
+			}
+			if ( clazz == boolean.class )
+			{
+				return "Z";
+			}
+			if ( clazz == byte.class )
+			{
+				return "B";
+			}
+			if ( clazz == char.class )
+			{
+				return "C";
+			}
+			if ( clazz == short.class )
+			{
+				return "S";
+			}
+			if ( clazz == int.class )
+			{
+				return "I";
+			}
+			if ( clazz == long.class )
+			{
+				return "J";
+			}
+			if ( clazz == float.class )
+			{
+				return "F";
+			}
+
+			return "D";
+		}
+
+		private static int slotSize( final Class<?> clazz )
+		{
+			if ( clazz == void.class )
+			{
+				return 0;
+			}
+
+			return clazz == long.class || clazz == double.class ? 2 : 1;
+		}
+
+		private static int loadOpcode( final Class<?> clazz )
+		{
+			if ( !clazz.isPrimitive( ) )
+			{
+				return 0x19; /* aload */
+			}
+			if ( clazz == long.class )
+			{
+				return 0x16; /* lload */
+			}
+			if ( clazz == float.class )
+			{
+				return 0x17; /* fload */
+			}
+			if ( clazz == double.class )
+			{
+				return 0x18; /* dload */
+			}
+
+			return 0x15; /* iload */
+		}
+
+		private static int returnOpcode( final Class<?> clazz )
+		{
+			if ( clazz == void.class )
+			{
+				return 0xb1; /* return */
+			}
+			if ( !clazz.isPrimitive( ) )
+			{
+				return 0xb0; /* areturn */
+			}
+			if ( clazz == long.class )
+			{
+				return 0xad; /* lreturn */
+			}
+			if ( clazz == float.class )
+			{
+				return 0xae; /* freturn */
+			}
+			if ( clazz == double.class )
+			{
+				return 0xaf; /* dreturn */
+			}
+
+			return 0xac; /* ireturn */
+		}
+	}
+
+	static class LookupTable
+	{
+		/*
+		 * Resolution cache of an injector. Bindings are resolved through the parent chain once and then served from
+		 * here, so lookups do not depend on the depth of the hierarchy. Misses are cached as well.
+		 */
+		static final Object MISSING = new Object( );
+		static final LookupTable EMPTY = new LookupTable( -1, new IdMap( ) );
+
+		final long generation;
+		/* keyed by class id, entries lost while growing concurrently are simply resolved again */
+		private final IdMap bindings;
+
+		LookupTable( final long generation, final IdMap bindings )
+		{
+			this.generation = generation;
+			this.bindings = bindings;
+		}
+
+		LookupTable rebuild( final long generation )
+		{
+			/* sized like this table, which grew to the ids the injector actually looks up */
+			return new LookupTable( generation, new IdMap( this.bindings ) );
+		}
+
+		Object get( final int id )
+		{
+			return this.bindings.get( id );
+		}
+
+		void put( final int id, final Object binding )
+		{
+			this.bindings.put( id, binding );
+		}
+	}
+
+	static final class IdMap
+	{
+		/*
+		 * Map from class id to binding that is sized by the entries of one injector instead of all ids of the process.
+		 * The first ids, handed out to the classes bound at startup, index a lazily grown array directly. Higher ids go
+		 * to an open addressing table, whose slots are claimed with a CAS on the key; readers treat a claimed slot
+		 * without a value as a miss. Entries put while either part is replaced by a larger one may be lost.
+		 */
+		static final int DIRECT_LIMIT = 512;
+		private static final AtomicReferenceArray<Object> NO_ENTRIES = new AtomicReferenceArray<>( 0 );
+		private static final int MIN_CAPACITY = 8;
+
+		private volatile AtomicReferenceArray<Object> direct;
+		private volatile Table hashed;
+
+		IdMap( )
+		{
+			this.direct = NO_ENTRIES;
+		}
+
+		IdMap( final IdMap sizedLike )
+		{
+			final Table hashed = sizedLike.hashed;
+			this.direct = new AtomicReferenceArray<>( sizedLike.direct.length( ) );
+			this.hashed = hashed == null ? null : new Table( hashed.keys.length( ) );
+		}
+
+		Object get( final int id )
+		{
+			if ( id < DIRECT_LIMIT )
+			{
+				final AtomicReferenceArray<Object> direct = this.direct;
+
+				return id < direct.length( ) ? direct.get( id ) : null;
+			}
+
+			final Table table = this.hashed;
+			if ( table == null )
+			{
+				return null;
+			}
+
+			final int key = id + 1;
+			for ( int i = index( id, table.mask ); ; i = ( i + 1 ) & table.mask )
+			{
+				final int slot = table.keys.get( i );
+				if ( slot == key )
+				{
+					return table.values.get( i );
+				}
+				if ( slot == 0 )
+				{
+					return null;
+				}
+			}
+		}
+
+		void put( final int id, final Object value )
+		{
+			if ( id < DIRECT_LIMIT )
+			{
+				putDirect( id, value );
+			}
+			else
+			{
+				putHashed( id, value );
+			}
+		}
+
+		private void putDirect( final int id, final Object value )
+		{
+			AtomicReferenceArray<Object> direct = this.direct;
+			if ( id >= direct.length( ) )
+			{
+				final AtomicReferenceArray<Object> grown =
+					new AtomicReferenceArray<>( Math.min( DIRECT_LIMIT, Math.max( id + 1, direct.length( ) * 2 ) ) );
+				for ( int i = 0; i < direct.length( ); i++ )
+				{
+					grown.lazySet( i, direct.get( i ) );
+				}
+				this.direct = grown;
+				direct = grown;
+			}
+
+			direct.set( id, value );
+		}
+
+		private void putHashed( final int id, final Object value )
+		{
+			final int key = id + 1;
+			while ( true )
+			{
+				Table table = this.hashed;
+				if ( table == null )
+				{
+					table = createHashed( );
+				}
+
+				for ( int i = index( id, table.mask ), probes = 0; probes <= table.mask; i = ( i + 1 ) & table.mask, probes++ )
+				{
+					final int slot = table.keys.get( i );
+					if ( slot == 0 && table.keys.compareAndSet( i, 0, key ) )
+					{
+						table.values.set( i, value );
+						/* at most half full, so that probe sequences stay short and always end at a free slot */
+						if ( table.size.incrementAndGet( ) * 2 > table.keys.length( ) )
+						{
+							grow( table );
+						}
+						return;
+					}
+					if ( table.keys.get( i ) == key )
+					{
+						table.values.set( i, value );
+						return;
+					}
+				}
+				grow( table );
+			}
+		}
+
+		IdMap copy( )
+		{
+			final IdMap copy = new IdMap( this );
+			final AtomicReferenceArray<Object> direct = this.direct;
+			for ( int i = 0; i < direct.length( ); i++ )
+			{
+				copy.direct.lazySet( i, direct.get( i ) );
+			}
+			final Table hashed = this.hashed;
+			if ( hashed != null )
+			{
+				copyEntries( hashed, copy.hashed );
+			}
+
+			return copy;
+		}
+
+		private synchronized Table createHashed( )
+		{
+			if ( this.hashed == null )
+			{
+				this.hashed = new Table( MIN_CAPACITY );
+			}
+
+			return this.hashed;
+		}
+
+		private synchronized void grow( final Table full )
+		{
+			if ( this.hashed != full )
+			{
+				return;
+			}
+
+			final Table grown = new Table( full.keys.length( ) * 2 );
+			copyEntries( full, grown );
+			this.hashed = grown;
+		}
+
+		private static void copyEntries( final Table from, final Table to )
+		{
+			for ( int i = 0; i < from.keys.length( ); i++ )
+			{
+				final int key = from.keys.get( i );
+				final Object value = from.values.get( i );
+				if ( key != 0 && value != null )
+				{
+					int j = index( key - 1, to.mask );
+					while ( to.keys.get( j ) != 0 )
+					{
+						j = ( j + 1 ) & to.mask;
+					}
+					to.keys.set( j, key );
+					to.values.set( j, value );
+					to.size.incrementAndGet( );
+				}
+			}
+		}
+
+		private static int index( final int id, final int mask )
+		{
+			final int hash = id * 0x9E3779B9;
+
+			return ( hash ^ hash >>> 16 ) & mask;
+		}
+
+		private static final class Table
+		{
+			/* class id + 1, so that zero marks a free slot */
+			final AtomicIntegerArray keys;
+			final AtomicReferenceArray<Object> values;
+			final AtomicInteger size = new AtomicInteger( );
+			final int mask;
+
+			Table( final int capacity )
+			{
+				this.keys = new AtomicIntegerArray( capacity );
+				this.values = new AtomicReferenceArray<>( capacity );
+				this.mask = capacity - 1;
+			}
+		}
+	}
+
+	static class ClassIds
+	{
+		/* dense process wide ids of binding keys, registries and lookup tables hash them into per injector tables */
+		private static final AtomicInteger NEXT_ID = new AtomicInteger( );
+		private static final ClassValue<Integer> IDS = new ClassValue<Integer>( )
+		{
+			@Override
+			protected Integer computeValue( final Class<?> clazz )
+			{
+				return NEXT_ID.getAndIncrement( );
+			}
+		};
+
+		static int of( final Class<?> clazz )
+		{
+			return IDS.get( clazz );
+		}
+	}
+
+	public static class Registry
+	{
+		/* null for subclasses that keep their bindings themselves */
+		private final IdMap bindingsById;
+		private final List<Binding<?>> bindings;
+
+		Registry( )
+		{
+			this( new ArrayList<>( ), new IdMap( ) );
+		}
+
+		Registry( final List<Binding<?>> bindings, final IdMap bindingsById )
+		{
+			this.bindingsById = bindingsById;
+			this.bindings = bindings;
+		}
+
+		<T> Binding<T> getBinding( final Class<T> clazz )
+		{
+			return getBinding( ClassIds.of( clazz ) );
+		}
+
+		<T> Binding<T> getBinding( final int id )
+		{
+			return ( Binding<T> ) this.bindingsById.get( id );
+		}
+
+		<T> void putBinding( final Binding<T> binding )
+		{
+			binding.id = ClassIds.of( binding.clazz );
+
+			final Binding<?> previous = getBinding( binding.id );
+			if ( previous != null )
+			{
+				this.bindings.set( this.bindings.indexOf( previous ), binding );
+			}
+			else
+			{
+				this.bindings.add( binding );
+			}
+			this.bindingsById.put( binding.id, binding );
+		}
+
+		boolean hasBinding( final Class<?> clazz )
+		{
+			return getBinding( clazz ) != null;
+		}
+
+		Collection<Binding<?>> getBindings( )
+		{
+			return this.bindings;
+		}
+
+		Registry copy( )
+		{
+			return new Registry( new ArrayList<>( this.bindings ), this.bindingsById.copy( ) );
+		}
+	}
+
+	static class SmallRegistry extends Registry
+	{
+		/* request scoped injectors only hold a handful of bindings, which a linear scan finds faster than a hash */
+		private Binding<?>[] bindings = new Binding<?>[ 4 ];
+		private int size = 0;
+
+		SmallRegistry( )
+		{
+			super( Collections.emptyList( ), null );
+		}
+
+		@Override
+		<T> Binding<T> getBinding( final int id )
+		{
+			final Binding<?>[] bindings = this.bindings;
+			for ( int i = 0; i < this.size; i++ )
+			{
+				if ( ClassIds.of( bindings[ i ].clazz ) == id )
+				{
+					return ( Binding<T> ) bindings[ i ];
+				}
+			}
+
+			return null;
+		}
+
+		@Override
+		<T> Binding<T> getBinding( final Class<T> clazz )
+		{
+			final Binding<?>[] bindings = this.bindings;
+			for ( int i = 0; i < this.size; i++ )
+			{
+				if ( bindings[ i ].clazz == clazz )
+				{
+					return ( Binding<T> ) bindings[ i ];
+				}
+			}
+
+			return null;
+		}
+
+		@Override
+		<T> void putBinding( final Binding<T> binding )
+		{
+			for ( int i = 0; i < this.size; i++ )
+			{
+				if ( this.bindings[ i ].clazz == binding.clazz )
+				{
+					this.bindings[ i ] = binding;
+					return;
+				}
+			}
+
+			if ( this.size == this.bindings.length )
+			{
+				this.bindings = Arrays.copyOf( this.bindings, this.size * 2 );
+			}
+			this.bindings[ this.size++ ] = binding;
+		}
+
+		@Override
+		boolean hasBinding( final Class<?> clazz )
+		{
+			return getBinding( clazz ) != null;
+		}
+
+		@Override
+		Collection<Binding<?>> getBindings( )
+		{
+			return Arrays.asList( this.bindings ).subList( 0, this.size );
+		}
+
+		@Override
+		Registry copy( )
+		{
+			final SmallRegistry copy = new SmallRegistry( );
+			copy.bindings = this.bindings.clone( );
+			copy.size = this.size;
+
+			return copy;
+		}
+
+		void clear( )
+		{
+			Arrays.fill( this.bindings, 0, this.size, null );
+			this.size = 0;
+		}
+	}
+
+	public interface ScopedBindingBuilder<T>
+	{
+		InjectorBuilder toClass( final Class<? extends T> clazz );
+
+		InjectorBuilder toFactory( final Class<? extends Factory<T>> clazz );
+
+		InjectorBuilder toAsyncFactory( final Class<? extends AsyncFactory<T>> clazz );
+	}
+
+	public interface ConfiguredBindingBuilder<T, U extends T>
+	{
+		ScopedBindingBuilder<T> withScope( final BindingScope bindingScope );
+
+		ScopedBindingBuilder<T> withScope( final Scope scope );
+
+		InjectorBuilder toInstance( U instance );
+
+		ConfiguredBindingBuilder<T, U> closeOnShutdown( );
+	}
+
+	static class DynamicBatch implements DynamicBindings
+	{
+		private final InjectorImpl injector;
+		private final boolean commitOnAdd;
+		private final Map<Class<?>, Binding<?>> staged = new LinkedHashMap<>( );
+
+		DynamicBatch( final InjectorImpl injector, final boolean commitOnAdd )
+		{
+			this.injector = injector;
+			this.commitOnAdd = commitOnAdd;
+		}
+
+		@Override
+		public <T, U extends T> BindingBuilder<T, U> bind( final Class<T> clazz )
+		{
+			return new BindingBuilder<>( clazz, this.injector, this );
+		}
+
+		void add( final Binding<?> binding )
+		{
+			this.staged.put( binding.clazz, binding );
+			if ( this.commitOnAdd )
+			{
+				commit( );
+			}
+		}
+
+		void commit( )
+		{
+			if ( !this.staged.isEmpty( ) )
+			{
+				this.injector.bindDynamic( this.staged );
+			}
+		}
+	}
+
+	public static class BindingBuilder<T, U extends T>
+		implements ConfiguredBindingBuilder<T, U>, ScopedBindingBuilder<T>
+	{
+		private final Class<T> clazz;
+		private BindingScope bindingScope = null;
+		private Scope scope = null;
+		private boolean closeOnShutdown = false;
+		private final InjectorImpl container;
+		private DynamicBatch dynamicBatch = null;
+
+		private BindingBuilder( final Class<T> clazz, final InjectorImpl container )
+		{
+			this.clazz = clazz;
+			this.container = container;
+		}
+
+		private BindingBuilder( final Class<T> clazz, final InjectorImpl container, final DynamicBatch dynamicBatch )
+		{
+			this.dynamicBatch = dynamicBatch;
+			this.clazz = clazz;
+			this.container = container;
+		}
+
+		@Override
+		public InjectorBuilder toClass( final Class<? extends T> clazz )
+		{
+			final Binding<T> binding = new ClassBinding<>( this.clazz, clazz, this.container.metadataCache );
+			applyScope( binding );
+			registerBinding( binding );
+
+			return this.container;
+		}
+
+		@Override
+		public InjectorBuilder toInstance( final U instance )
+		{
+			final Binding<T> binding = new InstanceBinding<>( this.clazz, instance );
+			registerBinding( binding );
+
+			return this.container;
+		}
+
+		@Override
+		public InjectorBuilder toFactory( final Class<? extends Factory<T>> factory )
+		{
+			final Binding<T> binding = new FactoryBinding<>( this.clazz, factory, this.container.metadataCache );
+			applyScope( binding );
+			registerBinding( binding );
+
+			return this.container;
+		}
+
+		@Override
+		public InjectorBuilder toAsyncFactory( final Class<? extends AsyncFactory<T>> factory )
+		{
+			final Binding<T> binding = new AsyncFactoryBinding<>( this.clazz, factory, this.container.metadataCache );
+			applyScope( binding );
+			registerBinding( binding );
+
+			return this.container;
+		}
+
+		@Override
+		public BindingBuilder<T, U> closeOnShutdown( )
+		{
+			this.closeOnShutdown = true;
+
+			return this;
+		}
+
+		@Override public ScopedBindingBuilder<T> withScope( final BindingScope bindingScope )
 		{
 			this.bindingScope = bindingScope;
 
-			return this;
+			return this;
+		}
+
+		@Override
+		public ScopedBindingBuilder<T> withScope( final Scope scope )
+		{
+			this.scope = scope;
+
+			return this;
+		}
+
+		private void applyScope( final Binding<T> binding )
+		{
+			if ( this.scope != null )
+			{
+				/* the scope keeps the instances, the binding itself constructs a new one whenever asked */
+				binding.bindingScope = BindingScope.TRANSIENT;
+				binding.scope = this.scope;
+				binding.scoped = this.scope.scope( this.clazz, binding::createInstance );
+			}
+			else if ( this.bindingScope != null )
+			{
+				binding.bindingScope = this.bindingScope;
+			}
+		}
+
+		private void registerBinding( final Binding<?> binding )
+		{
+			binding.injector = this.container;
+			binding.closeOnShutdown = this.closeOnShutdown;
+			if ( this.container.metrics != null )
+			{
+				binding.metrics = this.container.metrics.forBinding( this.container.metricsName, binding.clazz );
+			}
+			if ( this.dynamicBatch != null )
+			{
+				this.dynamicBatch.add( binding );
+			}
+			else
+			{
+				this.container.registry.putBinding( binding );
+			}
+		}
+	}
+
+	public interface Factory<T>
+	{
+		T create( );
+	}
+
+	public interface BatchFactory<T> extends Factory<T>
+	{
+		List<T> createBatch( int count );
+	}
+
+	public interface AsyncFactory<T>
+	{
+		CompletableFuture<T> create( );
+	}
+
+	public interface Provider<T>
+	{
+		T get( );
+	}
+
+	public interface Scope
+	{
+		Scope THREAD = new ThreadScope( );
+		RequestScope REQUEST = new RequestScope( );
+		Scope SOFT = new SoftScope( );
+
+		<T> Provider<T> scope( Class<T> key, Provider<T> unscoped );
+
+		static Scope expiring( final long timeToLive, final TimeUnit unit )
+		{
+			return new ExpiringScope( unit.toNanos( timeToLive ) );
+		}
+
+		static <P> PooledScope<P> pooled( final int maxSize )
+		{
+			return new PooledScope<>( maxSize, instance -> {
+			} );
+		}
+
+		static <P> PooledScope<P> pooled( final int maxSize, final Consumer<? super P> reset )
+		{
+			return new PooledScope<>( maxSize, reset );
+		}
+	}
+
+	static class ThreadScope implements Scope
+	{
+		@Override
+		public <T> Provider<T> scope( final Class<T> key, final Provider<T> unscoped )
+		{
+			final ThreadLocal<T> instances = ThreadLocal.withInitial( unscoped::get );
+
+			return instances::get;
+		}
+
+		@Override
+		public String toString( )
+		{
+			return "THREAD";
+		}
+	}
+
+	static class SoftScope implements Scope
+	{
+		/* a singleton the garbage collector may reclaim under memory pressure, it is rebuilt on the next request */
+		@Override
+		public <T> Provider<T> scope( final Class<T> key, final Provider<T> unscoped )
+		{
+			final ReentrantLock lock = new ReentrantLock( );
+			final AtomicReference<SoftReference<T>> reference = new AtomicReference<>( new SoftReference<>( null ) );
+
+			return ( ) -> {
+				T instance = reference.get( ).get( );
+				if ( instance != null )
+				{
+					return instance;
+				}
+
+				lock.lock( );
+				try
+				{
+					instance = reference.get( ).get( );
+					if ( instance == null )
+					{
+						instance = unscoped.get( );
+						reference.set( new SoftReference<>( instance ) );
+					}
+
+					return instance;
+				}
+				finally
+				{
+					lock.unlock( );
+				}
+			};
+		}
+
+		@Override
+		public String toString( )
+		{
+			return "SOFT";
+		}
+	}
+
+	static class ExpiringScope implements Scope
+	{
+		/*
+		 * A singleton that is rebuilt once it is older than the time to live. Only the first thread noticing the
+		 * expiry rebuilds the instance, concurrent readers keep getting the previous one in the meantime.
+		 */
+		private final long timeToLiveNanos;
+
+		ExpiringScope( final long timeToLiveNanos )
+		{
+			this.timeToLiveNanos = timeToLiveNanos;
+		}
+
+		@Override
+		public <T> Provider<T> scope( final Class<T> key, final Provider<T> unscoped )
+		{
+			final ReentrantLock lock = new ReentrantLock( );
+			final AtomicReference<Expiring<T>> current = new AtomicReference<>( );
+
+			return ( ) -> {
+				final Expiring<T> expiring = current.get( );
+				if ( expiring != null && System.nanoTime( ) - expiring.created < this.timeToLiveNanos )
+				{
+					return expiring.instance;
+				}
+
+				/* without a previous instance there is nothing to hand out, so everyone waits for the first one */
+				if ( expiring == null )
+				{
+					lock.lock( );
+				}
+				else if ( !lock.tryLock( ) )
+				{
+					return expiring.instance;
+				}
+
+				try
+				{
+					final Expiring<T> latest = current.get( );
+					if ( latest != null && System.nanoTime( ) - latest.created < this.timeToLiveNanos )
+					{
+						return latest.instance;
+					}
+
+					final T instance = unscoped.get( );
+					current.set( new Expiring<>( instance, System.nanoTime( ) ) );
+
+					return instance;
+				}
+				finally
+				{
+					lock.unlock( );
+				}
+			};
+		}
+
+		@Override
+		public String toString( )
+		{
+			return "EXPIRING(" + TimeUnit.NANOSECONDS.toMillis( this.timeToLiveNanos ) + " ms)";
+		}
+
+		private static final class Expiring<T>
+		{
+			final T instance;
+			final long created;
+
+			Expiring( final T instance, final long created )
+			{
+				this.instance = instance;
+				this.created = created;
+			}
+		}
+	}
+
+	public static class RequestScope implements Scope
+	{
+		/*
+		 * Every binding in this scope gets a slot, the instances of a request live in a small array indexed by those
+		 * slots. Requests are bound to the thread that entered them until they are closed.
+		 */
+		private final AtomicInteger slots = new AtomicInteger( );
+		private final ThreadLocal<Request> current = new ThreadLocal<>( );
+
+		public Request enter( )
+		{
+			final Request request = new Request( this, this.current.get( ) );
+			this.current.set( request );
+
+			return request;
+		}
+
+		public boolean isActive( )
+		{
+			return this.current.get( ) != null;
+		}
+
+		@Override
+		public <T> Provider<T> scope( final Class<T> key, final Provider<T> unscoped )
+		{
+			final int slot = this.slots.getAndIncrement( );
+
+			return ( ) -> {
+				final Request request = this.current.get( );
+				if ( request == null )
+				{
+					throw new OutOfScopeException( key, this );
+				}
+
+				return request.get( slot, unscoped );
+			};
+		}
+
+		@Override
+		public String toString( )
+		{
+			return "REQUEST";
+		}
+
+		public static final class Request implements AutoCloseable
+		{
+			private final RequestScope scope;
+			private final Request previous;
+			private Object[] instances;
+
+			private Request( final RequestScope scope, final Request previous )
+			{
+				this.scope = scope;
+				this.previous = previous;
+				this.instances = new Object[ Math.max( scope.slots.get( ), 4 ) ];
+			}
+
+			private <T> T get( final int slot, final Provider<T> unscoped )
+			{
+				if ( slot >= this.instances.length )
+				{
+					this.instances = Arrays.copyOf( this.instances, Math.max( slot + 1, this.instances.length * 2 ) );
+				}
+
+				T instance = ( T ) this.instances[ slot ];
+				if ( instance == null )
+				{
+					instance = unscoped.get( );
+					this.instances[ slot ] = instance;
+				}
+
+				return instance;
+			}
+
+			@Override
+			public void close( )
+			{
+				if ( this.scope.current.get( ) != this )
+				{
+					throw new IllegalStateException( "Requests have to be closed in reverse order on the thread that entered them" );
+				}
+
+				Arrays.fill( this.instances, null );
+				if ( this.previous == null )
+				{
+					this.scope.current.remove( );
+				}
+				else
+				{
+					this.scope.current.set( this.previous );
+				}
+			}
+		}
+	}
+
+	public static class PooledScope<P> implements Scope
+	{
+		/*
+		 * Hands out idle instances of a binding and only constructs a new one when its pool is empty. Every binding
+		 * gets its own pool, so injectors sharing the scope never receive instances wired by another binding. The
+		 * scope remembers which pool an instance was leased from, released instances go back there after the reset
+		 * hook ran. Released instances that find the pool full are left to the garbage collector.
+		 */
+		private final int maxSize;
+		private final Consumer<? super P> reset;
+		/* weakly keyed by instance identity, instances that are never released must not be kept alive */
+		private final Map<LeaseKey, Lease> leases = new ConcurrentHashMap<>( );
+		private final ReferenceQueue<Object> collected = new ReferenceQueue<>( );
+
+		PooledScope( final int maxSize, final Consumer<? super P> reset )
+		{
+			if ( maxSize < 1 )
+			{
+				throw new IllegalArgumentException( "Pools have to keep at least one instance" );
+			}
+
+			this.maxSize = maxSize;
+			this.reset = reset;
+		}
+
+		@Override
+		public <T> Provider<T> scope( final Class<T> key, final Provider<T> unscoped )
+		{
+			final BoundedPool<Object> pool = new BoundedPool<>( this.maxSize );
+
+			return ( ) -> {
+				final Object idle = pool.take( );
+				if ( idle != null )
+				{
+					this.leases.get( new LeaseKey( idle, null ) ).leased.set( true );
+
+					return key.cast( idle );
+				}
+
+				final T instance = unscoped.get( );
+				expungeCollected( );
+				this.leases.put( new LeaseKey( instance, this.collected ), new Lease( pool ) );
+
+				return instance;
+			};
+		}
+
+		public <T extends P> Pooled<T> borrow( final Injector injector, final Class<T> key )
+		{
+			return new Pooled<>( this, key, injector.get( key ) );
+		}
+
+		public <T extends P> void release( final Class<T> key, final T instance )
+		{
+			final Lease lease = this.leases.get( new LeaseKey( instance, null ) );
+			if ( lease == null )
+			{
+				throw new IllegalArgumentException( "Instance " + instance + " of " + key + " was not leased from this scope" );
+			}
+
+			if ( !lease.leased.compareAndSet( true, false ) )
+			{
+				throw new IllegalStateException( "Pooled instance " + instance + " has already been released" );
+			}
+
+			/* an instance whose reset fails or that finds the pool full is dropped, it stays released */
+			this.reset.accept( instance );
+			lease.pool.release( instance );
+		}
+
+		@Override
+		public String toString( )
+		{
+			return "POOLED";
+		}
+
+		private void expungeCollected( )
+		{
+			Reference<?> reference;
+			while ( ( reference = this.collected.poll( ) ) != null )
+			{
+				this.leases.remove( reference );
+			}
+		}
+
+		private static final class Lease
+		{
+			/* must not reference the instance, or the weak key would never be cleared */
+			private final BoundedPool<Object> pool;
+			private final AtomicBoolean leased = new AtomicBoolean( true );
+
+			Lease( final BoundedPool<Object> pool )
+			{
+				this.pool = pool;
+			}
+		}
+
+		private static final class LeaseKey extends WeakReference<Object>
+		{
+			private final int hash;
+
+			LeaseKey( final Object instance, final ReferenceQueue<Object> queue )
+			{
+				super( instance, queue );
+				this.hash = System.identityHashCode( instance );
+			}
+
+			@Override
+			public boolean equals( final Object other )
+			{
+				if ( other == this )
+				{
+					return true;
+				}
+				final Object instance = get( );
+
+				return instance != null && other instanceof LeaseKey && ( ( LeaseKey ) other ).get( ) == instance;
+			}
+
+			@Override
+			public int hashCode( )
+			{
+				return this.hash;
+			}
+		}
+	}
+
+	public static final class Pooled<T> implements AutoCloseable
+	{
+		private final PooledScope<? super T> scope;
+		private final Class<T> key;
+		private T instance;
+
+		private Pooled( final PooledScope<? super T> scope, final Class<T> key, final T instance )
+		{
+			this.scope = scope;
+			this.key = key;
+			this.instance = instance;
+		}
+
+		public T get( )
+		{
+			if ( this.instance == null )
+			{
+				throw new IllegalStateException( "Pooled instance of " + this.key + " has already been released" );
+			}
+
+			return this.instance;
+		}
+
+		@Override
+		public void close( )
+		{
+			final T instance = this.instance;
+			if ( instance != null )
+			{
+				this.instance = null;
+				this.scope.release( this.key, instance );
+			}
+		}
+	}
+
+	public interface InstantiationStrategy
+	{
+		InstantiationStrategy REFLECTION = new ReflectionInstantiationStrategy( );
+		InstantiationStrategy METHOD_HANDLES = new MethodHandleInstantiationStrategy( );
+
+		Instantiator instantiator( Constructor<?> constructor );
+
+		FieldInjector fieldInjector( Field field );
+	}
+
+	public interface Instantiator
+	{
+		Object newInstance( Object[] arguments ) throws Exception;
+	}
+
+	public interface FieldInjector
+	{
+		void inject( Object instance, Object value ) throws Exception;
+	}
+
+	public interface LifecycleCallback
+	{
+		LifecycleCallback NONE = instance -> {
+		};
+
+		void invoke( Object instance ) throws Exception;
+	}
+
+	public interface InjectorMetrics
+	{
+		BindingMetrics forBinding( String injector, Class<?> key );
+
+		default void injectorClosed( final String injector )
+		{
+		}
+	}
+
+	public interface BindingMetrics
+	{
+		/* lookups that found no instance yet, those which did are reported as singleton hits instead */
+		void lookup( );
+
+		void singletonHit( );
+
+		void constructed( long nanos );
+
+		void lockWaited( long nanos );
+
+		void lazyInitialized( );
+	}
+
+	public interface BindingStatisticsMBean
+	{
+		long getLookups( );
+
+		long getSingletonHits( );
+
+		long getConstructions( );
+
+		long getConstructionNanos( );
+
+		long[] getConstructionLatencyHistogram( );
+
+		long getLockWaitNanos( );
+
+		long getLazyInitializations( );
+	}
+
+	public static final class BindingStatistics implements BindingMetrics, BindingStatisticsMBean
+	{
+		/* bucket i counts constructions that took between 2^i and 2^(i+1) nanoseconds */
+		private final LongAdder lookups = new LongAdder( );
+		private final LongAdder singletonHits = new LongAdder( );
+		private final LongAdder constructionNanos = new LongAdder( );
+		private final AtomicLongArray constructionLatencies = new AtomicLongArray( Long.SIZE );
+		private final LongAdder lockWaitNanos = new LongAdder( );
+		private final LongAdder lazyInitializations = new LongAdder( );
+
+		@Override
+		public void lookup( )
+		{
+			this.lookups.increment( );
+		}
+
+		@Override
+		public void singletonHit( )
+		{
+			this.singletonHits.increment( );
+		}
+
+		@Override
+		public void constructed( final long nanos )
+		{
+			this.constructionNanos.add( nanos );
+			this.constructionLatencies.incrementAndGet( Long.SIZE - 1 - Long.numberOfLeadingZeros( Math.max( nanos, 1 ) ) );
+		}
+
+		@Override
+		public void lockWaited( final long nanos )
+		{
+			this.lockWaitNanos.add( nanos );
+		}
+
+		@Override
+		public void lazyInitialized( )
+		{
+			this.lazyInitializations.increment( );
+		}
+
+		@Override
+		public long getLookups( )
+		{
+			return this.lookups.sum( ) + this.singletonHits.sum( );
+		}
+
+		@Override
+		public long getSingletonHits( )
+		{
+			return this.singletonHits.sum( );
+		}
+
+		@Override
+		public long getConstructions( )
+		{
+			long constructions = 0;
+			for ( int i = 0; i < this.constructionLatencies.length( ); i++ )
+			{
+				constructions += this.constructionLatencies.get( i );
+			}
+
+			return constructions;
+		}
+
+		@Override
+		public long getConstructionNanos( )
+		{
+			return this.constructionNanos.sum( );
+		}
+
+		@Override
+		public long[] getConstructionLatencyHistogram( )
+		{
+			final long[] histogram = new long[ this.constructionLatencies.length( ) ];
+			for ( int i = 0; i < histogram.length; i++ )
+			{
+				histogram[ i ] = this.constructionLatencies.get( i );
+			}
+
+			return histogram;
+		}
+
+		@Override
+		public long getLockWaitNanos( )
+		{
+			return this.lockWaitNanos.sum( );
+		}
+
+		@Override
+		public long getLazyInitializations( )
+		{
+			return this.lazyInitializations.sum( );
+		}
+	}
+
+	public static class JmxMetrics implements InjectorMetrics
+	{
+		/*
+		 * Registers one BindingStatistics MBean per injector and binding key under
+		 * com.github.andrpash.minidi:type=Binding,injector=<name>,binding=<class>.
+		 */
+		static final String DOMAIN = "com.github.andrpash.minidi";
+
+		private final MBeanServer server;
+		private final Map<ObjectName, BindingStatistics> statistics = new ConcurrentHashMap<>( );
+
+		public JmxMetrics( )
+		{
+			this( ManagementFactory.getPlatformMBeanServer( ) );
+		}
+
+		public JmxMetrics( final MBeanServer server )
+		{
+			this.server = server;
+		}
+
+		@Override
+		public BindingMetrics forBinding( final String injector, final Class<?> key )
+		{
+			/* rebinding a dynamic key keeps counting on the same MBean */
+			return this.statistics.computeIfAbsent( objectName( injector, key ), this::register );
+		}
+
+		@Override
+		public void injectorClosed( final String injector )
+		{
+			final Iterator<ObjectName> names = this.statistics.keySet( ).iterator( );
+			while ( names.hasNext( ) )
+			{
+				final ObjectName name = names.next( );
+				if ( injector.equals( name.getKeyProperty( "injector" ) ) )
+				{
+					names.remove( );
+					try
+					{
+						this.server.unregisterMBean( name );
+					}
+					catch ( final JMException e )
+					{
+						/* already unregistered by someone else */
+					}
+				}
+			}
+		}
+
+		private BindingStatistics register( final ObjectName name )
+		{
+			final BindingStatistics bindingStatistics = new BindingStatistics( );
+			try
+			{
+				this.server.registerMBean( new StandardMBean( bindingStatistics, BindingStatisticsMBean.class ), name );
+			}
+			catch ( final JMException e )
+			{
+				throw new IllegalStateException( "Could not register MBean " + name, e );
+			}
+
+			return bindingStatistics;
+		}
+
+		static ObjectName objectName( final String injector, final Class<?> key )
+		{
+			try
+			{
+				return new ObjectName( DOMAIN + ":type=Binding,injector=" + injector + ",binding=" +
+					ObjectName.quote( key.getName( ) ) );
+			}
+			catch ( final MalformedObjectNameException e )
+			{
+				throw new IllegalArgumentException( e );
+			}
+		}
+	}
+
+	static class FlightRecorderEvents
+	{
+		/*
+		 * Custom JFR events, defined through jdk.jfr.EventFactory by reflection so that MiniDI still runs on
+		 * runtimes without JFR. Events are only created while a recording enables them, otherwise begin( ) returns
+		 * null and commit( ) returns before it touches its arguments. Commits have fixed arities to avoid varargs.
+		 */
+		static final FlightRecorderEvent CONSTRUCTION = new FlightRecorderEvent( "minidi.Construction",
+			"Binding Construction", "Construction of a binding instance including its dependencies",
+			field( Class.class, "bindingClass", "Binding Class" ),
+			field( String.class, "scope", "Scope" ),
+			field( int.class, "nestingDepth", "Nesting Depth" ) );
+		static final FlightRecorderEvent VALIDATION = new FlightRecorderEvent( "minidi.Validation",
+			"Injector Validation", "Validation of the bindings of an injector during initialize( )",
+			field( int.class, "bindings", "Bindings" ),
+			field( int.class, "validatedBindings", "Validated Bindings" ) );
+		static final FlightRecorderEvent LAZY_INITIALIZATION = new FlightRecorderEvent( "minidi.LazyInitialization",
+			"Lazy Initialization", "First access to a lazy proxy",
+			field( Class.class, "instanceClass", "Instance Class" ) );
+		static final FlightRecorderEvent CHILD_CREATION = new FlightRecorderEvent( "minidi.ChildCreation",
+			"Child Injector Creation", "Creation of a child or request child injector",
+			field( boolean.class, "requestChild", "Request Child" ),
+			field( boolean.class, "pooled", "Pooled" ) );
+
+		static final ThreadLocal<int[]> CONSTRUCTION_DEPTH = ThreadLocal.withInitial( ( ) -> new int[ 1 ] );
+
+		private static final MethodHandle IS_INITIALIZED = findIsInitialized( );
+
+		private static Object[] field( final Class<?> type, final String name, final String label )
+		{
+			return new Object[] { type, name, label };
+		}
+
+		private static MethodHandle findIsInitialized( )
+		{
+			try
+			{
+				return MethodHandles.publicLookup( ).findStatic( Class.forName( "jdk.jfr.FlightRecorder" ),
+					"isInitialized", MethodType.methodType( boolean.class ) );
+			}
+			catch ( final ReflectiveOperationException | LinkageError e )
+			{
+				return null;
+			}
+		}
+
+		/* no recording can have been started before the flight recorder is initialized */
+		static boolean isInitialized( )
+		{
+			try
+			{
+				return IS_INITIALIZED != null && ( boolean ) IS_INITIALIZED.invokeExact( );
+			}
+			catch ( final Throwable throwable )
+			{
+				return false;
+			}
+		}
+	}
+
+	static class FlightRecorderEvent
+	{
+		private final String name;
+		private final String label;
+		private final String description;
+		private final Object[][] fields;
+		private volatile boolean defined = false;
+		private MethodHandle newEvent;
+		private MethodHandle isEnabled;
+		private MethodHandle begin;
+		private MethodHandle set;
+		private MethodHandle commit;
+
+		FlightRecorderEvent( final String name, final String label, final String description,
+			final Object[]... fields )
+		{
+			this.name = name;
+			this.label = label;
+			this.description = description;
+			this.fields = fields;
+		}
+
+		boolean isEnabled( )
+		{
+			if ( !FlightRecorderEvents.isInitialized( ) )
+			{
+				return false;
+			}
+
+			try
+			{
+				define( );
+				final MethodHandle isEnabled = this.isEnabled;
+
+				return isEnabled != null && ( boolean ) isEnabled.invokeExact( );
+			}
+			catch ( final Throwable throwable )
+			{
+				return false;
+			}
+		}
+
+		Object begin( )
+		{
+			if ( !isEnabled( ) )
+			{
+				return null;
+			}
+
+			try
+			{
+				final Object event = this.newEvent.invoke( );
+				this.begin.invoke( event );
+
+				return event;
+			}
+			catch ( final Throwable throwable )
+			{
+				return null;
+			}
+		}
+
+		void commit( final Object event, final Class<?> first )
+		{
+			if ( event == null )
+			{
+				return;
+			}
+
+			try
+			{
+				this.set.invoke( event, 0, first );
+				this.commit.invoke( event );
+			}
+			catch ( final Throwable throwable )
+			{
+				/* events are best effort */
+			}
+		}
+
+		void commit( final Object event, final int first, final int second )
+		{
+			if ( event == null )
+			{
+				return;
+			}
+
+			try
+			{
+				this.set.invoke( event, 0, first );
+				this.set.invoke( event, 1, second );
+				this.commit.invoke( event );
+			}
+			catch ( final Throwable throwable )
+			{
+				/* events are best effort */
+			}
+		}
+
+		void commit( final Object event, final boolean first, final boolean second )
+		{
+			if ( event == null )
+			{
+				return;
+			}
+
+			try
+			{
+				this.set.invoke( event, 0, first );
+				this.set.invoke( event, 1, second );
+				this.commit.invoke( event );
+			}
+			catch ( final Throwable throwable )
+			{
+				/* events are best effort */
+			}
+		}
+
+		void commit( final Object event, final Class<?> first, final String second, final int third )
+		{
+			if ( event == null )
+			{
+				return;
+			}
+
+			try
+			{
+				this.set.invoke( event, 0, first );
+				this.set.invoke( event, 1, second );
+				this.set.invoke( event, 2, third );
+				this.commit.invoke( event );
+			}
+			catch ( final Throwable throwable )
+			{
+				/* events are best effort */
+			}
+		}
+
+		private void define( )
+		{
+			if ( this.defined )
+			{
+				return;
+			}
+
+			synchronized ( this )
+			{
+				if ( this.defined )
+				{
+					return;
+				}
+
+				try
+				{
+					final Class<?> annotationElement = Class.forName( "jdk.jfr.AnnotationElement" );
+					final Class<?> valueDescriptor = Class.forName( "jdk.jfr.ValueDescriptor" );
+					final Class<?> eventFactory = Class.forName( "jdk.jfr.EventFactory" );
+					final Class<?> eventType = Class.forName( "jdk.jfr.EventType" );
+					final Class<?> eventClass = Class.forName( "jdk.jfr.Event" );
+					final Constructor<?> newAnnotation = annotationElement.getConstructor( Class.class, Object.class );
+
+					final List<Object> annotations = new ArrayList<>( );
+					annotations.add( newAnnotation.newInstance( Class.forName( "jdk.jfr.Name" ), this.name ) );
+					annotations.add( newAnnotation.newInstance( Class.forName( "jdk.jfr.Label" ), this.label ) );
+					annotations.add( newAnnotation.newInstance( Class.forName( "jdk.jfr.Description" ), this.description ) );
+					annotations.add( newAnnotation.newInstance( Class.forName( "jdk.jfr.Category" ),
+						new String[] { "MiniDI" } ) );
+
+					final List<Object> valueDescriptors = new ArrayList<>( );
+					for ( final Object[] field : this.fields )
+					{
+						valueDescriptors.add( valueDescriptor.getConstructor( Class.class, String.class, List.class )
+							.newInstance( field[ 0 ], field[ 1 ], Collections.singletonList(
+								newAnnotation.newInstance( Class.forName( "jdk.jfr.Label" ), field[ 2 ] ) ) ) );
+					}
+
+					final Object factory = eventFactory.getMethod( "create", List.class, List.class )
+						.invoke( null, annotations, valueDescriptors );
+					final MethodHandles.Lookup lookup = MethodHandles.publicLookup( );
+					this.newEvent = lookup.findVirtual( eventFactory, "newEvent", MethodType.methodType( eventClass ) )
+						.bindTo( factory );
+					this.isEnabled = lookup.findVirtual( eventType, "isEnabled", MethodType.methodType( boolean.class ) )
+						.bindTo( eventFactory.getMethod( "getEventType" ).invoke( factory ) );
+					this.begin = lookup.findVirtual( eventClass, "begin", MethodType.methodType( void.class ) );
+					this.set = lookup.findVirtual( eventClass, "set",
+						MethodType.methodType( void.class, int.class, Object.class ) );
+					this.commit = lookup.findVirtual( eventClass, "commit", MethodType.methodType( void.class ) );
+				}
+				catch ( final ReflectiveOperationException | LinkageError | RuntimeException e )
+				{
+					this.isEnabled = null;
+				}
+				this.defined = true;
+			}
+		}
+	}
+
+	public interface GeneratedFactory
+	{
+		InjectionPoint[] constructorDependencies( );
+
+		InjectionPoint[] fieldDependencies( );
+
+		Instantiator instantiator( );
+
+		FieldInjector[] fieldInjectors( );
+
+		/* null if the lifecycle methods have to be looked up reflectively, LifecycleCallback.NONE if there are none */
+		default LifecycleCallback postConstruct( )
+		{
+			return null;
+		}
+
+		default LifecycleCallback preDestroy( )
+		{
+			return null;
+		}
+	}
+
+	public static final class InjectionPoint
+	{
+		final Class<?> type;
+		final boolean lazy;
+		final boolean provider;
+
+		public InjectionPoint( final Class<?> type, final boolean lazy, final boolean provider )
+		{
+			this.type = type;
+			this.lazy = lazy;
+			this.provider = provider;
+		}
+	}
+
+	static class GeneratedFactories
+	{
+		/*
+		 * Factories emitted by the minidi-processor module are named after the binary name of the class they
+		 * construct, so a single class lookup per bound class decides whether reflective scanning can be skipped.
+		 * That lookup is only made for classes the processor listed in the indexes of their class loader, as failing
+		 * ones throw. Only if the indexes cannot be read, every class is looked up.
+		 */
+		static final String SUFFIX = "_MiniDIFactory";
+		static final String INDEX = "META-INF/minidi/factories";
+
+		private static final Map<ClassLoader, Optional<Set<String>>> INDEXES =
+			Collections.synchronizedMap( new WeakHashMap<>( ) );
+
+		private static final ClassValue<GeneratedFactory> FACTORIES = new ClassValue<GeneratedFactory>( )
+		{
+			@Override
+			protected GeneratedFactory computeValue( final Class<?> clazz )
+			{
+				return load( clazz );
+			}
+		};
+
+		static GeneratedFactory lookup( final Class<?> clazz )
+		{
+			return FACTORIES.get( clazz );
+		}
+
+		static String factoryName( final Class<?> clazz )
+		{
+			final String packageName = clazz.getPackage( ) == null ? "" : clazz.getPackage( ).getName( );
+			final String simpleBinaryName = packageName.isEmpty( )
+				? clazz.getName( )
+				: clazz.getName( ).substring( packageName.length( ) + 1 );
+			final String factoryName = simpleBinaryName.replace( '$', '_' ) + SUFFIX;
+
+			return packageName.isEmpty( ) ? factoryName : packageName + "." + factoryName;
+		}
+
+		private static GeneratedFactory load( final Class<?> clazz )
+		{
+			if ( clazz.getClassLoader( ) == null || clazz.isInterface( ) || clazz.isArray( ) || clazz.isPrimitive( ) )
+			{
+				return null;
+			}
+
+			final Optional<Set<String>> index = index( clazz.getClassLoader( ) );
+			if ( index.isPresent( ) && !index.get( ).contains( clazz.getName( ) ) )
+			{
+				return null;
+			}
+
+			try
+			{
+				final Class<?> factoryClass = Class.forName( factoryName( clazz ), true, clazz.getClassLoader( ) );
+				if ( !GeneratedFactory.class.isAssignableFrom( factoryClass ) )
+				{
+					return null;
+				}
+
+				return ( GeneratedFactory ) factoryClass.getConstructor( ).newInstance( );
+			}
+			catch ( final ReflectiveOperationException | LinkageError e )
+			{
+				return null;
+			}
+		}
+
+		private static Optional<Set<String>> index( final ClassLoader classLoader )
+		{
+			final Optional<Set<String>> index = INDEXES.get( classLoader );
+			if ( index != null )
+			{
+				return index;
+			}
+
+			/* read without holding the map's monitor, a racing reader of the same loader just loses the put */
+			final Optional<Set<String>> read = readIndex( classLoader );
+			final Optional<Set<String>> published = INDEXES.putIfAbsent( classLoader, read );
+
+			return published != null ? published : read;
+		}
+
+		private static Optional<Set<String>> readIndex( final ClassLoader classLoader )
+		{
+			try
+			{
+				/* every jar built with the processor brings its own index */
+				final Set<String> indexedClasses = new HashSet<>( );
+				final Enumeration<URL> indexes = classLoader.getResources( INDEX );
+				while ( indexes.hasMoreElements( ) )
+				{
+					try ( final BufferedReader reader = new BufferedReader(
+						new InputStreamReader( indexes.nextElement( ).openStream( ), StandardCharsets.UTF_8 ) ) )
+					{
+						String line;
+						while ( ( line = reader.readLine( ) ) != null )
+						{
+							if ( !line.isEmpty( ) )
+							{
+								indexedClasses.add( line );
+							}
+						}
+					}
+				}
+
+				return Optional.of( indexedClasses );
+			}
+			catch ( final IOException | RuntimeException e )
+			{
+				/* an unreadable index must not hide factories */
+				return Optional.empty( );
+			}
+		}
+	}
+
+	static class ReflectionInstantiationStrategy implements InstantiationStrategy
+	{
+		@Override
+		public Instantiator instantiator( final Constructor<?> constructor )
+		{
+			constructor.setAccessible( true );
+
+			return constructor::newInstance;
+		}
+
+		@Override
+		public FieldInjector fieldInjector( final Field field )
+		{
+			field.setAccessible( true );
+
+			return field::set;
+		}
+	}
+
+	static class MethodHandleInstantiationStrategy implements InstantiationStrategy
+	{
+		private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType( Object.class, Object[].class );
+		private static final MethodType FIELD_INJECTOR_TYPE =
+			MethodType.methodType( void.class, Object.class, Object.class );
+
+		private final MethodHandles.Lookup lookup = MethodHandles.lookup( );
+
+		@Override
+		public Instantiator instantiator( final Constructor<?> constructor )
+		{
+			final MethodHandle handle;
+			try
+			{
+				constructor.setAccessible( true );
+				handle = this.lookup.unreflectConstructor( constructor )
+					.asSpreader( Object[].class, constructor.getParameterCount( ) )
+					.asType( INSTANTIATOR_TYPE );
+			}
+			catch ( final IllegalAccessException | RuntimeException e )
+			{
+				/* access rules forbid a handle, e.g. for classes in non-open modules */
+				return REFLECTION.instantiator( constructor );
+			}
+
+			return arguments -> {
+				try
+				{
+					return handle.invokeExact( arguments );
+				}
+				catch ( final Throwable t )
+				{
+					throw rethrow( t );
+				}
+			};
+		}
+
+		@Override
+		public FieldInjector fieldInjector( final Field field )
+		{
+			final MethodHandle handle;
+			try
+			{
+				field.setAccessible( true );
+				handle = this.lookup.unreflectSetter( field ).asType( FIELD_INJECTOR_TYPE );
+			}
+			catch ( final IllegalAccessException | RuntimeException e )
+			{
+				/* final fields can only be written reflectively */
+				return REFLECTION.fieldInjector( field );
+			}
+
+			return ( instance, value ) -> {
+				try
+				{
+					handle.invokeExact( instance, value );
+				}
+				catch ( final Throwable t )
+				{
+					throw rethrow( t );
+				}
+			};
+		}
+
+		private static Exception rethrow( final Throwable throwable )
+		{
+			if ( throwable instanceof Error )
+			{
+				throw ( Error ) throwable;
+			}
+
+			return throwable instanceof Exception ? ( Exception ) throwable : new RuntimeException( throwable );
+		}
+	}
+
+	static class MetadataCache
+	{
+		/*
+		 * Binary index of scanned dependency information keyed by class name and a hash of the class file. Each entry
+		 * also holds a hash of the class files it was derived from, the superclasses and the dependency types, since
+		 * e.g. whether a @Lazy dependency can be proxied depends on them. Lookups go to a memory-mapped copy of the
+		 * file, entries of changed classes are scanned again and written back on the next initialize( ). A missing or
+		 * broken file only costs the regular scan.
+		 */
+		private static final int MAGIC = 0x4d444943;
+		private static final int VERSION = 3;
+		private static final int LAZY = 1;
+		private static final int PROVIDER = 2;
+		private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>( );
+
+		static
+		{
+			for ( final Class<?> primitive : new Class<?>[] { boolean.class, byte.class, char.class, short.class,
+				int.class, long.class, float.class, double.class } )
+			{
+				PRIMITIVES.put( primitive.getName( ), primitive );
+			}
+		}
+
+		/* class files of loaded classes don't change, each one is read once per process */
+		private static final ClassValue<Long> CLASS_FILE_HASHES = new ClassValue<Long>( )
+		{
+			@Override
+			protected Long computeValue( final Class<?> clazz )
+			{
+				return hashClassFile( clazz );
+			}
+		};
+
+		private final Path file;
+		private final ByteBuffer mapped;
+		private final Map<String, Integer> offsets;
+		private final Map<String, byte[]> recorded = new ConcurrentHashMap<>( );
+		private boolean dirty = false;
+
+		private MetadataCache( final Path file, final ByteBuffer mapped, final Map<String, Integer> offsets )
+		{
+			this.file = file;
+			this.mapped = mapped;
+			this.offsets = offsets;
+		}
+
+		static MetadataCache open( final Path file )
+		{
+			if ( Files.isRegularFile( file ) )
+			{
+				try ( final FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ) )
+				{
+					final ByteBuffer mapped = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size( ) );
+
+					return new MetadataCache( file, mapped, index( mapped ) );
+				}
+				catch ( final IOException | RuntimeException e )
+				{
+					/* rebuilt on the next flush */
+				}
+			}
+
+			return new MetadataCache( file, null, Collections.emptyMap( ) );
+		}
+
+		private static Map<String, Integer> index( final ByteBuffer mapped )
+		{
+			final ByteBuffer buffer = mapped.duplicate( );
+			if ( buffer.getInt( ) != MAGIC || buffer.getInt( ) != VERSION )
+			{
+				return Collections.emptyMap( );
+			}
+
+			final int entries = buffer.getInt( );
+			final Map<String, Integer> offsets = new HashMap<>( entries * 2 );
+			for ( int i = 0; i < entries; i++ )
+			{
+				final String className = readString( buffer );
+				final int length = buffer.getInt( );
+				offsets.put( className, buffer.position( ) );
+				buffer.position( buffer.position( ) + length );
+			}
+
+			return offsets;
+		}
+
+		DependencyInformation read( final Class<?> clazz )
+		{
+			final Integer offset = this.offsets.get( clazz.getName( ) );
+			if ( offset == null )
+			{
+				return null;
+			}
+
+			final long hash = hash( clazz );
+			final ByteBuffer entry = this.mapped.duplicate( );
+			entry.position( offset );
+			if ( hash == 0 || entry.getLong( ) != hash )
+			{
+				return null;
+			}
+
+			final long dependencyHash = entry.getLong( );
+			try
+			{
+				final DependencyInformation dependencyInformation = decode( clazz, entry );
+
+				return dependencyHash( clazz, dependencyInformation ) == dependencyHash ? dependencyInformation : null;
+			}
+			catch ( final ReflectiveOperationException | RuntimeException e )
+			{
+				return null;
+			}
+		}
+
+		private static DependencyInformation decode( final Class<?> clazz, final ByteBuffer entry )
+			throws ReflectiveOperationException
+		{
+			final ClassLoader classLoader = clazz.getClassLoader( );
+
+			final int parameterCount = entry.getInt( );
+			final Class<?>[] parameterTypes = new Class<?>[ parameterCount ];
+			final List<Dependency> constructorDependencies = new ArrayList<>( parameterCount );
+			for ( int i = 0; i < parameterCount; i++ )
+			{
+				parameterTypes[ i ] = type( readString( entry ), classLoader );
+				final int flags = entry.get( );
+				constructorDependencies.add( new DeclaredDependency( type( readString( entry ), classLoader ),
+					( flags & LAZY ) != 0, ( flags & PROVIDER ) != 0 ) );
+			}
+			final Constructor<?> constructor = clazz.getDeclaredConstructor( parameterTypes );
+
+			final int fieldCount = entry.getInt( );
+			final List<Dependency> fields = new ArrayList<>( fieldCount );
+			for ( int i = 0; i < fieldCount; i++ )
+			{
+				final Field field = clazz.getDeclaredField( readString( entry ) );
+				final int flags = entry.get( );
+				fields.add( new FieldDependency( field, type( readString( entry ), classLoader ),
+					( flags & LAZY ) != 0, ( flags & PROVIDER ) != 0 ) );
+			}
+
+			final DependencyInformation dependencyInformation =
+				new DependencyInformation( constructor, constructorDependencies, fields );
+			dependencyInformation.lifecycle =
+				Lifecycle.of( readMethods( entry, classLoader ), readMethods( entry, classLoader ) );
+
+			return dependencyInformation;
+		}
+
+		private static Method[] readMethods( final ByteBuffer entry, final ClassLoader classLoader )
+			throws ReflectiveOperationException
+		{
+			final Method[] methods = new Method[ entry.getInt( ) ];
+			for ( int i = 0; i < methods.length; i++ )
+			{
+				methods[ i ] = type( readString( entry ), classLoader ).getDeclaredMethod( readString( entry ) );
+				methods[ i ].setAccessible( true );
+			}
+
+			return methods;
+		}
+
+		private static void writeMethods( final DataOutputStream output, final Method[] methods ) throws IOException
+		{
+			output.writeInt( methods.length );
+			for ( final Method method : methods )
+			{
+				writeString( output, method.getDeclaringClass( ).getName( ) );
+				writeString( output, method.getName( ) );
+			}
+		}
+
+		void record( final Class<?> clazz, final DependencyInformation dependencyInformation )
+		{
+			final long hash = hash( clazz );
+			if ( hash == 0 )
+			{
+				return;
+			}
+
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream( );
+			try ( final DataOutputStream output = new DataOutputStream( bytes ) )
+			{
+				output.writeLong( hash );
+				output.writeLong( dependencyHash( clazz, dependencyInformation ) );
+
+				final Class<?>[] parameterTypes = dependencyInformation.constructor.getParameterTypes( );
+				output.writeInt( parameterTypes.length );
+				for ( int i = 0; i < parameterTypes.length; i++ )
+				{
+					writeString( output, parameterTypes[ i ].getName( ) );
+					writeDependency( output, dependencyInformation.constructorDependencies.get( i ) );
+				}
+
+				output.writeInt( dependencyInformation.fields.size( ) );
+				for ( final Dependency field : dependencyInformation.fields )
+				{
+					writeString( output, ( ( FieldDependency ) field ).getField( ).getName( ) );
+					writeDependency( output, field );
+				}
+
+				writeMethods( output, dependencyInformation.lifecycle.postConstructMethods );
+				writeMethods( output, dependencyInformation.lifecycle.preDestroyMethods );
+			}
+			catch ( final IOException e )
+			{
+				throw new UncheckedIOException( e );
+			}
+
+			this.recorded.put( clazz.getName( ), bytes.toByteArray( ) );
+			synchronized ( this )
+			{
+				this.dirty = true;
+			}
+		}
+
+		synchronized void flush( )
+		{
+			if ( !this.dirty )
+			{
+				return;
+			}
+
+			final Map<String, byte[]> entries = new LinkedHashMap<>( );
+			for ( final Map.Entry<String, Integer> offset : this.offsets.entrySet( ) )
+			{
+				if ( !this.recorded.containsKey( offset.getKey( ) ) )
+				{
+					final ByteBuffer entry = this.mapped.duplicate( );
+					final byte[] body = new byte[ entry.getInt( offset.getValue( ) - Integer.BYTES ) ];
+					entry.position( offset.getValue( ) );
+					entry.get( body );
+					entries.put( offset.getKey( ), body );
+				}
+			}
+			entries.putAll( this.recorded );
+
+			Path temporary = null;
+			try
+			{
+				final Path directory = this.file.toAbsolutePath( ).getParent( );
+				Files.createDirectories( directory );
+				temporary = Files.createTempFile( directory, this.file.getFileName( ).toString( ), ".tmp" );
+				try ( final DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream( Files.newOutputStream( temporary ) ) ) )
+				{
+					output.writeInt( MAGIC );
+					output.writeInt( VERSION );
+					output.writeInt( entries.size( ) );
+					for ( final Map.Entry<String, byte[]> entry : entries.entrySet( ) )
+					{
+						writeString( output, entry.getKey( ) );
+						output.writeInt( entry.getValue( ).length );
+						output.write( entry.getValue( ) );
+					}
+				}
+				Files.move( temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+				this.dirty = false;
+			}
+			catch ( final IOException e )
+			{
+				/* the cache only speeds up the next start, failing to write it must not fail this one */
+				try
+				{
+					if ( temporary != null )
+					{
+						Files.deleteIfExists( temporary );
+					}
+				}
+				catch ( final IOException ignored )
+				{
+				}
+			}
+		}
+
+		private static void writeDependency( final DataOutputStream output, final Dependency dependency )
+			throws IOException
+		{
+			output.writeByte( ( dependency.lazy ? LAZY : 0 ) | ( dependency.provider ? PROVIDER : 0 ) );
+			writeString( output, dependency.type.getName( ) );
+		}
+
+		private static void writeString( final DataOutputStream output, final String value ) throws IOException
+		{
+			final byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+			output.writeShort( bytes.length );
+			output.write( bytes );
+		}
+
+		private static String readString( final ByteBuffer buffer )
+		{
+			final byte[] bytes = new byte[ buffer.getShort( ) & 0xffff ];
+			buffer.get( bytes );
+
+			return new String( bytes, StandardCharsets.UTF_8 );
+		}
+
+		private static Class<?> type( final String name, final ClassLoader classLoader ) throws ClassNotFoundException
+		{
+			final Class<?> primitive = PRIMITIVES.get( name );
+
+			return primitive != null ? primitive : Class.forName( name, false, classLoader );
+		}
+
+		static long hash( final Class<?> clazz )
+		{
+			return CLASS_FILE_HASHES.get( clazz );
+		}
+
+		private static long dependencyHash( final Class<?> clazz, final DependencyInformation dependencyInformation )
+		{
+			final CRC32 checksum = new CRC32( );
+			for ( Class<?> superclass = clazz.getSuperclass( ); superclass != null && superclass != Object.class;
+				superclass = superclass.getSuperclass( ) )
+			{
+				update( checksum, superclass );
+			}
+			for ( final Dependency dependency : dependencyInformation.constructorDependencies )
+			{
+				update( checksum, dependency.type );
+			}
+			for ( final Dependency dependency : dependencyInformation.fields )
+			{
+				update( checksum, dependency.type );
+			}
+
+			return checksum.getValue( );
+		}
+
+		private static void update( final CRC32 checksum, final Class<?> clazz )
+		{
+			checksum.update( clazz.getName( ).getBytes( StandardCharsets.UTF_8 ) );
+			final long hash = hash( clazz );
+			for ( int shift = 0; shift < Long.SIZE; shift += Byte.SIZE )
+			{
+				checksum.update( ( int ) ( hash >>> shift ) );
+			}
+		}
+
+		private static long hashClassFile( final Class<?> clazz )
+		{
+			if ( clazz.isPrimitive( ) || clazz.isArray( ) )
+			{
+				return 0;
+			}
+
+			final String name = clazz.getName( );
+			try ( final InputStream classFile = clazz.getResourceAsStream(
+				name.substring( name.lastIndexOf( '.' ) + 1 ) + ".class" ) )
+			{
+				if ( classFile == null )
+				{
+					return 0;
+				}
+
+				final CRC32 checksum = new CRC32( );
+				final byte[] buffer = new byte[ 8192 ];
+				long length = 0;
+				int read;
+				while ( ( read = classFile.read( buffer ) ) != -1 )
+				{
+					checksum.update( buffer, 0, read );
+					length += read;
+				}
+
+				return length << 32 | checksum.getValue( );
+			}
+			catch ( final IOException e )
+			{
+				return 0;
+			}
+		}
+	}
+
+	static abstract class Dependency
+	{
+		Class<?> type;
+		boolean lazy;
+		boolean provider;
+
+		public Dependency( final Class<?> type, final Type genericType )
+		{
+			this.provider = type == Provider.class;
+			this.type = this.provider ? providedType( genericType ) : type;
+		}
+
+		public Dependency( final Class<?> type, final boolean lazy, final boolean provider )
+		{
+			this.type = type;
+			this.lazy = lazy;
+			this.provider = provider;
+		}
+
+		private static Class<?> providedType( final Type genericType )
+		{
+			if ( genericType instanceof ParameterizedType )
+			{
+				final Type providedType = ( ( ParameterizedType ) genericType ).getActualTypeArguments( )[ 0 ];
+				if ( providedType instanceof Class )
+				{
+					return ( Class<?> ) providedType;
+				}
+				if ( providedType instanceof ParameterizedType )
+				{
+					return ( Class<?> ) ( ( ParameterizedType ) providedType ).getRawType( );
+				}
+			}
+
+			throw new InvalidProviderDependency( genericType );
+		}
+	}
+
+	static class FieldDependency extends Dependency
+	{
+		Field field;
+
+		public FieldDependency( final Field field )
+		{
+			super( field.getType( ), field.getGenericType( ) );
+			this.field = field;
+			this.lazy = field.getAnnotation( Lazy.class ) != null;
+		}
+
+		public FieldDependency( final Field field, final Class<?> type, final boolean lazy, final boolean provider )
+		{
+			super( type, lazy, provider );
+			this.field = field;
+		}
+
+		public Field getField( )
+		{
+			return this.field;
+		}
+	}
+
+	static class DeclaredDependency extends Dependency
+	{
+		public DeclaredDependency( final Class<?> type, final boolean lazy, final boolean provider )
+		{
+			super( type, lazy, provider );
+		}
+
+		public DeclaredDependency( final InjectionPoint injectionPoint )
+		{
+			this( injectionPoint.type, injectionPoint.lazy, injectionPoint.provider );
+		}
+	}
+
+	static class ConstructorDependency extends Dependency
+	{
+		public ConstructorDependency( final Parameter parameter )
+		{
+			super( parameter.getType( ), parameter.getParameterizedType( ) );
+			this.lazy = parameter.getAnnotation( Lazy.class ) != null;
+		}
+	}
+
+	private static class DependencyInformation
+	{
+		static DependencyInformation NONE = new DependencyInformation( );
+
+		List<Dependency> fields;
+		Constructor<?> constructor;
+		List<Dependency> constructorDependencies;
+		GeneratedFactory generatedFactory;
+		/* null if the lifecycle methods are not known yet and have to be scanned for */
+		Lifecycle lifecycle;
+		private volatile Accessors accessors;
+
+		public DependencyInformation( final Constructor<?> constructor, final List<Field> fields )
+		{
+			this( constructor,
+				Arrays.stream( constructor.getParameters( ) )
+					.map( ConstructorDependency::new )
+					.collect( Collectors.toList( ) ),
+				fields.stream( )
+					.map( FieldDependency::new )
+					.collect( Collectors.toList( ) ) );
+		}
+
+		public DependencyInformation( final Constructor<?> constructor, final List<Dependency> constructorDependencies,
+			final List<Dependency> fields )
+		{
+			this.constructor = constructor;
+			this.constructorDependencies = constructorDependencies;
+			this.fields = fields;
+		}
+
+		public DependencyInformation( final GeneratedFactory generatedFactory )
+		{
+			this.constructor = null;
+			this.generatedFactory = generatedFactory;
+			this.constructorDependencies = Arrays.stream( generatedFactory.constructorDependencies( ) )
+				.map( DeclaredDependency::new )
+				.collect( Collectors.toList( ) );
+			this.fields = Arrays.stream( generatedFactory.fieldDependencies( ) )
+				.map( DeclaredDependency::new )
+				.collect( Collectors.toList( ) );
+
+			final LifecycleCallback postConstruct = generatedFactory.postConstruct( );
+			final LifecycleCallback preDestroy = generatedFactory.preDestroy( );
+			if ( postConstruct != null && preDestroy != null )
+			{
+				this.lifecycle = Lifecycle.of( postConstruct, preDestroy );
+			}
+		}
+
+		private DependencyInformation( )
+		{
+			this.constructor = null;
+			this.fields = new ArrayList<>( );
+			this.constructorDependencies = new ArrayList<>( );
+		}
+
+		List<Dependency> getConstructorDependencies( )
+		{
+			return this.constructorDependencies;
+		}
+
+		List<Dependency> getFieldDependencies( )
+		{
+			return this.fields;
+		}
+
+		Accessors accessors( final InstantiationStrategy instantiationStrategy )
+		{
+			/* building method handles is costly, plans of the same class and strategy share them */
+			final Accessors accessors = this.accessors;
+			if ( accessors != null && accessors.instantiationStrategy == instantiationStrategy )
+			{
+				return accessors;
+			}
+
+			final Accessors created = new Accessors( instantiationStrategy, instantiator( instantiationStrategy ),
+				fieldInjectors( instantiationStrategy ) );
+			this.accessors = created;
+
+			return created;
+		}
+
+		private Instantiator instantiator( final InstantiationStrategy instantiationStrategy )
+		{
+			if ( this.generatedFactory != null )
+			{
+				return this.generatedFactory.instantiator( );
+			}
+
+			return this.constructor == null ? null : instantiationStrategy.instantiator( this.constructor );
+		}
+
+		private FieldInjector[] fieldInjectors( final InstantiationStrategy instantiationStrategy )
+		{
+			if ( this.generatedFactory != null )
+			{
+				return this.generatedFactory.fieldInjectors( );
+			}
+
+			return this.fields.stream( )
+				.map( fieldDependency -> ( ( FieldDependency ) fieldDependency ).getField( ) )
+				.map( instantiationStrategy::fieldInjector )
+				.toArray( FieldInjector[]::new );
+		}
+
+		static final class Accessors
+		{
+			final InstantiationStrategy instantiationStrategy;
+			final Instantiator instantiator;
+			final FieldInjector[] fieldInjectors;
+
+			Accessors( final InstantiationStrategy instantiationStrategy, final Instantiator instantiator,
+				final FieldInjector[] fieldInjectors )
+			{
+				this.instantiationStrategy = instantiationStrategy;
+				this.instantiator = instantiator;
+				this.fieldInjectors = fieldInjectors;
+			}
+		}
+
+		List<Dependency> getAllDependencies( )
+		{
+			final List<Dependency> dependencies = new ArrayList<>( );
+			dependencies.addAll( getConstructorDependencies( ) );
+			dependencies.addAll( getFieldDependencies( ) );
+
+			return dependencies;
+		}
+	}
+
+	static class BindingValidator
+	{
+		/*
+		 * Iterative depth first search over the static part of the binding graph. Bindings on the current path are
+		 * grey, bindings finished in this run are black. Every binding is resolved from the injector that owns it, so a
+		 * validated subgraph stays valid and is memoized on the binding itself. Dynamic edges are not followed, as
+		 * their targets may still change. Their owners are indexed by key on the owning injector instead, so that a
+		 * binding registered for a dynamic key only has to be checked for cycles running through the bindings waiting
+		 * on that key.
+		 */
+		private final Deque<Frame> path = new ArrayDeque<>( );
+		private final Set<Binding<?>> inProgress = Collections.newSetFromMap( new IdentityHashMap<>( ) );
+		private final Set<Binding<?>> finished = Collections.newSetFromMap( new IdentityHashMap<>( ) );
+		/* bindings that are about to be published, they already count for their injector */
+		private final InjectorImpl stagingInjector;
+		private final Map<Class<?>, Binding<?>> staged;
+
+		BindingValidator( )
+		{
+			this( null, Collections.emptyMap( ) );
+		}
+
+		BindingValidator( final InjectorImpl stagingInjector, final Map<Class<?>, Binding<?>> staged )
+		{
+			this.stagingInjector = stagingInjector;
+			this.staged = staged;
+		}
+
+		void validate( final Binding<?> binding )
+		{
+			if ( binding.validated || this.finished.contains( binding ) )
+			{
+				return;
+			}
+
+			push( binding );
+			while ( !this.path.isEmpty( ) )
+			{
+				final Frame frame = this.path.peek( );
+				if ( frame.next < frame.dependencies.size( ) )
+				{
+					visit( frame, frame.dependencies.get( frame.next++ ) );
+				}
+				else
+				{
+					this.path.pop( );
+					this.inProgress.remove( frame.binding );
+					this.finished.add( frame.binding );
+					frame.binding.reachesDynamic = frame.reachesDynamic;
+					frame.binding.validated = true;
+
+					final Frame parent = this.path.peek( );
+					if ( parent != null )
+					{
+						parent.reachesDynamic |= frame.reachesDynamic;
+					}
+				}
+			}
+		}
+
+		private void visit( final Frame frame, final Dependency dependency )
+		{
+			final InjectorImpl injector = frame.binding.injector;
+			if ( injector.isDynamic( dependency.type ) )
+			{
+				frame.reachesDynamic = true;
+				injector.dynamicDependents
+					.computeIfAbsent( dependency.type, key -> Collections.newSetFromMap( new ConcurrentHashMap<>( ) ) )
+					.add( frame.binding );
+				return;
+			}
+
+			final Binding<?> target = resolve( injector, dependency.type );
+			if ( target == null )
+			{
+				throw new MissingBindingException( dependency.type );
+			}
+			else if ( this.inProgress.contains( target ) )
+			{
+				throw new CircularDependencyException( cycle( target ) );
+			}
+			else if ( target.validated || this.finished.contains( target ) )
+			{
+				frame.reachesDynamic |= target.reachesDynamic;
+			}
+			else
+			{
+				push( target );
+			}
+		}
+
+		/*
+		 * A cycle through a dynamic binding has to enter it through a dynamic edge of its own injector, as parents
+		 * cannot see it and children only reach it through edges that cannot lead back to them. So only bindings with
+		 * owners waiting on its key are searched, and only along subgraphs that reach dynamic edges at all.
+		 */
+		void checkDynamicCycles( final Collection<Binding<?>> candidates )
+		{
+			for ( final Binding<?> candidate : candidates )
+			{
+				final Set<Binding<?>> waiting = candidate.injector.dynamicDependents.get( candidate.clazz );
+				if ( candidate.reachesDynamic && waiting != null && !waiting.isEmpty( ) )
+				{
+					checkDynamicCycle( candidate );
+				}
+			}
+		}
+
+		private void checkDynamicCycle( final Binding<?> candidate )
+		{
+			final Map<Binding<?>, Binding<?>> reachedFrom = new IdentityHashMap<>( );
+			final Deque<Binding<?>> pending = new ArrayDeque<>( );
+			pending.push( candidate );
+			while ( !pending.isEmpty( ) )
+			{
+				final Binding<?> current = pending.pop( );
+				for ( final Dependency dependency : current.dependencyInformation.getAllDependencies( ) )
+				{
+					final Binding<?> target = resolve( current.injector, dependency.type );
+					if ( target == candidate )
+					{
+						final List<Class<?>> cycle = new ArrayList<>( );
+						for ( Binding<?> binding = current; binding != candidate; binding = reachedFrom.get( binding ) )
+						{
+							cycle.add( 0, binding.clazz );
+						}
+						cycle.add( 0, candidate.clazz );
+						cycle.add( candidate.clazz );
+
+						throw new CircularDependencyException( cycle );
+					}
+
+					if ( target != null && target.reachesDynamic && !reachedFrom.containsKey( target ) )
+					{
+						reachedFrom.put( target, current );
+						pending.push( target );
+					}
+				}
+			}
+		}
+
+		private Binding<?> resolve( final InjectorImpl injector, final Class<?> clazz )
+		{
+			return injector == this.stagingInjector && this.staged.containsKey( clazz )
+				? this.staged.get( clazz )
+				: injector.resolveBinding( clazz );
+		}
+
+		private void push( final Binding<?> binding )
+		{
+			this.inProgress.add( binding );
+			this.path.push( new Frame( binding ) );
+		}
+
+		private List<Class<?>> cycle( final Binding<?> target )
+		{
+			final List<Class<?>> cycle = new ArrayList<>( );
+			final Iterator<Frame> frames = this.path.descendingIterator( );
+			boolean inCycle = false;
+			while ( frames.hasNext( ) )
+			{
+				final Binding<?> binding = frames.next( ).binding;
+				inCycle |= binding == target;
+				if ( inCycle )
+				{
+					cycle.add( binding.clazz );
+				}
+			}
+			cycle.add( target.clazz );
+
+			return cycle;
+		}
+
+		private static class Frame
+		{
+			final Binding<?> binding;
+			final List<Dependency> dependencies;
+			int next = 0;
+			boolean reachesDynamic = false;
+
+			Frame( final Binding<?> binding )
+			{
+				this.binding = binding;
+				this.dependencies = binding.dependencyInformation.getAllDependencies( );
+			}
+		}
+	}
+
+	static class SingletonWarmUp
+	{
+		/*
+		 * Constructs all singletons of an injector on the given executor. Every singleton is scheduled as soon as the
+		 * singletons it depends on are finished, so independent branches of the graph are built in parallel.
+		 */
+		private final Executor executor;
+
+		SingletonWarmUp( final Executor executor )
+		{
+			this.executor = executor;
+		}
+
+		void run( final Collection<Binding<?>> bindings )
+		{
+			final Set<Binding<?>> singletons = Collections.newSetFromMap( new IdentityHashMap<>( ) );
+			for ( final Binding<?> binding : bindings )
+			{
+				if ( binding.bindingScope == BindingScope.SINGLETON && binding.instance == null )
+				{
+					singletons.add( binding );
+				}
+			}
+
+			final Map<Binding<?>, Set<Binding<?>>> dependencies = new IdentityHashMap<>( );
+			final Map<Binding<?>, List<Binding<?>>> dependents = new IdentityHashMap<>( );
+			final Deque<Binding<?>> ready = new ArrayDeque<>( );
+			for ( final Binding<?> singleton : singletons )
+			{
+				final Set<Binding<?>> singletonDependencies = singletonDependencies( singleton, singletons );
+				dependencies.put( singleton, singletonDependencies );
+				for ( final Binding<?> dependency : singletonDependencies )
+				{
+					dependents.computeIfAbsent( dependency, key -> new ArrayList<>( ) ).add( singleton );
+				}
+				if ( singletonDependencies.isEmpty( ) )
+				{
+					ready.add( singleton );
+				}
+			}
+
+			/* schedule in topological order, so the futures of all dependencies exist when a dependent is scheduled */
+			final Map<Binding<?>, CompletableFuture<Void>> futures = new IdentityHashMap<>( );
+			final Map<Binding<?>, Integer> remaining = new IdentityHashMap<>( );
+			while ( !ready.isEmpty( ) )
+			{
+				final Binding<?> singleton = ready.poll( );
+				final CompletableFuture<?>[] dependencyFutures = dependencies.get( singleton ).stream( )
+					.map( futures::get )
+					.toArray( CompletableFuture<?>[]::new );
+				futures.put( singleton, CompletableFuture.allOf( dependencyFutures )
+					.thenRunAsync( singleton::getInstance, this.executor ) );
+
+				for ( final Binding<?> dependent : dependents.getOrDefault( singleton, Collections.emptyList( ) ) )
+				{
+					final int left = remaining.getOrDefault( dependent, dependencies.get( dependent ).size( ) ) - 1;
+					remaining.put( dependent, left );
+					if ( left == 0 )
+					{
+						ready.add( dependent );
+					}
+				}
+			}
+
+			try
+			{
+				CompletableFuture.allOf( futures.values( ).toArray( new CompletableFuture<?>[ 0 ] ) ).join( );
+			}
+			catch ( final CompletionException e )
+			{
+				if ( e.getCause( ) instanceof RuntimeException )
+				{
+					throw ( RuntimeException ) e.getCause( );
+				}
+
+				throw e;
+			}
+		}
+
+		private static Set<Binding<?>> singletonDependencies( final Binding<?> singleton,
+			final Set<Binding<?>> singletons )
+		{
+			/* singletons reached through transient bindings are constructed along with them, so they count as well */
+			final Set<Binding<?>> dependencies = Collections.newSetFromMap( new IdentityHashMap<>( ) );
+			final Set<Binding<?>> visited = Collections.newSetFromMap( new IdentityHashMap<>( ) );
+			final Deque<Binding<?>> pending = new ArrayDeque<>( );
+			pending.push( singleton );
+			while ( !pending.isEmpty( ) )
+			{
+				for ( final Binding<?> target : pending.pop( ).plan.getEagerTargets( ) )
+				{
+					if ( singletons.contains( target ) )
+					{
+						dependencies.add( target );
+					}
+					else if ( target.bindingScope == BindingScope.TRANSIENT && visited.add( target ) )
+					{
+						pending.push( target );
+					}
+				}
+			}
+
+			return dependencies;
+		}
+	}
+
+	static class SingletonShutdown
+	{
+		/*
+		 * Destroys the constructed singletons of an injector on the given executor. A singleton is destroyed once all
+		 * singletons depending on it are destroyed, so independent branches of the graph shut down in parallel.
+		 */
+		private final Executor executor;
+		private final long timeoutNanos;
+
+		SingletonShutdown( final Executor executor, final long timeoutNanos )
+		{
+			this.executor = executor;
+			this.timeoutNanos = timeoutNanos;
+		}
+
+		void run( final Collection<Binding<?>> bindings )
+		{
+			/* most injectors have nothing to destroy, request children are closed on every request */
+			if ( bindings.stream( ).noneMatch( Binding::needsDestruction ) )
+			{
+				return;
+			}
+
+			final Set<Binding<?>> singletons = Collections.newSetFromMap( new IdentityHashMap<>( ) );
+			for ( final Binding<?> binding : bindings )
+			{
+				if ( binding.bindingScope == BindingScope.SINGLETON && binding.instance != null )
+				{
+					singletons.add( binding );
+				}
+			}
+
+			/* the dependents of a singleton have to be destroyed before the singleton itself */
+			final Map<Binding<?>, List<Binding<?>>> dependents = new IdentityHashMap<>( );
+			final Map<Binding<?>, Set<Binding<?>>> dependencies = new IdentityHashMap<>( );
+			for ( final Binding<?> singleton : singletons )
+			{
+				final Set<Binding<?>> singletonDependencies = singletonDependencies( singleton, singletons );
+				dependencies.put( singleton, singletonDependencies );
+				for ( final Binding<?> dependency : singletonDependencies )
+				{
+					dependents.computeIfAbsent( dependency, key -> new ArrayList<>( ) ).add( singleton );
+				}
+			}
+
+			final Deque<Binding<?>> ready = new ArrayDeque<>( );
+			for ( final Binding<?> singleton : singletons )
+			{
+				if ( !dependents.containsKey( singleton ) )
+				{
+					ready.add( singleton );
+				}
+			}
+
+			final Queue<Exception> failures = new ConcurrentLinkedQueue<>( );
+			final Map<Binding<?>, CompletableFuture<Void>> futures = new IdentityHashMap<>( );
+			final Map<Binding<?>, Integer> remaining = new IdentityHashMap<>( );
+			while ( !ready.isEmpty( ) )
+			{
+				final Binding<?> singleton = ready.poll( );
+				final CompletableFuture<?>[] dependentFutures = dependents
+					.getOrDefault( singleton, Collections.emptyList( ) ).stream( )
+					.map( futures::get )
+					.toArray( CompletableFuture<?>[]::new );
+				final Runnable destroy = ( ) -> {
+					try
+					{
+						singleton.destroy( );
+					}
+					catch ( final Exception e )
+					{
+						/* a failing singleton must not keep its dependencies from being destroyed */
+						failures.add( e );
+					}
+				};
+				futures.put( singleton, singleton.needsDestruction( )
+					? CompletableFuture.allOf( dependentFutures ).thenRunAsync( destroy, this.executor )
+					: CompletableFuture.allOf( dependentFutures ) );
+
+				for ( final Binding<?> dependency : dependencies.get( singleton ) )
+				{
+					final int left = remaining.getOrDefault( dependency, dependents.get( dependency ).size( ) ) - 1;
+					remaining.put( dependency, left );
+					if ( left == 0 )
+					{
+						ready.add( dependency );
+					}
+				}
+			}
+
+			try
+			{
+				CompletableFuture.allOf( futures.values( ).toArray( new CompletableFuture<?>[ 0 ] ) )
+					.get( this.timeoutNanos, TimeUnit.NANOSECONDS );
+			}
+			catch ( final TimeoutException e )
+			{
+				throw new ShutdownException( "Singletons were not destroyed within "
+					+ TimeUnit.NANOSECONDS.toMillis( this.timeoutNanos ) + " ms", e );
+			}
+			catch ( final InterruptedException e )
+			{
+				Thread.currentThread( ).interrupt( );
+				throw new ShutdownException( "Interrupted while destroying singletons", e );
+			}
+			catch ( final ExecutionException e )
+			{
+				throw new ShutdownException( "Destroying singletons failed", e.getCause( ) );
+			}
+
+			if ( !failures.isEmpty( ) )
+			{
+				final ShutdownException exception = new ShutdownException( "Destroying singletons failed",
+					failures.poll( ) );
+				failures.forEach( exception::addSuppressed );
+				throw exception;
+			}
+		}
+
+		private static Set<Binding<?>> singletonDependencies( final Binding<?> singleton,
+			final Set<Binding<?>> singletons )
+		{
+			/* lazy and provider edges count as well, the dependent may still use them while it is destroyed */
+			final Set<Binding<?>> dependencies = Collections.newSetFromMap( new IdentityHashMap<>( ) );
+			if ( singleton.plan == null )
+			{
+				return dependencies;
+			}
+
+			final Set<Binding<?>> visited = Collections.newSetFromMap( new IdentityHashMap<>( ) );
+			final Deque<Binding<?>> pending = new ArrayDeque<>( );
+			pending.push( singleton );
+			while ( !pending.isEmpty( ) )
+			{
+				final Binding<?> current = pending.pop( );
+				if ( current.plan == null )
+				{
+					continue;
+				}
+
+				for ( final Binding<?> target : current.plan.getAllTargets( ) )
+				{
+					if ( singletons.contains( target ) )
+					{
+						dependencies.add( target );
+					}
+					else if ( target.bindingScope == BindingScope.TRANSIENT && visited.add( target ) )
+					{
+						pending.push( target );
+					}
+				}
+			}
+			dependencies.remove( singleton );
+
+			return dependencies;
+		}
+	}
+
+	static class ResolutionPlan
+	{
+		private static final Object[] NO_INSTANCES = new Object[ 0 ];
+
+		final InjectorImpl injector;
+		/* lease of the injector the plan was compiled for, request children renew theirs when they are reused */
+		final int lease;
+		final Instantiator instantiator;
+		final Dependency[] constructorDependencies;
+		final Binding<?>[] constructorBindings;
+		final FieldInjector[] fieldInjectors;
+		final Dependency[] fieldDependencies;
+		final Binding<?>[] fieldBindings;
+		/* dynamic edges are resolved on every request, so readiness can only be remembered without them */
+		final boolean hasDynamicTargets;
+		/* objects built from this plan may be kept, if every instance they receive is the same on each resolution */
+		final boolean hasOnlySingletonTargets;
+
+		ResolutionPlan( final InjectorImpl injector, final DependencyInformation dependencyInformation )
+		{
+			this( injector, dependencyInformation, injector::resolveTarget );
+		}
+
+		ResolutionPlan( final InjectorImpl injector, final DependencyInformation dependencyInformation,
+			final Function<Class<?>, Binding<?>> targets )
+		{
+			final DependencyInformation.Accessors accessors =
+				dependencyInformation.accessors( injector.instantiationStrategy );
+
+			this.injector = injector;
+			this.lease = injector.lease;
+			this.instantiator = accessors.instantiator;
+			this.constructorDependencies = dependencyInformation.getConstructorDependencies( )
+				.toArray( new Dependency[ 0 ] );
+			this.constructorBindings = resolveTargets( targets, this.constructorDependencies );
+			this.fieldDependencies = dependencyInformation.getFieldDependencies( ).toArray( new Dependency[ 0 ] );
+			this.fieldBindings = resolveTargets( targets, this.fieldDependencies );
+			this.fieldInjectors = accessors.fieldInjectors;
+			this.hasDynamicTargets = Arrays.asList( this.constructorBindings ).contains( null )
+				|| Arrays.asList( this.fieldBindings ).contains( null );
+			this.hasOnlySingletonTargets = hasOnlySingletonTargets( this.constructorDependencies, this.constructorBindings )
+				&& hasOnlySingletonTargets( this.fieldDependencies, this.fieldBindings );
+		}
+
+		private static boolean hasOnlySingletonTargets( final Dependency[] dependencies, final Binding<?>[] bindings )
+		{
+			for ( int i = 0; i < dependencies.length; i++ )
+			{
+				/* providers resolve on every call, so handing out the same provider is fine */
+				if ( dependencies[ i ].provider )
+				{
+					continue;
+				}
+
+				final Binding<?> binding = bindings[ i ];
+				if ( binding == null || binding.bindingScope != BindingScope.SINGLETON || binding.scoped != null )
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		private static Binding<?>[] resolveTargets( final Function<Class<?>, Binding<?>> targets,
+			final Dependency[] dependencies )
+		{
+			final Binding<?>[] bindings = new Binding<?>[ dependencies.length ];
+			for ( int i = 0; i < dependencies.length; i++ )
+			{
+				bindings[ i ] = targets.apply( dependencies[ i ].type );
+			}
+
+			return bindings;
+		}
+
+		List<Binding<?>> getEagerTargets( )
+		{
+			final List<Binding<?>> targets = new ArrayList<>( );
+			addEagerTargets( targets, this.constructorDependencies, this.constructorBindings );
+			addEagerTargets( targets, this.fieldDependencies, this.fieldBindings );
+
+			return targets;
+		}
+
+		List<Binding<?>> getAllTargets( )
+		{
+			final List<Binding<?>> targets = new ArrayList<>( );
+			addAllTargets( targets, this.constructorBindings );
+			addAllTargets( targets, this.fieldBindings );
+
+			return targets;
+		}
+
+		private static void addAllTargets( final List<Binding<?>> targets, final Binding<?>[] bindings )
+		{
+			for ( final Binding<?> binding : bindings )
+			{
+				if ( binding != null )
+				{
+					targets.add( binding );
+				}
+			}
+		}
+
+		private static void addEagerTargets( final List<Binding<?>> targets, final Dependency[] dependencies,
+			final Binding<?>[] bindings )
+		{
+			for ( int i = 0; i < dependencies.length; i++ )
+			{
+				if ( !dependencies[ i ].lazy && !dependencies[ i ].provider && bindings[ i ] != null )
+				{
+					targets.add( bindings[ i ] );
+				}
+			}
+		}
+
+		CompletableFuture<?> ready( )
+		{
+			final List<CompletableFuture<?>> pending = new ArrayList<>( );
+			addPending( pending, this.constructorDependencies, this.constructorBindings );
+			addPending( pending, this.fieldDependencies, this.fieldBindings );
+
+			return pending.isEmpty( )
+				? Binding.READY
+				: CompletableFuture.allOf( pending.toArray( new CompletableFuture<?>[ 0 ] ) );
+		}
+
+		private void addPending( final List<CompletableFuture<?>> pending, final Dependency[] dependencies,
+			final Binding<?>[] bindings )
+		{
+			for ( int i = 0; i < dependencies.length; i++ )
+			{
+				if ( dependencies[ i ].lazy || dependencies[ i ].provider )
+				{
+					continue;
+				}
+
+				Binding<?> binding = this.injector.wire( bindings[ i ] );
+				if ( binding == null )
+				{
+					binding = this.injector.wire( this.injector.resolveBinding( dependencies[ i ].type ) );
+					if ( binding == null )
+					{
+						pending.add( Binding.failed( new MissingBindingException( dependencies[ i ].type ) ) );
+						continue;
+					}
+				}
+
+				final CompletableFuture<?> ready = binding.ready( );
+				if ( ready != Binding.READY )
+				{
+					pending.add( ready );
+				}
+			}
+		}
+
+		Object[] resolveConstructorDependencies( )
+		{
+			return resolve( this.constructorDependencies, this.constructorBindings );
+		}
+
+		Object[] resolveFieldDependencies( )
+		{
+			return resolve( this.fieldDependencies, this.fieldBindings );
+		}
+
+		private Object[] resolve( final Dependency[] dependencies, final Binding<?>[] bindings )
+		{
+			if ( dependencies.length == 0 )
+			{
+				return NO_INSTANCES;
+			}
+
+			final Object[] instances = new Object[ dependencies.length ];
+			for ( int i = 0; i < dependencies.length; i++ )
+			{
+				instances[ i ] = resolve( dependencies[ i ], bindings[ i ] );
+			}
+
+			return instances;
+		}
+
+		private Object resolve( final Dependency dependency, final Binding<?> target )
+		{
+			final Binding<?> binding = this.injector.wire( target );
+			if ( dependency.provider )
+			{
+				/* bindings provide their instances directly, only dynamic edges have to go through the injector */
+				if ( binding == null )
+				{
+					return createProvider( dependency.type );
+				}
+
+				/* providers of a request child outlive the request, they must not reach the next one */
+				return this.injector instanceof RequestInjectorImpl ? createProvider( binding ) : binding;
+			}
+
+			if ( binding == null )
+			{
+				return dependency.lazy
+					? this.injector.createProxy( dependency.type )
+					: this.injector.get( dependency.type );
+			}
+
+			final Object instance = binding.instance;
+			if ( instance != null )
+			{
+				return instance;
+			}
+
+			return dependency.lazy ? createProxy( dependency.type, binding ) : binding.getInstance( );
+		}
+
+		void checkLease( )
+		{
+			this.injector.checkLease( this.lease );
+		}
+
+		private <T> Provider<T> createProvider( final Class<T> clazz )
+		{
+			return ( ) -> {
+				checkLease( );
+				return this.injector.get( clazz );
+			};
+		}
+
+		private <T> Provider<T> createProvider( final Binding<T> binding )
+		{
+			return ( ) -> {
+				checkLease( );
+				return binding.get( );
+			};
+		}
+
+		private <T> T createProxy( final Class<T> clazz, final Binding<?> binding )
+		{
+			return LazyProxies.create( clazz, new LazyReference<>( ( ) -> {
+				checkLease( );
+				if ( binding.metrics != null )
+				{
+					binding.metrics.lazyInitialized( );
+				}
+
+				return clazz.cast( binding.getInstance( ) );
+			} ) );
+		}
+	}
+
+	public enum BindingScope
+	{
+		SINGLETON,
+		TRANSIENT
+	}
+
+	static abstract class Binding<T> implements Provider<T>, Cloneable
+	{
+		private static final AtomicReferenceFieldUpdater<Binding<?>, ReentrantLock> LOCK =
+			AtomicReferenceFieldUpdater.newUpdater( ( Class<Binding<?>> ) ( Class<?> ) Binding.class, ReentrantLock.class,
+				"lock" );
+		static final CompletableFuture<Object> READY = CompletableFuture.completedFuture( null );
+		private static final ClassValue<DependencyInformation> SCANNED = new ClassValue<DependencyInformation>( )
+		{
+			@Override
+			protected DependencyInformation computeValue( final Class<?> clazz )
+			{
+				return new DependencyInformation( getConstructor( clazz ), getInjectionFields( clazz ) );
+			}
+		};
+
+		Class<T> clazz;
+		/* class id of the key, assigned when the binding is registered */
+		int id = -1;
+		InjectorImpl injector;
+		DependencyInformation dependencyInformation;
+		ResolutionPlan plan;
+		BindingMetrics metrics;
+		Scope scope;
+		Provider<T> scoped;
+		Lifecycle lifecycle = Lifecycle.NONE;
+		boolean closeOnShutdown = false;
+		boolean validated = false;
+		/* whether the validated subgraph contains dynamic edges, only those subgraphs can take part in new cycles */
+		boolean reachesDynamic = false;
+		volatile T instance = null;
+		private volatile ReentrantLock lock = null;
+		private volatile CompletableFuture<?> readiness = null;
+		BindingScope bindingScope = BindingScope.SINGLETON;
+
+		public Binding( final Class<T> clazz )
+		{
+			this.clazz = clazz;
+		}
+
+		abstract T construct( Object[] constructorDependencies, Object[] fieldDependencies ) throws Exception;
+
+		protected DependencyInformation resolveDependencies( final Class<?> clazz, final MetadataCache metadataCache )
+		{
+			final GeneratedFactory generatedFactory = GeneratedFactories.lookup( clazz );
+			if ( generatedFactory != null )
+			{
+				return new DependencyInformation( generatedFactory );
+			}
+
+			if ( metadataCache == null )
+			{
+				/* scanned once per class, request children bind the same classes on every request */
+				return SCANNED.get( clazz );
+			}
+
+			final DependencyInformation cached = metadataCache.read( clazz );
+			if ( cached != null )
+			{
+				return cached;
+			}
+
+			final DependencyInformation dependencyInformation =
+				new DependencyInformation( getConstructor( clazz ), getInjectionFields( clazz ) );
+			dependencyInformation.lifecycle = Lifecycle.of( clazz );
+			metadataCache.record( clazz, dependencyInformation );
+
+			return dependencyInformation;
+		}
+
+		private static Constructor<?> getConstructor( final Class<?> clazz )
+		{
+			Constructor<?> constructor = null;
+			for ( final Constructor<?> declaredConstructor : clazz.getDeclaredConstructors( ) )
+			{
+				if ( declaredConstructor.getAnnotation( Inject.class ) != null )
+				{
+					constructor = declaredConstructor;
+					break;
+				}
+			}
+
+			if ( constructor == null )
+			{
+				try
+				{
+					constructor = clazz.getDeclaredConstructor( );
+					final int modifiers = constructor.getModifiers( );
+					if ( !Modifier.isPublic( modifiers ) )
+					{
+						throw new IllegalAccessException( );
+					}
+				}
+				catch ( final NoSuchMethodException | IllegalAccessException e )
+				{
+					throw new MissingConstructorException( clazz );
+				}
+			}
+
+			for ( final Parameter parameter : constructor.getParameters( ) )
+			{
+				if ( parameter.getAnnotation( Lazy.class ) != null && !LazyProxies.isSupported( parameter.getType( ) ) )
+				{
+					throw new InvalidLazyAnnotation( clazz );
+				}
+			}
+
+			return constructor;
+		}
+
+		private static List<Field> getInjectionFields( final Class<?> clazz )
+		{
+			final Field[] fields = clazz.getDeclaredFields( );
+
+			final List<Field> dependencyFields = new ArrayList<>( );
+			for ( final Field field : fields )
+			{
+				final boolean isInjectable = field.getAnnotation( Inject.class ) != null;
+
+				if ( isInjectable )
+				{
+					final boolean isLazy = field.getAnnotation( Lazy.class ) != null;
+					if ( isLazy && !LazyProxies.isSupported( field.getType( ) ) )
+					{
+						throw new InvalidLazyAnnotation( clazz );
+					}
+
+					dependencyFields.add( field );
+				}
+			}
+
+			return dependencyFields;
+		}
+
+		@Override
+		public T get( )
+		{
+			return getInstance( );
+		}
+
+		CompletableFuture<T> getAsync( )
+		{
+			final T instance = this.instance;
+			if ( instance != null )
+			{
+				return CompletableFuture.completedFuture( instance );
+			}
+
+			/* once all asynchronous dependencies completed the synchronous part of the graph cannot block */
+			return ready( ).thenApply( ignored -> getInstance( ) );
+		}
+
+		/*
+		 * completes when every asynchronous binding this binding transitively depends on has completed. Lazy and
+		 * provider edges are left out, they are only resolved when used.
+		 */
+		CompletableFuture<?> ready( )
+		{
+			if ( this.instance != null )
+			{
+				return READY;
+			}
+
+			CompletableFuture<?> readiness = this.readiness;
+			if ( readiness == null || readiness.isCompletedExceptionally( ) )
+			{
+				readiness = this.plan.ready( );
+				if ( !this.plan.hasDynamicTargets )
+				{
+					this.readiness = readiness;
+				}
+			}
+
+			return readiness;
+		}
+
+		boolean isWiredPerRequest( )
+		{
+			return this.bindingScope != BindingScope.SINGLETON && this.scoped == null && this.plan != null;
+		}
+
+		Binding<T> copyFor( final InjectorImpl injector )
+		{
+			try
+			{
+				/* only bindings without shared instances are copied, the caller compiles a plan for the copy */
+				final Binding<T> copy = ( Binding<T> ) clone( );
+				copy.injector = injector;
+				copy.plan = null;
+				copy.readiness = null;
+
+				return copy;
+			}
+			catch ( final CloneNotSupportedException e )
+			{
+				throw new IllegalStateException( e );
+			}
+		}
+
+		static <T> CompletableFuture<T> failed( final Throwable failure )
+		{
+			final CompletableFuture<T> future = new CompletableFuture<>( );
+			future.completeExceptionally( failure );
+
+			return future;
+		}
+
+		T getInstance( )
+		{
+			final T instance = this.instance;
+			if ( instance != null )
+			{
+				return instance;
+			}
+
+			final Provider<T> scoped = this.scoped;
+			if ( scoped != null )
+			{
+				return scoped.get( );
+			}
+
+			final BindingMetrics metrics = this.metrics;
+			if ( this.bindingScope == BindingScope.SINGLETON )
+			{
+				final long waitStart = metrics == null ? 0 : System.nanoTime( );
+				/*
+				 * only threads racing for the same singleton wait here, published instances are read lock-free. The
+				 * lock is a j.u.c. lock so that virtual threads unmount while another thread constructs the instance.
+				 */
+				final ReentrantLock lock = lock( );
+				lock.lock( );
+				try
+				{
+					if ( metrics != null )
+					{
+						metrics.lockWaited( System.nanoTime( ) - waitStart );
+					}
+
+					if ( this.instance != null )
+					{
+						return this.instance;
+					}
+
+					return createInstance( );
+				}
+				finally
+				{
+					lock.unlock( );
+				}
+			}
+
+			return createInstance( );
+		}
+
+		private ReentrantLock lock( )
+		{
+			final ReentrantLock lock = this.lock;
+			if ( lock != null )
+			{
+				return lock;
+			}
+
+			/* most bindings are never constructed concurrently, so the lock is only created on first construction */
+			LOCK.compareAndSet( this, null, new ReentrantLock( ) );
+
+			return this.lock;
+		}
+
+		private T createInstance( )
+		{
+			return construct( 1, this::create );
+		}
+
+		/* lease check, flight recorder event and metrics shared by single and batched constructions */
+		final <R> R construct( final int count, final Construction<R> construction )
+		{
+			try
+			{
+				final ResolutionPlan plan = this.plan;
+				if ( plan != null )
+				{
+					plan.checkLease( );
+				}
+				final BindingMetrics metrics = this.metrics;
+				final long start = metrics == null ? 0 : System.nanoTime( );
+				final Object event = FlightRecorderEvents.CONSTRUCTION.begin( );
+				final int[] depth = event == null ? null : FlightRecorderEvents.CONSTRUCTION_DEPTH.get( );
+				final R constructed;
+				if ( depth == null )
+				{
+					constructed = construction.construct( plan );
+				}
+				else
+				{
+					depth[ 0 ]++;
+					try
+					{
+						constructed = construction.construct( plan );
+					}
+					finally
+					{
+						depth[ 0 ]--;
+					}
+					FlightRecorderEvents.CONSTRUCTION.commit( event, this.clazz,
+						this.scope != null ? this.scope.toString( ) : this.bindingScope.name( ), depth[ 0 ] );
+				}
+
+				if ( metrics != null )
+				{
+					/* a batch is reported as constructions of its average duration */
+					final long nanos = ( System.nanoTime( ) - start ) / count;
+					for ( int i = 0; i < count; i++ )
+					{
+						metrics.constructed( nanos );
+					}
+				}
+
+				return constructed;
+			}
+			catch ( final Exception e )
+			{
+				throw new InstantiationException( e );
+			}
+		}
+
+		interface Construction<R>
+		{
+			R construct( ResolutionPlan plan ) throws Exception;
+		}
+
+		T create( final ResolutionPlan plan ) throws Exception
+		{
+			return construct( plan.resolveConstructorDependencies( ), plan.resolveFieldDependencies( ) );
+		}
+
+		List<T> getMany( final int count )
+		{
+			final List<T> instances = new ArrayList<>( count );
+			for ( int i = 0; i < count; i++ )
+			{
+				instances.add( getInstance( ) );
+			}
+
+			return instances;
 		}
 
-		private void registerBinding( final Binding<?> binding )
+		boolean needsDestruction( )
 		{
-			this.container.registry.putBinding( binding );
-			if ( this.validateOnCreation )
-			{
-				this.container.validateBinding( binding.clazz );
-			}
+			final T instance = this.instance;
+
+			return instance != null
+				&& ( this.lifecycle.hasPreDestroy( ) || this.closeOnShutdown && instance instanceof AutoCloseable );
 		}
-	}
 
-	public interface Factory<T>
-	{
-		T create( );
-	}
+		void destroy( ) throws Exception
+		{
+			final T instance = this.instance;
+			if ( instance == null )
+			{
+				return;
+			}
 
-	static abstract class Dependency
-	{
-		Class<?> type;
-		boolean lazy;
+			this.lifecycle.preDestroy( instance );
+			if ( this.closeOnShutdown && instance instanceof AutoCloseable )
+			{
+				( ( AutoCloseable ) instance ).close( );
+			}
+		}
 
-		public Dependency( final Class<?> type )
+		protected void injectFieldDependencies( final Object instance, final Object[] dependencies )
+			throws Exception
 		{
-			this.type = type;
+			final FieldInjector[] fieldInjectors = this.plan.fieldInjectors;
+			for ( int i = 0; i < fieldInjectors.length; i++ )
+			{
+				fieldInjectors[ i ].inject( instance, dependencies[ i ] );
+			}
 		}
 	}
 
-	static class FieldDependency extends Dependency
+	static class ClassBinding<T, U extends T> extends Binding<T>
 	{
-		Field field;
+		Class<U> boundClazz;
 
-		public FieldDependency( final Field field )
+		public ClassBinding( final Class<T> clazz, final Class<U> boundClazz, final MetadataCache metadataCache )
 		{
-			super( field.getType( ) );
-			this.field = field;
-			this.lazy = field.getAnnotation( Lazy.class ) != null;
+			super( clazz );
+			this.boundClazz = boundClazz;
+			this.dependencyInformation = resolveDependencies( boundClazz, metadataCache );
+			this.lifecycle = this.dependencyInformation.lifecycle != null
+				? this.dependencyInformation.lifecycle
+				: Lifecycle.of( boundClazz );
 		}
 
-		public Field getField( )
+		@Override
+		public T construct( final Object[] constructorDependencies, final Object[] fieldDependencies )
+			throws Exception
 		{
-			return this.field;
-		}
-	}
+			final T instance = ( T ) this.plan.instantiator.newInstance( constructorDependencies );
+			injectFieldDependencies( instance, fieldDependencies );
+			/* runs before the singleton is published, so no other thread sees a half initialized instance */
+			this.lifecycle.postConstruct( instance );
 
-	static class ConstructorDependency extends Dependency
-	{
-		public ConstructorDependency( final Parameter parameter )
-		{
-			super( parameter.getType( ) );
-			this.lazy = parameter.getAnnotation( Lazy.class ) != null;
+			if ( this.bindingScope == BindingScope.SINGLETON )
+			{
+				this.instance = instance;
+			}
+
+			return instance;
 		}
 	}
 
-	private static class DependencyInformation
+	static class InstanceBinding<T, U extends T> extends Binding<T>
 	{
-		static DependencyInformation NONE = new DependencyInformation( );
-
-		List<FieldDependency> fields;
-		Constructor<?> constructor;
-		List<ConstructorDependency> constructorDependencies;
-
-		public DependencyInformation( final Constructor<?> constructor, final List<Field> fields )
+		public InstanceBinding( final Class<T> clazz, final U instance )
 		{
-			this.constructor = constructor;
-			this.constructorDependencies = Arrays.stream( constructor.getParameters( ) )
-				.map( ConstructorDependency::new )
-				.collect( Collectors.toList( ) );
-			this.fields = fields.stream( )
-				.map( FieldDependency::new )
-				.collect( Collectors.toList( ) );
+			super( clazz );
+			this.instance = instance;
+			this.dependencyInformation = DependencyInformation.NONE;
+			this.validated = true;
 		}
 
-		private DependencyInformation( )
+		@Override
+		T getInstance( )
 		{
-			this.constructor = null;
-			this.fields = new ArrayList<>( );
-			this.constructorDependencies = new ArrayList<>( );
+			return this.instance;
 		}
 
-		List<ConstructorDependency> getConstructorDependencies( )
+		@Override
+		CompletableFuture<T> getAsync( )
 		{
-			return this.constructorDependencies;
+			return CompletableFuture.completedFuture( this.instance );
 		}
 
-		List<FieldDependency> getFieldDependencies( )
+		@Override
+		CompletableFuture<?> ready( )
 		{
-			return this.fields;
+			return READY;
 		}
 
-		List<Dependency> getAllDependencies( )
+		@Override
+		T construct( final Object[] constructorDependencies, final Object[] fieldDependencies )
 		{
-			final List<Dependency> dependencies = new ArrayList<>( );
-			dependencies.addAll( getConstructorDependencies( ) );
-			dependencies.addAll( getFieldDependencies( ) );
-
-			return dependencies;
+			return this.instance;
 		}
 	}
 
-	public enum BindingScope
+	static class FactoryBinding<T> extends Binding<T>
 	{
-		SINGLETON,
-		TRANSIENT
-	}
+		/* factories only receiving singletons are kept for the plan they were built from and reused */
+		private volatile ReusableFactory<T> reusable = null;
 
-	static abstract class Binding<T>
-	{
-		Class<T> clazz;
-		DependencyInformation dependencyInformation;
-		T instance = null;
-		BindingScope bindingScope = BindingScope.SINGLETON;
+		public FactoryBinding( final Class<T> clazz, final Class<? extends Factory<T>> factoryClass,
+			final MetadataCache metadataCache )
+		{
+			super( clazz );
+			this.dependencyInformation = resolveDependencies( factoryClass, metadataCache );
+		}
 
-		public Binding( final Class<T> clazz )
+		@Override
+		T create( final ResolutionPlan plan ) throws Exception
 		{
-			this.clazz = clazz;
+			return store( factory( plan ).create( ) );
 		}
 
-		abstract T construct( Object[] constructorDependencies, Object[] fieldDependencies )
-			throws java.lang.InstantiationException, IllegalAccessException, InvocationTargetException;
+		@Override
+		T construct( final Object[] constructorDependencies, final Object[] fieldDependencies ) throws Exception
+		{
+			return store( newFactory( constructorDependencies, fieldDependencies ).create( ) );
+		}
 
-		protected DependencyInformation resolveDependencies( final Class<?> clazz )
+		@Override
+		List<T> getMany( final int count )
 		{
-			final Constructor<?> constructor = getConstructor( clazz );
-			final List<Field> injectionFields = getInjectionFields( clazz );
+			if ( this.instance != null || this.scoped != null || this.bindingScope == BindingScope.SINGLETON )
+			{
+				return super.getMany( count );
+			}
 
-			return new DependencyInformation( constructor, injectionFields );
+			return construct( count, plan -> createMany( plan, count ) );
 		}
 
-		private Constructor<?> getConstructor( final Class<?> clazz )
+		private List<T> createMany( final ResolutionPlan plan, final int count ) throws Exception
 		{
-			Constructor<?> constructor = null;
-			for ( final Constructor<?> declaredConstructor : clazz.getDeclaredConstructors( ) )
+			final Factory<T> factory = factory( plan );
+			if ( factory instanceof BatchFactory )
 			{
-				if ( declaredConstructor.getAnnotation( Inject.class ) != null )
+				final List<T> batch = ( ( BatchFactory<T> ) factory ).createBatch( count );
+				if ( batch.size( ) != count )
 				{
-					constructor = declaredConstructor;
-					break;
+					throw new IllegalStateException( "Batch factory for " + this.clazz + " created " + batch.size( )
+						+ " instead of " + count + " instances" );
 				}
+
+				return batch;
 			}
 
-			if ( constructor == null )
+			final List<T> instances = new ArrayList<>( count );
+			for ( int i = 0; i < count; i++ )
 			{
-				try
-				{
-					constructor = clazz.getDeclaredConstructor( );
-					final int modifiers = constructor.getModifiers( );
-					if ( !Modifier.isPublic( modifiers ) )
-					{
-						throw new IllegalAccessException( );
-					}
-				}
-				catch ( final NoSuchMethodException | IllegalAccessException e )
-				{
-					throw new MissingConstructorException( clazz );
-				}
+				instances.add( factory.create( ) );
 			}
 
-			return constructor;
+			return instances;
 		}
 
-		private List<Field> getInjectionFields( final Class<?> clazz )
+		private Factory<T> factory( final ResolutionPlan plan ) throws Exception
 		{
-			final Field[] fields = clazz.getDeclaredFields( );
-
-			final List<Field> dependencyFields = new ArrayList<>( );
-			for ( final Field field : fields )
+			final ReusableFactory<T> reusable = this.reusable;
+			if ( reusable != null && reusable.plan == plan )
 			{
-				final boolean isInjectable = field.getAnnotation( Inject.class ) != null;
-
-				if ( isInjectable )
-				{
-					final boolean isLazy = field.getAnnotation( Lazy.class ) != null;
-					if ( isLazy && !field.getType( ).isInterface( ) )
-					{
-						throw new InvalidLazyAnnotation( clazz );
-					}
+				return reusable.factory;
+			}
 
-					dependencyFields.add( field );
-				}
+			final Factory<T> factory = newFactory( plan.resolveConstructorDependencies( ), plan.resolveFieldDependencies( ) );
+			if ( plan.hasOnlySingletonTargets && this.bindingScope != BindingScope.SINGLETON )
+			{
+				this.reusable = new ReusableFactory<>( plan, factory );
 			}
 
-			return dependencyFields;
+			return factory;
 		}
 
-		List<ConstructorDependency> getConstructorDependencies( )
+		private Factory<T> newFactory( final Object[] constructorDependencies, final Object[] fieldDependencies )
+			throws Exception
 		{
-			return this.dependencyInformation.getConstructorDependencies( );
+			final Factory<T> factory = ( Factory<T> ) this.plan.instantiator.newInstance( constructorDependencies );
+			injectFieldDependencies( factory, fieldDependencies );
+
+			return factory;
 		}
 
-		List<FieldDependency> getFieldDependencies( )
+		private T store( final T instance )
 		{
-			return this.dependencyInformation.getFieldDependencies( );
+			if ( this.bindingScope == BindingScope.SINGLETON )
+			{
+				this.instance = instance;
+			}
+
+			return instance;
 		}
 
-		protected void injectFieldDependencies( final Object instance, final Object[] dependencies )
-			throws IllegalAccessException
+		private static final class ReusableFactory<T>
 		{
-			final List<Field> fieldList = this.dependencyInformation.fields.stream( )
-				.map( FieldDependency::getField )
-				.collect( Collectors.toList( ) );
+			final ResolutionPlan plan;
+			final Factory<T> factory;
 
-			for ( int i = 0; i < fieldList.size( ); i++ )
+			ReusableFactory( final ResolutionPlan plan, final Factory<T> factory )
 			{
-				final Field field = fieldList.get( i );
-				final Object dependencyInstance = dependencies[ i ];
-
-				field.setAccessible( true );
-				field.set( instance, dependencyInstance );
+				this.plan = plan;
+				this.factory = factory;
 			}
 		}
 	}
 
-	static class ClassBinding<T, U extends T> extends Binding<T>
+	static class AsyncFactoryBinding<T> extends Binding<T>
 	{
-		Class<U> boundClazz;
+		/* the singleton future, started by the first request and kept until it fails */
+		private final AtomicReference<CompletableFuture<T>> future = new AtomicReference<>( );
 
-		public ClassBinding( final Class<T> clazz, final Class<U> boundClazz )
+		public AsyncFactoryBinding( final Class<T> clazz, final Class<? extends AsyncFactory<T>> factoryClass,
+			final MetadataCache metadataCache )
 		{
 			super( clazz );
-			this.boundClazz = boundClazz;
-			this.dependencyInformation = resolveDependencies( boundClazz );
+			this.dependencyInformation = resolveDependencies( factoryClass, metadataCache );
 		}
 
 		@Override
-		public T construct( final Object[] constructorDependencies, final Object[] fieldDependencies )
-			throws java.lang.InstantiationException, IllegalAccessException, InvocationTargetException
+		T getInstance( )
 		{
-			final T instance = ( T ) this.dependencyInformation.constructor.newInstance( constructorDependencies );
-			injectFieldDependencies( instance, fieldDependencies );
+			final T instance = this.instance;
+			if ( instance != null )
+			{
+				return instance;
+			}
 
-			if ( this.bindingScope == BindingScope.SINGLETON )
+			if ( this.scoped == null && this.bindingScope == BindingScope.SINGLETON )
 			{
-				this.instance = instance;
+				return join( getAsync( ) );
 			}
 
-			return instance;
+			return super.getInstance( );
 		}
-	}
 
-	static class InstanceBinding<T, U extends T> extends Binding<T>
-	{
-		public InstanceBinding( final Class<T> clazz, final U instance )
+		@Override
+		CompletableFuture<T> getAsync( )
 		{
-			super( clazz );
-			this.instance = instance;
-			this.dependencyInformation = DependencyInformation.NONE;
+			final T instance = this.instance;
+			if ( instance != null )
+			{
+				return CompletableFuture.completedFuture( instance );
+			}
+
+			if ( this.scoped != null )
+			{
+				return super.getAsync( );
+			}
+
+			if ( this.bindingScope != BindingScope.SINGLETON )
+			{
+				return super.ready( ).thenCompose( ignored -> createAsync( ) );
+			}
+
+			final CompletableFuture<T> future = this.future.get( );
+			if ( future != null )
+			{
+				return future;
+			}
+
+			final CompletableFuture<T> started = new CompletableFuture<>( );
+			if ( !this.future.compareAndSet( null, started ) )
+			{
+				return this.future.get( );
+			}
+
+			super.ready( ).thenCompose( ignored -> createAsync( ) ).whenComplete( ( value, failure ) -> {
+				if ( failure == null )
+				{
+					this.instance = value;
+					started.complete( value );
+				}
+				else
+				{
+					/* a failed initialization is retried by the next request, like a failed constructor */
+					this.future.compareAndSet( started, null );
+					started.completeExceptionally( failure );
+				}
+			} );
+
+			return started;
 		}
 
 		@Override
-		T construct( final Object[] constructorDependencies, final Object[] fieldDependencies )
+		CompletableFuture<?> ready( )
 		{
-			return this.instance;
+			if ( this.scoped == null && this.bindingScope == BindingScope.SINGLETON )
+			{
+				return getAsync( );
+			}
+
+			return super.ready( );
 		}
-	}
 
-	static class FactoryBinding<T> extends Binding<T>
-	{
-		public FactoryBinding( final Class<T> clazz, final Class<? extends Factory<T>> factoryClass )
+		private CompletableFuture<T> createAsync( )
 		{
-			super( clazz );
-			this.dependencyInformation = resolveDependencies( factoryClass );
+			try
+			{
+				return createFactory( ).create( );
+			}
+			catch ( final Exception e )
+			{
+				return failed( new InstantiationException( e ) );
+			}
+		}
+
+		private AsyncFactory<T> createFactory( ) throws Exception
+		{
+			final AsyncFactory<T> factory =
+				( AsyncFactory<T> ) this.plan.instantiator.newInstance( this.plan.resolveConstructorDependencies( ) );
+			injectFieldDependencies( factory, this.plan.resolveFieldDependencies( ) );
+
+			return factory;
 		}
 
 		@Override
-		T construct( final Object[] constructorDependencies, final Object[] fieldDependencies )
-			throws IllegalAccessException, java.lang.InstantiationException, InvocationTargetException
+		T construct( final Object[] constructorDependencies, final Object[] fieldDependencies ) throws Exception
 		{
-			final Factory<T> factory =
-				( Factory<T> ) this.dependencyInformation.constructor.newInstance( constructorDependencies );
+			/* only reached for transient and custom scoped bindings, singletons go through the shared future */
+			final AsyncFactory<T> factory = ( AsyncFactory<T> ) this.plan.instantiator.newInstance( constructorDependencies );
 			injectFieldDependencies( factory, fieldDependencies );
 
-			final T instance = factory.create( );
-			if ( this.bindingScope == BindingScope.SINGLETON )
+			return join( factory.create( ) );
+		}
+
+		private static <T> T join( final CompletableFuture<T> future )
+		{
+			try
 			{
-				this.instance = instance;
+				return future.join( );
 			}
+			catch ( final CompletionException e )
+			{
+				final Throwable cause = e.getCause( );
+				if ( cause instanceof RuntimeException )
+				{
+					throw ( RuntimeException ) cause;
+				}
+				if ( cause instanceof Error )
+				{
+					throw ( Error ) cause;
+				}
 
-			return instance;
+				throw new InstantiationException( cause );
+			}
 		}
 	}
 
@@ -690,6 +5556,12 @@ public class MiniDI
 		{
 			super( "Circular dependency detected for class " + clazz.getSimpleName( ) );
 		}
+
+		public CircularDependencyException( final List<Class<?>> cycle )
+		{
+			super( "Circular dependency detected for class " + cycle.get( 0 ).getSimpleName( ) + ": " +
+				cycle.stream( ).map( Class::getSimpleName ).collect( Collectors.joining( " -> " ) ) );
+		}
 	}
 
 	public static class MissingBindingException extends RuntimeException
@@ -710,12 +5582,56 @@ public class MiniDI
 		}
 	}
 
+	public static class OutOfScopeException extends RuntimeException
+	{
+		public OutOfScopeException( final Class<?> clazz, final Scope scope )
+		{
+			super( "Binding for class " + clazz + " was requested outside of its scope " + scope );
+		}
+	}
+
+	public static class InvalidProviderDependency extends RuntimeException
+	{
+		public InvalidProviderDependency( final Type type )
+		{
+			super( "Provider dependencies have to declare the provided class as type argument.\n" +
+				"Please check the declared type: " + type );
+		}
+	}
+
+	public static class InvalidLifecycleMethod extends RuntimeException
+	{
+		public InvalidLifecycleMethod( final Method method )
+		{
+			super( "Lifecycle methods must not be static or declare parameters.\n" +
+				"Please check the method: " + method );
+		}
+	}
+
+	public static class UndeclaredDynamicBinding extends RuntimeException
+	{
+		public UndeclaredDynamicBinding( final Class<?> clazz )
+		{
+			super( "Class is already bound and was not declared as dynamic, dependents would keep the old binding.\n" +
+				"Please declare it with dynamic( ) when building the injector: " + clazz );
+		}
+	}
+
+	public static class ShutdownException extends RuntimeException
+	{
+		public ShutdownException( final String message, final Throwable cause )
+		{
+			super( message, cause );
+		}
+	}
+
 	public static class InvalidLazyAnnotation extends RuntimeException
 	{
 		public InvalidLazyAnnotation( final Class<?> clazz )
 		{
 			super( "Class contains invalid configuration for lazy initialisation.\n" +
-				"Lazy init is only allowed for interfaces.\n" +
+				"Lazy init is only allowed for interfaces and public classes whose instance methods are all public and non-final\n" +
+				"and which declare no accessible instance fields.\n" +
 				"Please check the configuration for class: " + clazz );
 		}
 	}
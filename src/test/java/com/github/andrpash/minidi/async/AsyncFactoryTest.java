@@ -0,0 +1,132 @@
+package com.github.andrpash.minidi.async;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.async.testclasses.Cache;
+import com.github.andrpash.minidi.async.testclasses.CacheLoader;
+import com.github.andrpash.minidi.async.testclasses.Channel;
+import com.github.andrpash.minidi.async.testclasses.ChannelOpener;
+import com.github.andrpash.minidi.async.testclasses.Gateway;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncFactoryTest
+{
+	@Before
+	public void setUp( )
+	{
+		CacheLoader.CREATED.set( 0 );
+		ChannelOpener.CREATED.set( 0 );
+	}
+
+	@Test
+	public void test_independentAsyncFactoriesOverlap( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Cache.class ).toAsyncFactory( CacheLoader.class )
+			.bind( Channel.class ).toAsyncFactory( ChannelOpener.class )
+			.bind( Gateway.class ).toClass( Gateway.class )
+			.initialize( );
+
+		final CompletableFuture<Gateway> gateway = injector.getAsync( Gateway.class );
+
+		assertThat( gateway ).isNotDone( );
+		assertThat( CacheLoader.CREATED.get( ) ).isEqualTo( 1 );
+		assertThat( ChannelOpener.CREATED.get( ) ).isEqualTo( 1 );
+
+		final Cache cache = new Cache( );
+		final Channel channel = new Channel( );
+		CacheLoader.pending.complete( cache );
+		assertThat( gateway ).isNotDone( );
+		ChannelOpener.pending.complete( channel );
+
+		assertThat( gateway ).isDone( );
+		assertThat( gateway.join( ).cache ).isSameAs( cache );
+		assertThat( gateway.join( ).channel ).isSameAs( channel );
+		assertThat( injector.get( Gateway.class ) ).isSameAs( gateway.join( ) );
+	}
+
+	@Test
+	public void test_getWaitsOnRunningFuture( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Cache.class ).toAsyncFactory( CacheLoader.class )
+			.initialize( );
+
+		final CompletableFuture<Cache> started = injector.getAsync( Cache.class );
+		final CompletableFuture<Cache> blocking = CompletableFuture.supplyAsync( ( ) -> injector.get( Cache.class ) );
+
+		final Cache cache = new Cache( );
+		CacheLoader.pending.complete( cache );
+
+		assertThat( blocking.join( ) ).isSameAs( cache );
+		assertThat( started.join( ) ).isSameAs( cache );
+		assertThat( CacheLoader.CREATED.get( ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void test_transientAsyncFactoryCreatesOnEveryRequest( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Cache.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toAsyncFactory( CacheLoader.class )
+			.initialize( );
+
+		final CompletableFuture<Cache> first = injector.getAsync( Cache.class );
+		CacheLoader.pending.complete( new Cache( ) );
+		final CompletableFuture<Cache> second = injector.getAsync( Cache.class );
+		CacheLoader.pending.complete( new Cache( ) );
+
+		assertThat( first.join( ) ).isNotSameAs( second.join( ) );
+		assertThat( CacheLoader.CREATED.get( ) ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void test_failedInitializationIsRetried( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Cache.class ).toAsyncFactory( CacheLoader.class )
+			.initialize( );
+
+		final CompletableFuture<Cache> failed = injector.getAsync( Cache.class );
+		CacheLoader.pending.completeExceptionally( new IllegalStateException( "unreachable" ) );
+
+		assertThatThrownBy( failed::join )
+			.isInstanceOf( CompletionException.class )
+			.hasCauseInstanceOf( IllegalStateException.class );
+
+		final CompletableFuture<Cache> retried = injector.getAsync( Cache.class );
+		final Cache cache = new Cache( );
+		CacheLoader.pending.complete( cache );
+
+		assertThat( injector.get( Cache.class ) ).isSameAs( cache );
+		assertThat( retried.join( ) ).isSameAs( cache );
+		assertThat( CacheLoader.CREATED.get( ) ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void test_synchronousBindingsCompleteImmediately( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Channel.class ).toClass( Channel.class )
+			.initialize( );
+
+		final CompletableFuture<Channel> channel = injector.getAsync( Channel.class );
+
+		assertThat( channel ).isDone( );
+		assertThat( channel.join( ) ).isSameAs( injector.get( Channel.class ) );
+	}
+
+	@Test
+	public void test_missingBinding_completesExceptionally( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( ).initialize( );
+
+		assertThatThrownBy( ( ) -> injector.getAsync( Cache.class ).join( ) )
+			.hasCauseInstanceOf( MiniDI.MissingBindingException.class );
+	}
+}
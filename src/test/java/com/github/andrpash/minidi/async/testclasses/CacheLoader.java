@@ -0,0 +1,21 @@
+package com.github.andrpash.minidi.async.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CacheLoader implements MiniDI.AsyncFactory<Cache>
+{
+	public static final AtomicInteger CREATED = new AtomicInteger( );
+	public static volatile CompletableFuture<Cache> pending;
+
+	@Override
+	public CompletableFuture<Cache> create( )
+	{
+		CREATED.incrementAndGet( );
+		pending = new CompletableFuture<>( );
+
+		return pending;
+	}
+}
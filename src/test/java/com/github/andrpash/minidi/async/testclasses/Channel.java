@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.async.testclasses;
+
+public class Channel
+{
+}
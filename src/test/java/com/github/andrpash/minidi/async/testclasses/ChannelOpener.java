@@ -0,0 +1,21 @@
+package com.github.andrpash.minidi.async.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ChannelOpener implements MiniDI.AsyncFactory<Channel>
+{
+	public static final AtomicInteger CREATED = new AtomicInteger( );
+	public static volatile CompletableFuture<Channel> pending;
+
+	@Override
+	public CompletableFuture<Channel> create( )
+	{
+		CREATED.incrementAndGet( );
+		pending = new CompletableFuture<>( );
+
+		return pending;
+	}
+}
@@ -0,0 +1,16 @@
+package com.github.andrpash.minidi.async.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class Gateway
+{
+	public final Cache cache;
+	public final Channel channel;
+
+	@MiniDI.Inject
+	public Gateway( final Cache cache, final Channel channel )
+	{
+		this.cache = cache;
+		this.channel = channel;
+	}
+}
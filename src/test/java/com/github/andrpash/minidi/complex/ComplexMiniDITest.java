@@ -5,6 +5,10 @@ import com.github.andrpash.minidi.complex.testclasses.Level1;
 import com.github.andrpash.minidi.complex.testclasses.WithInjectorDependency;
 import org.junit.Test;
 
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 public class ComplexMiniDITest
@@ -146,4 +150,67 @@ public class ComplexMiniDITest
 		assertThat( withInjectorDependency.getInjector( ) ).isEqualTo( childInjector );
 	}
 
+	@Test
+	public void multiLevelContainer_injectInjector_transientParentBindingsUseRequestingInjector( )
+	{
+		final MiniDI.Injector rootInjector = MiniDI.create( )
+			.bind( WithInjectorDependency.class ).withScope( MiniDI.BindingScope.TRANSIENT )
+			.toClass( WithInjectorDependency.class )
+			.initialize( );
+
+		final MiniDI.Injector childInjector = rootInjector.createChild( )
+			.bind( Level1.Level3.class ).toClass( Level1.Level3.class )
+			.initialize( );
+
+		assertThat( childInjector.get( WithInjectorDependency.class ).getInjector( ) ).isEqualTo( childInjector );
+		assertThat( rootInjector.get( WithInjectorDependency.class ).getInjector( ) ).isEqualTo( rootInjector );
+	}
+
+	@Test
+	public void multiLevelContainer_transientParentBindingsUseOverridingChildBindings( )
+	{
+		final MiniDI.Injector rootInjector = MiniDI.create( )
+			.bind( Level1.Level3.class ).toClass( Level1.Level3.class )
+			.bind( Level1.Level2_2.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( Level1.Level2_2.class )
+			.initialize( );
+
+		final MiniDI.Injector childInjector = rootInjector.createChild( )
+			.bind( Level1.Level3.class ).toClass( Level1.Level3.class )
+			.initialize( );
+
+		assertThat( childInjector.get( Level1.Level2_2.class ).getChild( ) )
+			.isSameAs( childInjector.get( Level1.Level3.class ) )
+			.isNotSameAs( rootInjector.get( Level1.Level3.class ) );
+		assertThat( rootInjector.get( Level1.Level2_2.class ).getChild( ) )
+			.isSameAs( rootInjector.get( Level1.Level3.class ) );
+	}
+
+	@Test
+	public void multiLevelContainer_manyBindingsAreResolvedThroughChildren( )
+	{
+		/* array classes are cheap distinct keys, enough of them to go beyond the directly indexed class ids */
+		final List<Class<Object>> keys = new ArrayList<>( );
+		for ( final Class<?> componentType : new Class<?>[] { String.class, Integer.class, Long.class } )
+		{
+			Class<?> key = componentType;
+			for ( int dimensions = 1; dimensions <= 200; dimensions++ )
+			{
+				key = Array.newInstance( key, 0 ).getClass( );
+				keys.add( ( Class<Object> ) key );
+			}
+		}
+
+		MiniDI.InjectorBuilder rootBuilder = MiniDI.create( );
+		for ( final Class<Object> key : keys )
+		{
+			rootBuilder = rootBuilder.bind( key ).toInstance( Array.newInstance( key.getComponentType( ), 0 ) );
+		}
+		final MiniDI.Injector rootInjector = rootBuilder.initialize( );
+		final MiniDI.Injector childInjector = rootInjector.createChild( ).initialize( );
+
+		for ( final Class<Object> key : keys )
+		{
+			assertThat( childInjector.get( key ) ).isSameAs( rootInjector.get( key ) ).isInstanceOf( key );
+		}
+	}
 }
@@ -26,6 +26,11 @@ public class Level1
 	{
 		@MiniDI.Inject
 		private Level3 child;
+
+		public Level3 getChild( )
+		{
+			return this.child;
+		}
 	}
 
 	public static class Level3
@@ -0,0 +1,66 @@
+package com.github.andrpash.minidi.concurrency;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.concurrency.testclasses.SlowSingleton;
+import com.github.andrpash.minidi.concurrency.testclasses.SlowSingletonConsumer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentResolutionTest
+{
+	private static final int THREADS = 32;
+
+	@Test
+	public void test_singletonIsConstructedOnceUnderConcurrentAccess( ) throws Exception
+	{
+		SlowSingleton.INSTANCES.set( 0 );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( SlowSingleton.class ).toClass( SlowSingleton.class )
+			.bind( SlowSingletonConsumer.class ).withScope( MiniDI.BindingScope.TRANSIENT )
+			.toClass( SlowSingletonConsumer.class )
+			.initialize( );
+
+		final List<SlowSingletonConsumer> consumers = getConcurrently( injector, SlowSingletonConsumer.class );
+
+		assertThat( SlowSingleton.INSTANCES.get( ) ).isEqualTo( 1 );
+		for ( final SlowSingletonConsumer consumer : consumers )
+		{
+			assertThat( consumer.getSingleton( ) ).isSameAs( injector.get( SlowSingleton.class ) );
+		}
+	}
+
+	private static <T> List<T> getConcurrently( final MiniDI.Injector injector, final Class<T> clazz )
+		throws Exception
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+		try
+		{
+			final CyclicBarrier barrier = new CyclicBarrier( THREADS );
+			final List<Future<T>> futures = new ArrayList<>( );
+			for ( int i = 0; i < THREADS; i++ )
+			{
+				futures.add( executor.submit( ( ) -> {
+					barrier.await( );
+					return injector.get( clazz );
+				} ) );
+			}
+
+			final List<T> instances = new ArrayList<>( );
+			for ( final Future<T> future : futures )
+			{
+				instances.add( future.get( 10, TimeUnit.SECONDS ) );
+			}
+
+			return instances;
+		}
+		finally
+		{
+			executor.shutdownNow( );
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.github.andrpash.minidi.concurrency;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.complex.ComplexMiniDITest;
+import com.github.andrpash.minidi.concurrency.testclasses.BlockingResource;
+import com.github.andrpash.minidi.concurrency.testclasses.BlockingResourceFactory;
+import com.github.andrpash.minidi.concurrency.testclasses.SlowSingleton;
+import com.github.andrpash.minidi.concurrency.testclasses.SlowSingletonConsumer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadTest
+{
+	/* virtual threads are created by reflection, so these tests compile on Java 8 and are skipped before Java 21 */
+	private static final int VIRTUAL_THREADS = 5_000;
+	private static final int RUNS_PER_SCENARIO = 500;
+
+	private ExecutorService executor;
+
+	@Before
+	public void createVirtualThreadExecutor( ) throws ReflectiveOperationException
+	{
+		Method newVirtualThreadPerTaskExecutor = null;
+		try
+		{
+			newVirtualThreadPerTaskExecutor = Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" );
+		}
+		catch ( final NoSuchMethodException e )
+		{
+			assumeTrue( "virtual threads require Java 21", false );
+		}
+
+		this.executor = ( ExecutorService ) newVirtualThreadPerTaskExecutor.invoke( null );
+	}
+
+	@Test
+	public void test_complexScenariosOnVirtualThreads( ) throws Exception
+	{
+		for ( final Method scenario : ComplexMiniDITest.class.getMethods( ) )
+		{
+			final Test test = scenario.getAnnotation( Test.class );
+			if ( test == null )
+			{
+				continue;
+			}
+
+			final List<Future<?>> runs = new ArrayList<>( );
+			for ( int i = 0; i < RUNS_PER_SCENARIO; i++ )
+			{
+				runs.add( this.executor.submit( ( ) -> {
+					runScenario( scenario, test.expected( ) );
+					return null;
+				} ) );
+			}
+
+			for ( final Future<?> run : runs )
+			{
+				run.get( 30, TimeUnit.SECONDS );
+			}
+		}
+	}
+
+	@Test
+	public void test_sharedSingletonIsConstructedOnce( ) throws Exception
+	{
+		SlowSingleton.INSTANCES.set( 0 );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( SlowSingleton.class ).toClass( SlowSingleton.class )
+			.bind( SlowSingletonConsumer.class ).withScope( MiniDI.BindingScope.TRANSIENT )
+			.toClass( SlowSingletonConsumer.class )
+			.initialize( );
+
+		final List<Future<SlowSingletonConsumer>> consumers = new ArrayList<>( );
+		for ( int i = 0; i < VIRTUAL_THREADS; i++ )
+		{
+			consumers.add( this.executor.submit( ( ) -> injector.get( SlowSingletonConsumer.class ) ) );
+		}
+
+		for ( final Future<SlowSingletonConsumer> consumer : consumers )
+		{
+			assertThat( consumer.get( 30, TimeUnit.SECONDS ).getSingleton( ) )
+				.isSameAs( injector.get( SlowSingleton.class ) );
+		}
+		assertThat( SlowSingleton.INSTANCES.get( ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void test_threadsWaitingForBlockingFactoryDoNotPinCarriers( ) throws Exception
+	{
+		BlockingResourceFactory.release = new CountDownLatch( 1 );
+		BlockingResourceFactory.CREATED.set( 0 );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( BlockingResource.class ).toFactory( BlockingResourceFactory.class )
+			.initialize( );
+
+		/* far more waiters than carrier threads, the release below only runs if waiting threads unmount */
+		final List<Future<BlockingResource>> waiters = new ArrayList<>( );
+		for ( int i = 0; i < Runtime.getRuntime( ).availableProcessors( ) * 16; i++ )
+		{
+			waiters.add( this.executor.submit( ( ) -> injector.get( BlockingResource.class ) ) );
+		}
+		this.executor.submit( ( ) -> BlockingResourceFactory.release.countDown( ) ).get( 30, TimeUnit.SECONDS );
+
+		for ( final Future<BlockingResource> waiter : waiters )
+		{
+			assertThat( waiter.get( 30, TimeUnit.SECONDS ) ).isSameAs( injector.get( BlockingResource.class ) );
+		}
+		assertThat( BlockingResourceFactory.CREATED.get( ) ).isEqualTo( 1 );
+	}
+
+	private static void runScenario( final Method scenario, final Class<? extends Throwable> expected )
+		throws Exception
+	{
+		try
+		{
+			scenario.invoke( new ComplexMiniDITest( ) );
+			assertThat( expected ).isEqualTo( Test.None.class );
+		}
+		catch ( final InvocationTargetException e )
+		{
+			if ( !expected.isInstance( e.getCause( ) ) )
+			{
+				throw e;
+			}
+		}
+	}
+}
@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.concurrency.testclasses;
+
+public class BlockingResource
+{
+}
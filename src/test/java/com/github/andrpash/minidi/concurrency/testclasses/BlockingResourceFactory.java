@@ -0,0 +1,34 @@
+package com.github.andrpash.minidi.concurrency.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BlockingResourceFactory implements MiniDI.Factory<BlockingResource>
+{
+	/* stands in for a pool factory blocking on I/O until the test releases it */
+	public static volatile CountDownLatch release = new CountDownLatch( 1 );
+	public static final AtomicInteger CREATED = new AtomicInteger( );
+
+	@Override
+	public BlockingResource create( )
+	{
+		try
+		{
+			if ( !release.await( 30, TimeUnit.SECONDS ) )
+			{
+				throw new IllegalStateException( "resource was never released" );
+			}
+		}
+		catch ( final InterruptedException e )
+		{
+			Thread.currentThread( ).interrupt( );
+			throw new IllegalStateException( e );
+		}
+
+		CREATED.incrementAndGet( );
+		return new BlockingResource( );
+	}
+}
@@ -0,0 +1,14 @@
+package com.github.andrpash.minidi.concurrency.testclasses;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SlowSingleton
+{
+	public static final AtomicInteger INSTANCES = new AtomicInteger( );
+
+	public SlowSingleton( ) throws InterruptedException
+	{
+		INSTANCES.incrementAndGet( );
+		Thread.sleep( 50 );
+	}
+}
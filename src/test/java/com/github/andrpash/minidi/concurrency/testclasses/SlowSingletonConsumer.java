@@ -0,0 +1,14 @@
+package com.github.andrpash.minidi.concurrency.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class SlowSingletonConsumer
+{
+	@MiniDI.Inject
+	private SlowSingleton singleton;
+
+	public SlowSingleton getSingleton( )
+	{
+		return this.singleton;
+	}
+}
@@ -1,11 +1,20 @@
 package com.github.andrpash.minidi.dynamicbinding;
 
 import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.dynamicbinding.testclasses.CyclicDynamicRoot;
 import com.github.andrpash.minidi.dynamicbinding.testclasses.DynamicRootClass;
 import com.github.andrpash.minidi.dynamicbinding.testclasses.DynamicRootWithMissingDependency;
 import com.github.andrpash.minidi.dynamicbinding.testclasses.LeafClass;
+import com.github.andrpash.minidi.dynamicbinding.testclasses.UnprovidedClass;
+import com.github.andrpash.minidi.dynamicbinding.testclasses.UnprovidedWithRoot;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 public class DynamicBindingTest
@@ -77,4 +86,221 @@ public class DynamicBindingTest
 		assertThat( instanceFromInjectorBeforeProviding ).isEqualTo( rootInstance );
 		assertThat( instanceFromInjectorAfterProviding ).isEqualTo( childInstance );
 	}
+
+	@Test
+	public void test_dynamicRebindingInRootIsVisibleThroughDeepChildInjectors( )
+	{
+		final DynamicRootClass firstInstance = new DynamicRootClass( );
+		final DynamicRootClass secondInstance = new DynamicRootClass( );
+
+		final MiniDI.Injector rootInjector = MiniDI.create( )
+			.dynamic( DynamicRootClass.class )
+			.initialize( );
+		rootInjector.bindDynamic( DynamicRootClass.class ).toInstance( firstInstance );
+
+		MiniDI.Injector childInjector = rootInjector;
+		for ( int i = 0; i < 10; i++ )
+		{
+			childInjector = childInjector.createChild( ).initialize( );
+		}
+
+		final DynamicRootClass instanceBeforeRebinding = childInjector.get( DynamicRootClass.class );
+		rootInjector.bindDynamic( DynamicRootClass.class ).toInstance( secondInstance );
+		final DynamicRootClass instanceAfterRebinding = childInjector.get( DynamicRootClass.class );
+
+		assertThat( instanceBeforeRebinding ).isEqualTo( firstInstance );
+		assertThat( instanceAfterRebinding ).isEqualTo( secondInstance );
+	}
+
+	@Test
+	public void test_batchedDynamicBindingsResolveEachOther( )
+	{
+		final UnprovidedClass unprovided = new UnprovidedClass( );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.dynamic( DynamicRootClass.class )
+			.initialize( );
+
+		injector.bindDynamic( bindings -> {
+			bindings.bind( DynamicRootClass.class ).toClass( DynamicRootWithMissingDependency.class );
+			bindings.bind( UnprovidedClass.class ).toInstance( unprovided );
+		} );
+
+		assertThat( injector.get( DynamicRootClass.class ) ).isInstanceOf( DynamicRootWithMissingDependency.class );
+		assertThat( injector.get( UnprovidedClass.class ) ).isSameAs( unprovided );
+	}
+
+	@Test
+	public void test_invalidBatchLeavesPreviousBindingsInPlace( )
+	{
+		final DynamicRootClass previous = new DynamicRootClass( );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.dynamic( DynamicRootClass.class )
+			.initialize( );
+		injector.bindDynamic( DynamicRootClass.class ).toInstance( previous );
+
+		assertThatThrownBy( ( ) -> injector.bindDynamic( bindings -> {
+			bindings.bind( LeafClass.class ).toClass( LeafClass.class );
+			bindings.bind( DynamicRootClass.class ).toClass( DynamicRootWithMissingDependency.class );
+		} ) ).isInstanceOf( MiniDI.MissingBindingException.class );
+
+		assertThat( injector.get( DynamicRootClass.class ) ).isSameAs( previous );
+		assertThatThrownBy( ( ) -> injector.get( LeafClass.class ) )
+			.isInstanceOf( MiniDI.MissingBindingException.class );
+	}
+
+	@Test
+	public void test_readersKeepResolvingWhileBindingsAreSwapped( )
+	{
+		final DynamicRootClass first = new DynamicRootClass( );
+		final DynamicRootClass second = new DynamicRootClass( );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.dynamic( DynamicRootClass.class )
+			.initialize( );
+		injector.bindDynamic( DynamicRootClass.class ).toInstance( first );
+
+		final AtomicBoolean swapping = new AtomicBoolean( true );
+		final List<CompletableFuture<Void>> readers = new ArrayList<>( );
+		for ( int i = 0; i < 4; i++ )
+		{
+			readers.add( CompletableFuture.runAsync( ( ) -> {
+				while ( swapping.get( ) )
+				{
+					final DynamicRootClass instance = injector.get( DynamicRootClass.class );
+					if ( instance != first && instance != second )
+					{
+						throw new AssertionError( "Unexpected instance " + instance );
+					}
+				}
+			} ) );
+		}
+
+		for ( int i = 0; i < 1_000; i++ )
+		{
+			injector.bindDynamic( DynamicRootClass.class ).toInstance( i % 2 == 0 ? second : first );
+		}
+		swapping.set( false );
+
+		CompletableFuture.allOf( readers.toArray( new CompletableFuture<?>[ 0 ] ) ).join( );
+	}
+
+	@Test
+	public void test_rebindingKeyThatWasNotDeclaredDynamic_throws( )
+	{
+		final UnprovidedClass previous = new UnprovidedClass( );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( UnprovidedClass.class ).toInstance( previous )
+			.bind( DynamicRootClass.class ).withScope( MiniDI.BindingScope.TRANSIENT )
+			.toClass( DynamicRootWithMissingDependency.class )
+			.initialize( );
+
+		assertThatThrownBy( ( ) -> injector.bindDynamic( UnprovidedClass.class ).toInstance( new UnprovidedClass( ) ) )
+			.isInstanceOf( MiniDI.UndeclaredDynamicBinding.class );
+		assertThat( injector.get( UnprovidedClass.class ) ).isSameAs( previous );
+	}
+
+	@Test
+	public void test_rebindingKeyThatWasNotDeclaredDynamicInParent_throws( )
+	{
+		final MiniDI.Injector parent = MiniDI.create( )
+			.bind( UnprovidedClass.class ).toClass( UnprovidedClass.class )
+			.initialize( );
+		final MiniDI.Injector child = parent.createChild( )
+			.bind( DynamicRootClass.class ).toClass( DynamicRootWithMissingDependency.class )
+			.initialize( );
+
+		assertThatThrownBy( ( ) -> child.bindDynamic( UnprovidedClass.class ).toInstance( new UnprovidedClass( ) ) )
+			.isInstanceOf( MiniDI.UndeclaredDynamicBinding.class );
+	}
+
+	@Test
+	public void test_readersNeverSeeAnOlderBindingAfterANewerOneOfTheSameBatch( )
+	{
+		/* Given: two dynamic bindings that are always swapped together */
+		final int batches = 2_000;
+		final List<DynamicRootClass> roots = new ArrayList<>( );
+		final List<UnprovidedClass> unprovided = new ArrayList<>( );
+		for ( int i = 0; i < batches; i++ )
+		{
+			roots.add( new DynamicRootClass( ) );
+			unprovided.add( new UnprovidedClass( ) );
+		}
+		final MiniDI.Injector injector = MiniDI.create( )
+			.dynamic( DynamicRootClass.class, UnprovidedClass.class )
+			.initialize( );
+		injector.bindDynamic( bindings -> {
+			bindings.bind( DynamicRootClass.class ).toInstance( roots.get( 0 ) );
+			bindings.bind( UnprovidedClass.class ).toInstance( unprovided.get( 0 ) );
+		} );
+
+		/* When: readers resolve one binding of the batch and then the other while batches are published */
+		final AtomicBoolean swapping = new AtomicBoolean( true );
+		final List<CompletableFuture<Void>> readers = new ArrayList<>( );
+		for ( int i = 0; i < 4; i++ )
+		{
+			readers.add( CompletableFuture.runAsync( ( ) -> {
+				while ( swapping.get( ) )
+				{
+					final int first = unprovided.indexOf( injector.get( UnprovidedClass.class ) );
+					final int second = roots.indexOf( injector.get( DynamicRootClass.class ) );
+
+					/* Then: the second lookup never goes back to a batch older than the first one */
+					if ( second < first )
+					{
+						throw new AssertionError( "Saw batch " + second + " after batch " + first );
+					}
+				}
+			} ) );
+		}
+
+		for ( int i = 1; i < batches; i++ )
+		{
+			final int batch = i;
+			injector.bindDynamic( bindings -> {
+				bindings.bind( DynamicRootClass.class ).toInstance( roots.get( batch ) );
+				bindings.bind( UnprovidedClass.class ).toInstance( unprovided.get( batch ) );
+			} );
+		}
+		swapping.set( false );
+
+		CompletableFuture.allOf( readers.toArray( new CompletableFuture<?>[ 0 ] ) ).join( );
+	}
+
+	@Test
+	public void test_dynamicBindingClosingCycle_throws( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( LeafClass.class ).toClass( LeafClass.class )
+			.dynamic( DynamicRootClass.class )
+			.initialize( );
+
+		assertThatThrownBy( ( ) -> injector.bindDynamic( DynamicRootClass.class ).toClass( CyclicDynamicRoot.class ) )
+			.isInstanceOf( MiniDI.CircularDependencyException.class )
+			.hasMessageContaining( "DynamicRootClass -> LeafClass -> DynamicRootClass" );
+		assertThatThrownBy( ( ) -> injector.get( DynamicRootClass.class ) )
+			.isInstanceOf( MiniDI.MissingBindingException.class );
+	}
+
+	@Test( expected = MiniDI.CircularDependencyException.class )
+	public void test_batchClosingCycleAcrossDynamicBindings_throws( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.dynamic( DynamicRootClass.class, UnprovidedClass.class )
+			.initialize( );
+
+		injector.bindDynamic( bindings -> {
+			bindings.bind( DynamicRootClass.class ).toClass( DynamicRootWithMissingDependency.class );
+			bindings.bind( UnprovidedClass.class ).toClass( UnprovidedWithRoot.class );
+		} );
+	}
+
+	@Test( expected = MiniDI.CircularDependencyException.class )
+	public void test_dynamicBindingClosingCycleWithEarlierDynamicBinding_throws( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.dynamic( DynamicRootClass.class, UnprovidedClass.class )
+			.initialize( );
+
+		injector.bindDynamic( DynamicRootClass.class ).toClass( DynamicRootWithMissingDependency.class );
+		injector.bindDynamic( UnprovidedClass.class ).toClass( UnprovidedWithRoot.class );
+	}
 }
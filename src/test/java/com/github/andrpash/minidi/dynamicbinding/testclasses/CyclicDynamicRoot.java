@@ -0,0 +1,9 @@
+package com.github.andrpash.minidi.dynamicbinding.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class CyclicDynamicRoot extends DynamicRootClass
+{
+	@MiniDI.Inject
+	private LeafClass leaf;
+}
@@ -0,0 +1,9 @@
+package com.github.andrpash.minidi.dynamicbinding.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class UnprovidedWithRoot extends UnprovidedClass
+{
+	@MiniDI.Inject
+	private DynamicRootClass root;
+}
@@ -0,0 +1,72 @@
+package com.github.andrpash.minidi.eager;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.eager.testclasses.LeftBranch;
+import com.github.andrpash.minidi.eager.testclasses.RightBranch;
+import com.github.andrpash.minidi.eager.testclasses.RootService;
+import com.github.andrpash.minidi.eager.testclasses.WarmUpLog;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EagerInitializationTest
+{
+	@Before
+	public void setUp( )
+	{
+		WarmUpLog.reset( );
+	}
+
+	@Test
+	public void test_eagerMode_constructsIndependentSingletonsInParallel( )
+	{
+		final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+		try
+		{
+			final MiniDI.Injector injector = MiniDI.create( )
+				.bind( LeftBranch.class ).toClass( LeftBranch.class )
+				.bind( RightBranch.class ).toClass( RightBranch.class )
+				.bind( RootService.class ).toClass( RootService.class )
+				.eager( executor )
+				.initialize( );
+
+			assertThat( WarmUpLog.CONSTRUCTED ).hasSize( 3 );
+			assertThat( WarmUpLog.CONSTRUCTED.get( 2 ) ).isEqualTo( RootService.class );
+			assertThat( injector.get( RootService.class ).getLeft( ) ).isSameAs( injector.get( LeftBranch.class ) );
+			assertThat( injector.get( RootService.class ).getRight( ) ).isSameAs( injector.get( RightBranch.class ) );
+			assertThat( WarmUpLog.CONSTRUCTED ).hasSize( 3 );
+		}
+		finally
+		{
+			executor.shutdownNow( );
+		}
+	}
+
+	@Test
+	public void test_eagerMode_skipsTransientBindings( )
+	{
+		MiniDI.create( )
+			.bind( LeftBranch.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( LeftBranch.class )
+			.bind( RightBranch.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( RightBranch.class )
+			.eager( )
+			.initialize( );
+
+		assertThat( WarmUpLog.CONSTRUCTED ).isEmpty( );
+	}
+
+	@Test
+	public void test_defaultMode_constructsSingletonsOnFirstGet( )
+	{
+		MiniDI.create( )
+			.bind( RootService.class ).toClass( RootService.class )
+			.bind( LeftBranch.class ).toClass( LeftBranch.class )
+			.bind( RightBranch.class ).toClass( RightBranch.class )
+			.initialize( );
+
+		assertThat( WarmUpLog.CONSTRUCTED ).isEmpty( );
+	}
+}
@@ -0,0 +1,11 @@
+package com.github.andrpash.minidi.eager.testclasses;
+
+public class LeftBranch
+{
+	public LeftBranch( ) throws Exception
+	{
+		/* only passes if the right branch is constructed at the same time */
+		WarmUpLog.awaitSibling( );
+		WarmUpLog.CONSTRUCTED.add( LeftBranch.class );
+	}
+}
@@ -0,0 +1,11 @@
+package com.github.andrpash.minidi.eager.testclasses;
+
+public class RightBranch
+{
+	public RightBranch( ) throws Exception
+	{
+		/* only passes if the left branch is constructed at the same time */
+		WarmUpLog.awaitSibling( );
+		WarmUpLog.CONSTRUCTED.add( RightBranch.class );
+	}
+}
@@ -0,0 +1,27 @@
+package com.github.andrpash.minidi.eager.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class RootService
+{
+	private final LeftBranch left;
+	private final RightBranch right;
+
+	@MiniDI.Inject
+	public RootService( final LeftBranch left, final RightBranch right )
+	{
+		this.left = left;
+		this.right = right;
+		WarmUpLog.CONSTRUCTED.add( RootService.class );
+	}
+
+	public LeftBranch getLeft( )
+	{
+		return this.left;
+	}
+
+	public RightBranch getRight( )
+	{
+		return this.right;
+	}
+}
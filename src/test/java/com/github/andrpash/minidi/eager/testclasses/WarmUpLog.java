@@ -0,0 +1,23 @@
+package com.github.andrpash.minidi.eager.testclasses;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+public class WarmUpLog
+{
+	public static final List<Class<?>> CONSTRUCTED = new CopyOnWriteArrayList<>( );
+	public static volatile CyclicBarrier barrier = new CyclicBarrier( 2 );
+
+	public static void reset( )
+	{
+		CONSTRUCTED.clear( );
+		barrier = new CyclicBarrier( 2 );
+	}
+
+	static void awaitSibling( ) throws Exception
+	{
+		barrier.await( 5, TimeUnit.SECONDS );
+	}
+}
@@ -1,13 +1,28 @@
 package com.github.andrpash.minidi.factory;
 
 import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.factory.testclasses.batch.Buffer;
+import com.github.andrpash.minidi.factory.testclasses.batch.BufferFactory;
+import com.github.andrpash.minidi.factory.testclasses.batch.Payload;
+import com.github.andrpash.minidi.factory.testclasses.batch.PayloadFactory;
 import com.github.andrpash.minidi.factory.testclasses.simple.*;
+import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 public class FactoryTest
 {
+	@Before
+	public void setUp( )
+	{
+		BufferFactory.FACTORIES.set( 0 );
+		BufferFactory.BATCHES.set( 0 );
+		PayloadFactory.FACTORIES.set( 0 );
+	}
+
 	@Test
 	public void simpleFactory_noDependencies( )
 	{
@@ -45,4 +60,71 @@ public class FactoryTest
 
 		assertThat( instance ).isNotNull( );
 	}
+
+	@Test
+	public void transientFactory_withSingletonDependencies_isReused( )
+	{
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( Payload.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toFactory( PayloadFactory.class )
+			.bind( Buffer.class ).toClass( Buffer.class )
+			.initialize( );
+
+		final Payload first = container.get( Payload.class );
+		final Payload second = container.get( Payload.class );
+
+		assertThat( first ).isNotSameAs( second );
+		assertThat( PayloadFactory.FACTORIES.get( ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void transientFactory_withTransientDependencies_isRebuilt( )
+	{
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( Payload.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toFactory( PayloadFactory.class )
+			.bind( Buffer.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( Buffer.class )
+			.initialize( );
+
+		final Payload first = container.get( Payload.class );
+		final Payload second = container.get( Payload.class );
+
+		assertThat( first.getBuffer( ) ).isNotSameAs( second.getBuffer( ) );
+		assertThat( PayloadFactory.FACTORIES.get( ) ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void getMany_batchFactory_createsOneBatch( )
+	{
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( Buffer.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toFactory( BufferFactory.class )
+			.initialize( );
+
+		final List<Buffer> buffers = container.getMany( Buffer.class, 16 );
+
+		assertThat( buffers ).hasSize( 16 ).doesNotContainNull( ).doesNotHaveDuplicates( );
+		assertThat( BufferFactory.BATCHES.get( ) ).isEqualTo( 1 );
+		assertThat( BufferFactory.FACTORIES.get( ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void getMany_singleton_repeatsInstance( )
+	{
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( Buffer.class ).toFactory( BufferFactory.class )
+			.initialize( );
+
+		final List<Buffer> buffers = container.getMany( Buffer.class, 3 );
+
+		assertThat( buffers ).containsOnly( container.get( Buffer.class ) ).hasSize( 3 );
+		assertThat( BufferFactory.BATCHES.get( ) ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void getMany_classBinding_createsInstances( )
+	{
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( Buffer.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( Buffer.class )
+			.initialize( );
+
+		assertThat( container.getMany( Buffer.class, 4 ) ).hasSize( 4 ).doesNotHaveDuplicates( );
+	}
 }
@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.factory.testclasses.batch;
+
+public class Buffer
+{
+}
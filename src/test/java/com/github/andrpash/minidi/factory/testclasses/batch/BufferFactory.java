@@ -0,0 +1,37 @@
+package com.github.andrpash.minidi.factory.testclasses.batch;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BufferFactory implements MiniDI.BatchFactory<Buffer>
+{
+	public static final AtomicInteger FACTORIES = new AtomicInteger( );
+	public static final AtomicInteger BATCHES = new AtomicInteger( );
+
+	public BufferFactory( )
+	{
+		FACTORIES.incrementAndGet( );
+	}
+
+	@Override
+	public Buffer create( )
+	{
+		return new Buffer( );
+	}
+
+	@Override
+	public List<Buffer> createBatch( final int count )
+	{
+		BATCHES.incrementAndGet( );
+		final List<Buffer> buffers = new ArrayList<>( count );
+		for ( int i = 0; i < count; i++ )
+		{
+			buffers.add( new Buffer( ) );
+		}
+
+		return buffers;
+	}
+}
@@ -0,0 +1,16 @@
+package com.github.andrpash.minidi.factory.testclasses.batch;
+
+public class Payload
+{
+	private final Buffer buffer;
+
+	public Payload( final Buffer buffer )
+	{
+		this.buffer = buffer;
+	}
+
+	public Buffer getBuffer( )
+	{
+		return this.buffer;
+	}
+}
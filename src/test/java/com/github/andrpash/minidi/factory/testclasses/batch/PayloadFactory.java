@@ -0,0 +1,25 @@
+package com.github.andrpash.minidi.factory.testclasses.batch;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PayloadFactory implements MiniDI.Factory<Payload>
+{
+	public static final AtomicInteger FACTORIES = new AtomicInteger( );
+
+	private final Buffer buffer;
+
+	@MiniDI.Inject
+	public PayloadFactory( final Buffer buffer )
+	{
+		FACTORIES.incrementAndGet( );
+		this.buffer = buffer;
+	}
+
+	@Override
+	public Payload create( )
+	{
+		return new Payload( this.buffer );
+	}
+}
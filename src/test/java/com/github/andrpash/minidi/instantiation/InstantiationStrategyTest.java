@@ -0,0 +1,89 @@
+package com.github.andrpash.minidi.instantiation;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.instantiation.testclasses.ConstructorAndFieldClass;
+import com.github.andrpash.minidi.instantiation.testclasses.FinalFieldClass;
+import com.github.andrpash.minidi.instantiation.testclasses.LeafClass;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InstantiationStrategyTest
+{
+	@Test
+	public void test_methodHandleStrategy_injectsConstructorAndFields( )
+	{
+		assertInjectsConstructorAndFields( MiniDI.InstantiationStrategy.METHOD_HANDLES );
+	}
+
+	@Test
+	public void test_reflectionStrategy_injectsConstructorAndFields( )
+	{
+		assertInjectsConstructorAndFields( MiniDI.InstantiationStrategy.REFLECTION );
+	}
+
+	@Test
+	public void test_methodHandleStrategy_fallsBackForFinalFields( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.instantiationStrategy( MiniDI.InstantiationStrategy.METHOD_HANDLES )
+			.bind( LeafClass.class ).toClass( LeafClass.class )
+			.bind( FinalFieldClass.class ).toClass( FinalFieldClass.class )
+			.initialize( );
+
+		assertThat( injector.get( FinalFieldClass.class ).getLeaf( ) ).isSameAs( injector.get( LeafClass.class ) );
+	}
+
+	@Test
+	public void test_customStrategy_isUsedByChildInjectors( )
+	{
+		final AtomicInteger instantiators = new AtomicInteger( );
+		final MiniDI.InstantiationStrategy countingStrategy = new MiniDI.InstantiationStrategy( )
+		{
+			@Override
+			public MiniDI.Instantiator instantiator( final Constructor<?> constructor )
+			{
+				instantiators.incrementAndGet( );
+				return MiniDI.InstantiationStrategy.REFLECTION.instantiator( constructor );
+			}
+
+			@Override
+			public MiniDI.FieldInjector fieldInjector( final Field field )
+			{
+				return MiniDI.InstantiationStrategy.REFLECTION.fieldInjector( field );
+			}
+		};
+
+		final MiniDI.Injector injector = MiniDI.create( )
+			.instantiationStrategy( countingStrategy )
+			.bind( LeafClass.class ).toClass( LeafClass.class )
+			.initialize( )
+			.createChild( )
+			.bind( ConstructorAndFieldClass.class ).toClass( ConstructorAndFieldClass.class )
+			.initialize( );
+
+		assertThat( injector.get( ConstructorAndFieldClass.class ) ).isNotNull( );
+		assertThat( instantiators.get( ) ).isEqualTo( 2 );
+	}
+
+	private static void assertInjectsConstructorAndFields( final MiniDI.InstantiationStrategy strategy )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.instantiationStrategy( strategy )
+			.bind( LeafClass.class ).toClass( LeafClass.class )
+			.bind( ConstructorAndFieldClass.class ).withScope( MiniDI.BindingScope.TRANSIENT )
+			.toClass( ConstructorAndFieldClass.class )
+			.initialize( );
+
+		final ConstructorAndFieldClass instance1 = injector.get( ConstructorAndFieldClass.class );
+		final ConstructorAndFieldClass instance2 = injector.get( ConstructorAndFieldClass.class );
+
+		assertThat( instance1 ).isNotSameAs( instance2 );
+		assertThat( instance1.getConstructorLeaf( ) ).isSameAs( injector.get( LeafClass.class ) );
+		assertThat( instance1.getFieldLeaf( ) ).isSameAs( injector.get( LeafClass.class ) );
+	}
+}
@@ -0,0 +1,27 @@
+package com.github.andrpash.minidi.instantiation.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class ConstructorAndFieldClass
+{
+	private final LeafClass constructorLeaf;
+
+	@MiniDI.Inject
+	private LeafClass fieldLeaf;
+
+	@MiniDI.Inject
+	public ConstructorAndFieldClass( final LeafClass constructorLeaf )
+	{
+		this.constructorLeaf = constructorLeaf;
+	}
+
+	public LeafClass getConstructorLeaf( )
+	{
+		return this.constructorLeaf;
+	}
+
+	public LeafClass getFieldLeaf( )
+	{
+		return this.fieldLeaf;
+	}
+}
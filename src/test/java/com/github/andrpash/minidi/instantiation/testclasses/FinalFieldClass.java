@@ -0,0 +1,14 @@
+package com.github.andrpash.minidi.instantiation.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class FinalFieldClass
+{
+	@MiniDI.Inject
+	private final LeafClass leaf = null;
+
+	public LeafClass getLeaf( )
+	{
+		return this.leaf;
+	}
+}
@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.instantiation.testclasses;
+
+public class LeafClass
+{
+}
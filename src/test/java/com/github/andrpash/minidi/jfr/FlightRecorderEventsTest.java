@@ -0,0 +1,165 @@
+package com.github.andrpash.minidi.jfr;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.jfr.testclasses.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class FlightRecorderEventsTest
+{
+	/* JFR is accessed by reflection so that the tests also compile and get skipped on runtimes without it */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder( );
+
+	@Before
+	public void requireFlightRecorder( )
+	{
+		boolean available;
+		try
+		{
+			Class.forName( "jdk.jfr.EventFactory" );
+			available = ( boolean ) Class.forName( "jdk.jfr.FlightRecorder" ).getMethod( "isAvailable" ).invoke( null );
+		}
+		catch ( final ReflectiveOperationException e )
+		{
+			available = false;
+		}
+		assumeTrue( available );
+	}
+
+	@Test
+	public void test_constructionEventsReportNestingDepth( ) throws Exception
+	{
+		final List<Object> events = record( ( ) -> MiniDI.create( )
+			.bind( Wheel.class ).toClass( Wheel.class )
+			.bind( Axle.class ).toClass( Axle.class )
+			.bind( Display.class ).toClass( LcdDisplay.class )
+			.bind( Chassis.class ).toClass( Chassis.class )
+			.initialize( )
+			.get( Chassis.class ) );
+
+		final Map<String, Integer> depths = new HashMap<>( );
+		for ( final Object event : eventsNamed( events, "minidi.Construction" ) )
+		{
+			depths.put( className( value( event, "bindingClass" ) ), ( Integer ) value( event, "nestingDepth" ) );
+			assertThat( value( event, "scope" ) ).isEqualTo( "SINGLETON" );
+		}
+
+		assertThat( depths ).containsEntry( Chassis.class.getName( ), 0 )
+			.containsEntry( Axle.class.getName( ), 1 )
+			.containsEntry( Wheel.class.getName( ), 2 )
+			.doesNotContainKey( Display.class.getName( ) );
+	}
+
+	@Test
+	public void test_validationLazyInitializationAndChildEvents( ) throws Exception
+	{
+		final List<Object> events = record( ( ) -> {
+			final MiniDI.Injector injector = MiniDI.create( )
+				.bind( Wheel.class ).toClass( Wheel.class )
+				.bind( Axle.class ).toClass( Axle.class )
+				.bind( Display.class ).toClass( LcdDisplay.class )
+				.bind( Chassis.class ).toClass( Chassis.class )
+				.initialize( );
+			injector.get( Chassis.class ).show( );
+			injector.createChild( ).initialize( );
+			injector.createRequestChild( ).initialize( ).close( );
+		} );
+
+		final List<Object> validations = eventsNamed( events, "minidi.Validation" );
+		assertThat( validations ).hasSize( 3 );
+		assertThat( value( validations.get( 0 ), "bindings" ) ).isEqualTo( 5 );
+
+		final List<Object> lazyInitializations = eventsNamed( events, "minidi.LazyInitialization" );
+		assertThat( lazyInitializations ).hasSize( 1 );
+		assertThat( className( value( lazyInitializations.get( 0 ), "instanceClass" ) ) )
+			.isEqualTo( LcdDisplay.class.getName( ) );
+
+		final List<Object> childCreations = eventsNamed( events, "minidi.ChildCreation" );
+		assertThat( childCreations ).hasSize( 2 );
+		assertThat( childCreations.stream( ).map( event -> value( event, "requestChild" ) ) )
+			.containsExactlyInAnyOrder( false, true );
+	}
+
+	private List<Object> record( final Runnable action ) throws Exception
+	{
+		final Class<?> recordingClass = Class.forName( "jdk.jfr.Recording" );
+		final Object recording = recordingClass.getConstructor( ).newInstance( );
+		for ( final String event : new String[] { "minidi.Construction", "minidi.Validation",
+			"minidi.LazyInitialization", "minidi.ChildCreation" } )
+		{
+			recordingClass.getMethod( "enable", String.class ).invoke( recording, event );
+		}
+
+		recordingClass.getMethod( "start" ).invoke( recording );
+		try
+		{
+			action.run( );
+		}
+		finally
+		{
+			recordingClass.getMethod( "stop" ).invoke( recording );
+		}
+
+		final Path file = this.temporaryFolder.newFile( "minidi.jfr" ).toPath( );
+		recordingClass.getMethod( "dump", Path.class ).invoke( recording, file );
+		recordingClass.getMethod( "close" ).invoke( recording );
+
+		return ( List<Object> ) Class.forName( "jdk.jfr.consumer.RecordingFile" )
+			.getMethod( "readAllEvents", Path.class )
+			.invoke( null, file );
+	}
+
+	private static List<Object> eventsNamed( final List<Object> events, final String name )
+	{
+		return events.stream( )
+			.filter( event -> name.equals( invoke( invoke( event, "getEventType" ), "getName" ) ) )
+			.collect( Collectors.toList( ) );
+	}
+
+	private static Object value( final Object event, final String field )
+	{
+		try
+		{
+			final Method getValue = Class.forName( "jdk.jfr.consumer.RecordedObject" ).getMethod( "getValue", String.class );
+
+			return getValue.invoke( event, field );
+		}
+		catch ( final ReflectiveOperationException e )
+		{
+			throw new IllegalStateException( e );
+		}
+	}
+
+	private static String className( final Object recordedClass )
+	{
+		return ( String ) invoke( recordedClass, "getName" );
+	}
+
+	private static Object invoke( final Object target, final String method )
+	{
+		try
+		{
+			final Method accessor = target.getClass( ).getMethod( method );
+			accessor.setAccessible( true );
+
+			return accessor.invoke( target );
+		}
+		catch ( final ReflectiveOperationException e )
+		{
+			throw new IllegalStateException( e );
+		}
+	}
+}
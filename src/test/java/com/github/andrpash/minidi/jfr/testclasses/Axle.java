@@ -0,0 +1,9 @@
+package com.github.andrpash.minidi.jfr.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class Axle
+{
+	@MiniDI.Inject
+	private Wheel wheel;
+}
@@ -0,0 +1,18 @@
+package com.github.andrpash.minidi.jfr.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class Chassis
+{
+	@MiniDI.Inject
+	private Axle axle;
+
+	@MiniDI.Inject
+	@MiniDI.Lazy
+	private Display display;
+
+	public String show( )
+	{
+		return this.display.show( );
+	}
+}
@@ -0,0 +1,6 @@
+package com.github.andrpash.minidi.jfr.testclasses;
+
+public interface Display
+{
+	String show( );
+}
@@ -0,0 +1,10 @@
+package com.github.andrpash.minidi.jfr.testclasses;
+
+public class LcdDisplay implements Display
+{
+	@Override
+	public String show( )
+	{
+		return "lcd";
+	}
+}
@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.jfr.testclasses;
+
+public class Wheel
+{
+}
@@ -4,7 +4,10 @@ import com.github.andrpash.minidi.MiniDI;
 import com.github.andrpash.minidi.lazy.testclasses.*;
 import org.junit.Test;
 
-import java.lang.reflect.Proxy;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -18,6 +21,80 @@ public class LazyInitializationTest
 			.bind( InvalidLazyAnnotationClass.class ).toClass( InvalidLazyAnnotationClass.class );
 	}
 
+	@Test( expected = MiniDI.InvalidLazyAnnotation.class )
+	public void test_lazyConstructorParameterOnFinalClass_throws( )
+	{
+		MiniDI.create( )
+			.bind( FinalDependencyClass.class ).toClass( FinalDependencyClass.class )
+			.bind( InvalidLazyConstructorClass.class ).toClass( InvalidLazyConstructorClass.class );
+	}
+
+	@Test( expected = MiniDI.InvalidLazyAnnotation.class )
+	public void test_lazyClassWithFinalMethod_throws( )
+	{
+		MiniDI.create( )
+			.bind( UnproxyableClasses.LazyFinalMethod.class ).toClass( UnproxyableClasses.LazyFinalMethod.class );
+	}
+
+	@Test( expected = MiniDI.InvalidLazyAnnotation.class )
+	public void test_lazyClassWithInheritedFinalMethod_throws( )
+	{
+		MiniDI.create( )
+			.bind( UnproxyableClasses.LazyInheritedFinalMethod.class )
+			.toClass( UnproxyableClasses.LazyInheritedFinalMethod.class );
+	}
+
+	@Test( expected = MiniDI.InvalidLazyAnnotation.class )
+	public void test_lazyClassWithPackagePrivateMethod_throws( )
+	{
+		MiniDI.create( )
+			.bind( UnproxyableClasses.LazyPackagePrivateMethod.class )
+			.toClass( UnproxyableClasses.LazyPackagePrivateMethod.class );
+	}
+
+	@Test( expected = MiniDI.InvalidLazyAnnotation.class )
+	public void test_lazyClassWithProtectedMethod_throws( )
+	{
+		MiniDI.create( )
+			.bind( UnproxyableClasses.LazyProtectedMethod.class ).toClass( UnproxyableClasses.LazyProtectedMethod.class );
+	}
+
+	@Test( expected = MiniDI.InvalidLazyAnnotation.class )
+	public void test_lazyClassWithAccessibleField_throws( )
+	{
+		MiniDI.create( )
+			.bind( UnproxyableClasses.LazyAccessibleField.class ).toClass( UnproxyableClasses.LazyAccessibleField.class );
+	}
+
+	@Test
+	public void test_lazyConcreteClassDefersConstructionUntilFirstCall_pass( )
+	{
+		/* Given: a class that lazily requires a concrete singleton in a field and a constructor parameter */
+		ReportGenerator.INSTANCES.set( 0 );
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( ReportGenerator.class ).toClass( ReportGenerator.class )
+			.bind( LazyReportClass.class ).toClass( LazyReportClass.class )
+			.initialize( );
+
+		/* When: getting the dependent class */
+		final LazyReportClass instance = container.get( LazyReportClass.class );
+		final ReportGenerator fieldGenerator = instance.getFieldGenerator( );
+		final ReportGenerator constructorGenerator = instance.getConstructorGenerator( );
+
+		/* Then: both proxies are subclasses and nothing was constructed yet */
+		assertThat( fieldGenerator ).isNotNull( ).isNotExactlyInstanceOf( ReportGenerator.class );
+		assertThat( constructorGenerator ).isNotNull( ).isNotExactlyInstanceOf( ReportGenerator.class );
+		assertThat( ReportGenerator.INSTANCES.get( ) ).isEqualTo( 0 );
+
+		/* Then: the first call constructs the singleton exactly once and both proxies delegate to it */
+		assertThat( fieldGenerator.render( "body" ) ).isEqualTo( "Report: body" );
+		assertThat( constructorGenerator.total( 3, 4L ) ).isEqualTo( 12L );
+		assertThat( fieldGenerator.toString( ) ).isEqualTo( "Report" );
+		assertThat( fieldGenerator.self( ) ).isSameAs( constructorGenerator.self( ) )
+			.isSameAs( container.get( ReportGenerator.class ) );
+		assertThat( ReportGenerator.INSTANCES.get( ) ).isEqualTo( 1 );
+	}
+
 	@Test
 	public void test_lazyFieldAnnotation_pass( )
 	{
@@ -29,7 +106,7 @@ public class LazyInitializationTest
 		final SimpleValidLazyFieldClass instance = container.get( SimpleValidLazyFieldClass.class );
 
 		assertThat( instance ).isNotNull( );
-		assertThat( instance.getChild( ) ).isInstanceOf( Proxy.class );
+		assertThat( instance.getChild( ) ).isNotInstanceOf( ClassNameReturnerImpl.class );
 		assertThat( instance.getChild( ).returnClassName( ) ).isEqualTo( ClassNameReturnerImpl.class.getSimpleName( ) );
 	}
 
@@ -44,7 +121,7 @@ public class LazyInitializationTest
 		final SimpleValidLazyConstructorClass instance = container.get( SimpleValidLazyConstructorClass.class );
 
 		assertThat( instance ).isNotNull( );
-		assertThat( instance.getChild( ) ).isInstanceOf( Proxy.class );
+		assertThat( instance.getChild( ) ).isNotInstanceOf( ClassNameReturnerImpl.class );
 		assertThat( instance.getChild( ).returnClassName( ) ).isEqualTo( ClassNameReturnerImpl.class.getSimpleName( ) );
 	}
 
@@ -96,4 +173,85 @@ public class LazyInitializationTest
 
 		assertThat( realInstance1 ).isNotEqualTo( realInstance2 );
 	}
+
+	@Test
+	public void test_lazyProxyDelegatesPrimitiveArgumentsAndReturnValues_pass( )
+	{
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( Calculator.class ).toClass( CountingCalculator.class )
+			.bind( LazyCalculatorClass.class ).toClass( LazyCalculatorClass.class )
+			.initialize( );
+
+		final Calculator calculator = container.get( LazyCalculatorClass.class ).getCalculator( );
+
+		assertThat( calculator ).isNotInstanceOf( CountingCalculator.class );
+		assertThat( calculator.add( Integer.MAX_VALUE, 1 ) ).isEqualTo( Integer.MAX_VALUE + 1L );
+		assertThat( calculator.scale( 1.5, 2f ) ).isEqualTo( 3.0 );
+		assertThat( calculator.isPositive( ( short ) -1 ) ).isFalse( );
+		calculator.reset( );
+	}
+
+	@Test
+	public void test_lazyProxyDelegatesAllParameterSlots_pass( ) throws Exception
+	{
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( WideCalculator.class ).toClass( WideCalculatorImpl.class )
+			.bind( LazyWideCalculatorClass.class ).toClass( LazyWideCalculatorClass.class )
+			.initialize( );
+
+		final WideCalculator calculator = container.get( LazyWideCalculatorClass.class ).getCalculator( );
+
+		/* every long spans two slots, so a misplaced load would mix their halves */
+		final Method sum = WideCalculator.class.getMethods( )[ 0 ];
+		final Object[] arguments = new Object[ sum.getParameterCount( ) ];
+		long expected = 0;
+		for ( int i = 0; i < arguments.length; i++ )
+		{
+			final boolean isInt = i == 0 || i == arguments.length - 1;
+			arguments[ i ] = isInt ? ( Object ) ( i + 1 ) : ( Object ) ( ( long ) i << 32 | i );
+			expected += isInt ? i + 1 : ( long ) i << 32 | i;
+		}
+
+		assertThat( calculator ).isNotInstanceOf( WideCalculatorImpl.class );
+		assertThat( sum.invoke( calculator, arguments ) ).isEqualTo( expected );
+	}
+
+	@Test
+	public void test_lazyProxyInitializesExactlyOnceUnderConcurrentAccess_pass( ) throws Exception
+	{
+		/* Given: a lazy dependency on a slow singleton that was not constructed yet */
+		CountingCalculator.INSTANCES.set( 0 );
+		final MiniDI.Injector container = MiniDI.create( )
+			.bind( Calculator.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( CountingCalculator.class )
+			.bind( LazyCalculatorClass.class ).toClass( LazyCalculatorClass.class )
+			.initialize( );
+		final Calculator calculator = container.get( LazyCalculatorClass.class ).getCalculator( );
+
+		/* When: many threads touch the proxy at the same time */
+		final int threads = 16;
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try
+		{
+			final CyclicBarrier barrier = new CyclicBarrier( threads );
+			final List<Future<Long>> results = new ArrayList<>( );
+			for ( int i = 0; i < threads; i++ )
+			{
+				results.add( executor.submit( ( ) -> {
+					barrier.await( );
+					return calculator.add( 1, 1 );
+				} ) );
+			}
+			for ( final Future<Long> result : results )
+			{
+				assertThat( result.get( 10, TimeUnit.SECONDS ) ).isEqualTo( 2L );
+			}
+		}
+		finally
+		{
+			executor.shutdownNow( );
+		}
+
+		/* Then: the transient binding was only resolved once for this proxy */
+		assertThat( CountingCalculator.INSTANCES.get( ) ).isEqualTo( 1 );
+	}
 }
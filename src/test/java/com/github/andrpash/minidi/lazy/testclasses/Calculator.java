@@ -0,0 +1,12 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+public interface Calculator
+{
+	long add( long first, int second );
+
+	double scale( double value, float factor );
+
+	boolean isPositive( short value );
+
+	void reset( );
+}
@@ -0,0 +1,37 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CountingCalculator implements Calculator
+{
+	public static final AtomicInteger INSTANCES = new AtomicInteger( );
+
+	public CountingCalculator( ) throws InterruptedException
+	{
+		INSTANCES.incrementAndGet( );
+		Thread.sleep( 20 );
+	}
+
+	@Override
+	public long add( final long first, final int second )
+	{
+		return first + second;
+	}
+
+	@Override
+	public double scale( final double value, final float factor )
+	{
+		return value * factor;
+	}
+
+	@Override
+	public boolean isPositive( final short value )
+	{
+		return value > 0;
+	}
+
+	@Override
+	public void reset( )
+	{
+	}
+}
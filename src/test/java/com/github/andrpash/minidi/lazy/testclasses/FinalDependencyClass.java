@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+public final class FinalDependencyClass
+{
+}
@@ -6,5 +6,5 @@ public class InvalidLazyAnnotationClass
 {
 	@MiniDI.Inject
 	@MiniDI.Lazy
-	private NoDependencyClass child;
+	private FinalDependencyClass child;
 }
@@ -0,0 +1,11 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class InvalidLazyConstructorClass
+{
+	@MiniDI.Inject
+	public InvalidLazyConstructorClass( @MiniDI.Lazy final FinalDependencyClass child )
+	{
+	}
+}
@@ -0,0 +1,15 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class LazyCalculatorClass
+{
+	@MiniDI.Inject
+	@MiniDI.Lazy
+	private Calculator calculator;
+
+	public Calculator getCalculator( )
+	{
+		return this.calculator;
+	}
+}
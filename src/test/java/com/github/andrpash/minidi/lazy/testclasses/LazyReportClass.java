@@ -0,0 +1,28 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class LazyReportClass
+{
+	@MiniDI.Inject
+	@MiniDI.Lazy
+	ReportGenerator fieldGenerator;
+
+	final ReportGenerator constructorGenerator;
+
+	@MiniDI.Inject
+	public LazyReportClass( @MiniDI.Lazy final ReportGenerator constructorGenerator )
+	{
+		this.constructorGenerator = constructorGenerator;
+	}
+
+	public ReportGenerator getFieldGenerator( )
+	{
+		return this.fieldGenerator;
+	}
+
+	public ReportGenerator getConstructorGenerator( )
+	{
+		return this.constructorGenerator;
+	}
+}
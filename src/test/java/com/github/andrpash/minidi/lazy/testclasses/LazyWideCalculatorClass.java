@@ -0,0 +1,15 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class LazyWideCalculatorClass
+{
+	@MiniDI.Inject
+	@MiniDI.Lazy
+	private WideCalculator calculator;
+
+	public WideCalculator getCalculator( )
+	{
+		return this.calculator;
+	}
+}
@@ -0,0 +1,37 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReportGenerator
+{
+	public static final AtomicInteger INSTANCES = new AtomicInteger( );
+
+	private final String header;
+
+	public ReportGenerator( )
+	{
+		INSTANCES.incrementAndGet( );
+		this.header = "Report";
+	}
+
+	public String render( final String body )
+	{
+		return this.header + ": " + body;
+	}
+
+	public long total( final int count, final long price )
+	{
+		return count * price;
+	}
+
+	public ReportGenerator self( )
+	{
+		return this;
+	}
+
+	@Override
+	public String toString( )
+	{
+		return this.header;
+	}
+}
@@ -0,0 +1,75 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class UnproxyableClasses
+{
+	public static class FinalMethod
+	{
+		public final String name( )
+		{
+			return "real";
+		}
+	}
+
+	public static class PackagePrivateMethod
+	{
+		String name( )
+		{
+			return "real";
+		}
+	}
+
+	public static class ProtectedMethod
+	{
+		protected String name( )
+		{
+			return "real";
+		}
+	}
+
+	public static class AccessibleField
+	{
+		public String name = "real";
+	}
+
+	public static class InheritedFinalMethod extends FinalMethod
+	{
+	}
+
+	public static class LazyFinalMethod
+	{
+		@MiniDI.Inject
+		@MiniDI.Lazy
+		private FinalMethod dependency;
+	}
+
+	public static class LazyPackagePrivateMethod
+	{
+		@MiniDI.Inject
+		@MiniDI.Lazy
+		private PackagePrivateMethod dependency;
+	}
+
+	public static class LazyProtectedMethod
+	{
+		@MiniDI.Inject
+		@MiniDI.Lazy
+		private ProtectedMethod dependency;
+	}
+
+	public static class LazyAccessibleField
+	{
+		@MiniDI.Inject
+		@MiniDI.Lazy
+		private AccessibleField dependency;
+	}
+
+	public static class LazyInheritedFinalMethod
+	{
+		@MiniDI.Inject
+		public LazyInheritedFinalMethod( @MiniDI.Lazy final InheritedFinalMethod dependency )
+		{
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.github.andrpash.minidi.lazy.testclasses;
+
+public class WideCalculatorImpl implements WideCalculator
+{
+	@Override
+	public long sum( final int first, final long l0, final long l1, final long l2, final long l3, final long l4,
+		final long l5, final long l6, final long l7, final long l8, final long l9, final long l10,
+		final long l11, final long l12, final long l13, final long l14, final long l15, final long l16,
+		final long l17, final long l18, final long l19, final long l20, final long l21, final long l22,
+		final long l23, final long l24, final long l25, final long l26, final long l27, final long l28,
+		final long l29, final long l30, final long l31, final long l32, final long l33, final long l34,
+		final long l35, final long l36, final long l37, final long l38, final long l39, final long l40,
+		final long l41, final long l42, final long l43, final long l44, final long l45, final long l46,
+		final long l47, final long l48, final long l49, final long l50, final long l51, final long l52,
+		final long l53, final long l54, final long l55, final long l56, final long l57, final long l58,
+		final long l59, final long l60, final long l61, final long l62, final long l63, final long l64,
+		final long l65, final long l66, final long l67, final long l68, final long l69, final long l70,
+		final long l71, final long l72, final long l73, final long l74, final long l75, final long l76,
+		final long l77, final long l78, final long l79, final long l80, final long l81, final long l82,
+		final long l83, final long l84, final long l85, final long l86, final long l87, final long l88,
+		final long l89, final long l90, final long l91, final long l92, final long l93, final long l94,
+		final long l95, final long l96, final long l97, final long l98, final long l99, final long l100,
+		final long l101, final long l102, final long l103, final long l104, final long l105,
+		final long l106, final long l107, final long l108, final long l109, final long l110,
+		final long l111, final long l112, final long l113, final long l114, final long l115,
+		final long l116, final long l117, final long l118, final long l119, final long l120,
+		final long l121, final long l122, final long l123, final long l124, final long l125,
+		final int last )
+	{
+		return first + last
+			+ l0 + l1 + l2 + l3 + l4 + l5 + l6 + l7 + l8 + l9 + l10 + l11 + l12 + l13 + l14 + l15 + l16 + l17 + l18 + l19 + l20 + l21
+			+ l22 + l23 + l24 + l25 + l26 + l27 + l28 + l29 + l30 + l31 + l32 + l33 + l34 + l35 + l36 + l37 + l38 + l39 + l40 + l41
+			+ l42 + l43 + l44 + l45 + l46 + l47 + l48 + l49 + l50 + l51 + l52 + l53 + l54 + l55 + l56 + l57 + l58 + l59 + l60 + l61
+			+ l62 + l63 + l64 + l65 + l66 + l67 + l68 + l69 + l70 + l71 + l72 + l73 + l74 + l75 + l76 + l77 + l78 + l79 + l80 + l81
+			+ l82 + l83 + l84 + l85 + l86 + l87 + l88 + l89 + l90 + l91 + l92 + l93 + l94 + l95 + l96 + l97 + l98 + l99 + l100
+			+ l101 + l102 + l103 + l104 + l105 + l106 + l107 + l108 + l109 + l110 + l111 + l112 + l113 + l114 + l115 + l116
+			+ l117 + l118 + l119 + l120 + l121 + l122 + l123 + l124 + l125;
+	}
+}
@@ -0,0 +1,188 @@
+package com.github.andrpash.minidi.lifecycle;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.lifecycle.testclasses.Connection;
+import com.github.andrpash.minidi.lifecycle.testclasses.Database;
+import com.github.andrpash.minidi.lifecycle.testclasses.Events;
+import com.github.andrpash.minidi.lifecycle.testclasses.FailingService;
+import com.github.andrpash.minidi.lifecycle.testclasses.InvalidLifecycle;
+import com.github.andrpash.minidi.lifecycle.testclasses.MailService;
+import com.github.andrpash.minidi.lifecycle.testclasses.OtherWorker;
+import com.github.andrpash.minidi.lifecycle.testclasses.Repository;
+import com.github.andrpash.minidi.lifecycle.testclasses.Worker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LifecycleTest
+{
+	@Before
+	public void setUp( )
+	{
+		Events.LOG.clear( );
+	}
+
+	@Test
+	public void test_postConstructRunsBeforeInstanceIsReturned( )
+	{
+		final Database database = MiniDI.create( )
+			.bind( Database.class ).toClass( Database.class )
+			.initialize( )
+			.get( Database.class );
+
+		assertThat( database.connected ).isTrue( );
+	}
+
+	@Test
+	public void test_dependentsAreDestroyedFirst( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Database.class ).toClass( Database.class )
+			.bind( Repository.class ).toClass( Repository.class )
+			.initialize( );
+		injector.get( Repository.class );
+
+		injector.close( );
+
+		assertThat( Events.LOG ).containsExactly(
+			"database connected",
+			"repository flushed, database connected: true",
+			"database disconnected" );
+	}
+
+	@Test
+	public void test_concurrentCloseDestroysOnce( ) throws Exception
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Database.class ).toClass( Database.class )
+			.initialize( );
+		injector.get( Database.class );
+
+		final int threads = 8;
+		final CyclicBarrier barrier = new CyclicBarrier( threads );
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try
+		{
+			for ( int i = 0; i < threads; i++ )
+			{
+				executor.submit( ( ) -> {
+					barrier.await( );
+					injector.close( );
+					return null;
+				} );
+			}
+		}
+		finally
+		{
+			executor.shutdown( );
+			executor.awaitTermination( 10, TimeUnit.SECONDS );
+		}
+
+		assertThat( Events.LOG ).containsOnlyOnce( "database disconnected" );
+	}
+
+	@Test
+	public void test_unconstructedSingletonsAreNotDestroyed( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Database.class ).toClass( Database.class )
+			.initialize( );
+
+		injector.close( );
+
+		assertThat( Events.LOG ).isEmpty( );
+	}
+
+	@Test
+	public void test_inheritedLifecycleMethods( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( MailService.class ).toClass( MailService.class )
+			.initialize( );
+		injector.get( MailService.class );
+
+		injector.close( );
+
+		assertThat( Events.LOG ).containsExactly( "base initialized", "mail initialized", "mail stopped" );
+	}
+
+	@Test
+	public void test_closeableBindingsAreClosedOnlyWhenOptedIn( )
+	{
+		final Connection closeable = new Connection( );
+		final Connection kept = new Connection( );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Connection.class ).closeOnShutdown( ).toInstance( closeable )
+			.bind( AutoCloseable.class ).toInstance( kept )
+			.initialize( );
+
+		injector.close( );
+		injector.close( );
+
+		assertThat( closeable.closed ).isTrue( );
+		assertThat( kept.closed ).isFalse( );
+	}
+
+	@Test
+	public void test_independentBranchesAreDestroyedInParallel( )
+	{
+		Worker.barrier = new CyclicBarrier( 2 );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Worker.class ).toClass( Worker.class )
+			.bind( OtherWorker.class ).toClass( OtherWorker.class )
+			.shutdown( Executors.newFixedThreadPool( 2 ), 10, TimeUnit.SECONDS )
+			.initialize( );
+		injector.get( Worker.class );
+		injector.get( OtherWorker.class );
+
+		injector.close( );
+
+		assertThat( Worker.barrier.isBroken( ) ).isFalse( );
+	}
+
+	@Test
+	public void test_shutdownTimeout_throws( )
+	{
+		Worker.barrier = new CyclicBarrier( 2 );
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Worker.class ).toClass( Worker.class )
+			.shutdown( Executors.newSingleThreadExecutor( ), 50, TimeUnit.MILLISECONDS )
+			.initialize( );
+		injector.get( Worker.class );
+
+		assertThatThrownBy( injector::close )
+			.isInstanceOf( MiniDI.ShutdownException.class )
+			.hasMessageContaining( "50 ms" );
+	}
+
+	@Test
+	public void test_failingPreDestroyDoesNotStopShutdown( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( FailingService.class ).toClass( FailingService.class )
+			.bind( Database.class ).toClass( Database.class )
+			.initialize( );
+		injector.get( FailingService.class );
+		injector.get( Database.class );
+
+		assertThatThrownBy( injector::close )
+			.isInstanceOf( MiniDI.ShutdownException.class )
+			.hasCauseInstanceOf( IllegalStateException.class );
+		assertThat( Events.LOG ).contains( "database disconnected" );
+	}
+
+	@Test( expected = MiniDI.InvalidLifecycleMethod.class )
+	public void test_lifecycleMethodWithParameters_throws( )
+	{
+		MiniDI.create( )
+			.bind( InvalidLifecycle.class ).toClass( InvalidLifecycle.class )
+			.initialize( );
+	}
+}
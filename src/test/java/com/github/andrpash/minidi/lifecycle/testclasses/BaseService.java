@@ -0,0 +1,18 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public abstract class BaseService
+{
+	@MiniDI.PostConstruct
+	private void initBase( )
+	{
+		Events.LOG.add( "base initialized" );
+	}
+
+	@MiniDI.PreDestroy
+	public void stop( )
+	{
+		Events.LOG.add( "base stopped" );
+	}
+}
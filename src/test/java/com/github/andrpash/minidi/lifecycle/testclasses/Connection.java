@@ -0,0 +1,12 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+public class Connection implements AutoCloseable
+{
+	public volatile boolean closed = false;
+
+	@Override
+	public void close( )
+	{
+		this.closed = true;
+	}
+}
@@ -0,0 +1,22 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class Database
+{
+	public volatile boolean connected = false;
+
+	@MiniDI.PostConstruct
+	void connect( )
+	{
+		this.connected = true;
+		Events.LOG.add( "database connected" );
+	}
+
+	@MiniDI.PreDestroy
+	void disconnect( )
+	{
+		this.connected = false;
+		Events.LOG.add( "database disconnected" );
+	}
+}
@@ -0,0 +1,9 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class Events
+{
+	public static final List<String> LOG = new CopyOnWriteArrayList<>( );
+}
@@ -0,0 +1,12 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class FailingService
+{
+	@MiniDI.PreDestroy
+	void stop( )
+	{
+		throw new IllegalStateException( "stop failed" );
+	}
+}
@@ -0,0 +1,11 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class InvalidLifecycle
+{
+	@MiniDI.PostConstruct
+	void init( final String name )
+	{
+	}
+}
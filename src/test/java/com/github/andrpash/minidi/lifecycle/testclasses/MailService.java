@@ -0,0 +1,19 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class MailService extends BaseService
+{
+	@MiniDI.PostConstruct
+	void init( )
+	{
+		Events.LOG.add( "mail initialized" );
+	}
+
+	@Override
+	@MiniDI.PreDestroy
+	public void stop( )
+	{
+		Events.LOG.add( "mail stopped" );
+	}
+}
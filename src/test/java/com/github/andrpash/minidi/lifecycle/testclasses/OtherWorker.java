@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+public class OtherWorker extends Worker
+{
+}
@@ -0,0 +1,20 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class Repository
+{
+	private final Database database;
+
+	@MiniDI.Inject
+	public Repository( final Database database )
+	{
+		this.database = database;
+	}
+
+	@MiniDI.PreDestroy
+	void flush( )
+	{
+		Events.LOG.add( "repository flushed, database connected: " + this.database.connected );
+	}
+}
@@ -0,0 +1,17 @@
+package com.github.andrpash.minidi.lifecycle.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+public class Worker
+{
+	public static volatile CyclicBarrier barrier;
+
+	@MiniDI.PreDestroy
+	void drain( ) throws Exception
+	{
+		barrier.await( 5, TimeUnit.SECONDS );
+	}
+}
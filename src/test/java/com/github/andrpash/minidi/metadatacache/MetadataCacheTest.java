@@ -0,0 +1,174 @@
+package com.github.andrpash.minidi.metadatacache;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.metadatacache.testclasses.EnglishGreeter;
+import com.github.andrpash.minidi.metadatacache.testclasses.Greeter;
+import com.github.andrpash.minidi.metadatacache.testclasses.GreetingService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class MetadataCacheTest
+{
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder( );
+
+	@Test
+	public void test_cacheIsWrittenOnInitialize( ) throws IOException
+	{
+		final Path cache = this.temporaryFolder.getRoot( ).toPath( ).resolve( "minidi" ).resolve( "metadata.bin" );
+
+		assertGreetingServiceWorks( createInjector( cache ) );
+
+		final String content = new String( Files.readAllBytes( cache ), StandardCharsets.ISO_8859_1 );
+		assertThat( content ).contains( GreetingService.class.getName( ) ).contains( EnglishGreeter.class.getName( ) );
+	}
+
+	@Test
+	public void test_unchangedClassesAreReadFromCache( ) throws IOException
+	{
+		final Path cache = this.temporaryFolder.getRoot( ).toPath( ).resolve( "metadata.bin" );
+		createInjector( cache );
+		final FileTime written = FileTime.fromMillis( 0 );
+		Files.setLastModifiedTime( cache, written );
+
+		assertGreetingServiceWorks( createInjector( cache ) );
+
+		assertThat( Files.getLastModifiedTime( cache ) ).isEqualTo( written );
+	}
+
+	@Test
+	public void test_staleEntriesAreScannedAgain( ) throws IOException
+	{
+		final Path cache = this.temporaryFolder.getRoot( ).toPath( ).resolve( "metadata.bin" );
+		createInjector( cache );
+		final byte[] stale = Files.readAllBytes( cache );
+		/* the class file hash directly follows the length of the first entry */
+		final int hashOffset = 12 + 2 + ( ( stale[ 12 ] & 0xff ) << 8 | stale[ 13 ] & 0xff ) + 4;
+		stale[ hashOffset + 7 ] ^= 0xff;
+		Files.write( cache, stale );
+
+		assertGreetingServiceWorks( createInjector( cache ) );
+
+		assertThat( Files.readAllBytes( cache ) ).isNotEqualTo( stale );
+		assertThat( Files.size( cache ) ).isEqualTo( stale.length );
+	}
+
+	@Test
+	public void test_brokenCacheIsRebuilt( ) throws IOException
+	{
+		final Path cache = this.temporaryFolder.getRoot( ).toPath( ).resolve( "metadata.bin" );
+		Files.write( cache, new byte[] { 1, 2, 3 } );
+
+		assertGreetingServiceWorks( createInjector( cache ) );
+
+		assertThat( Files.size( cache ) ).isGreaterThan( 3 );
+	}
+
+	@Test
+	public void test_entriesOfUnchangedClassesWithChangedDependenciesAreScannedAgain( ) throws Exception
+	{
+		final Path cache = this.temporaryFolder.getRoot( ).toPath( ).resolve( "metadata.bin" );
+		final String dependent = "package cached; public class Dependent { "
+			+ "@com.github.andrpash.minidi.MiniDI.Inject @com.github.andrpash.minidi.MiniDI.Lazy "
+			+ "public Dependency dependency; }";
+
+		final Path proxyable = compile( "proxyable", dependent, "package cached; public interface Dependency { }" );
+		try ( final URLClassLoader classLoader = load( proxyable ) )
+		{
+			createInjector( cache, classLoader );
+		}
+
+		/* the dependent class file stays the same, but the dependency can no longer be proxied */
+		final Path unproxyable = compile( "unproxyable", dependent,
+			"package cached; public final class Dependency implements Runnable { public void run( ) { } }" );
+		assertThat( Files.readAllBytes( unproxyable.resolve( "cached/Dependent.class" ) ) )
+			.isEqualTo( Files.readAllBytes( proxyable.resolve( "cached/Dependent.class" ) ) );
+
+		MiniDI.InvalidLazyAnnotation caughtException = null;
+		try ( final URLClassLoader classLoader = load( unproxyable ) )
+		{
+			createInjector( cache, classLoader );
+		}
+		catch ( final MiniDI.InvalidLazyAnnotation e )
+		{
+			caughtException = e;
+		}
+		assertThat( caughtException ).isNotNull( );
+	}
+
+	private Path compile( final String directory, final String... sources ) throws Exception
+	{
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler( );
+		assumeTrue( compiler != null );
+
+		final Path root = this.temporaryFolder.newFolder( directory ).toPath( );
+		final String[] arguments = new String[ sources.length + 4 ];
+		arguments[ 0 ] = "-d";
+		arguments[ 1 ] = root.toString( );
+		arguments[ 2 ] = "-classpath";
+		arguments[ 3 ] = Paths.get( MiniDI.class.getProtectionDomain( ).getCodeSource( ).getLocation( ).toURI( ) )
+			.toString( );
+		for ( int i = 0; i < sources.length; i++ )
+		{
+			final String name = sources[ i ].replaceAll( "(?s).* (class|interface) (\\w+).*", "$2" );
+			final Path source = root.resolve( name + ".java" );
+			Files.write( source, sources[ i ].getBytes( StandardCharsets.UTF_8 ) );
+			arguments[ i + 4 ] = source.toString( );
+		}
+		assertThat( compiler.run( null, null, null, arguments ) ).isZero( );
+
+		return root;
+	}
+
+	private static URLClassLoader load( final Path classes ) throws IOException
+	{
+		return new URLClassLoader( new URL[] { classes.toUri( ).toURL( ) }, MetadataCacheTest.class.getClassLoader( ) );
+	}
+
+	private static void createInjector( final Path cache, final ClassLoader classLoader ) throws ClassNotFoundException
+	{
+		final Class<Object> dependency = ( Class<Object> ) classLoader.loadClass( "cached.Dependency" );
+		final Class<Object> dependent = ( Class<Object> ) classLoader.loadClass( "cached.Dependent" );
+
+		MiniDI.create( )
+			.metadataCache( cache )
+			.bind( dependency ).toInstance( new Object( ) )
+			.bind( dependent ).toClass( dependent )
+			.initialize( );
+	}
+
+	private static MiniDI.Injector createInjector( final Path cache )
+	{
+		return MiniDI.create( )
+			.metadataCache( cache )
+			.bind( Greeter.class ).toClass( EnglishGreeter.class )
+			.bind( GreetingService.class ).toClass( GreetingService.class )
+			.initialize( );
+	}
+
+	private static void assertGreetingServiceWorks( final MiniDI.Injector injector )
+	{
+		final GreetingService greetingService = injector.get( GreetingService.class );
+		final Greeter greeter = injector.get( Greeter.class );
+
+		assertThat( greetingService.isWarmedUp( ) ).isTrue( );
+		assertThat( greetingService.getGreeter( ) ).isSameAs( greeter );
+		assertThat( greetingService.getLazyGreeter( ).greet( "Bob" ) ).isEqualTo( "Hello Bob" );
+		assertThat( greetingService.getGreeters( ).get( ) ).isSameAs( greeter );
+	}
+}
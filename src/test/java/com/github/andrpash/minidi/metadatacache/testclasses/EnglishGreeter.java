@@ -0,0 +1,10 @@
+package com.github.andrpash.minidi.metadatacache.testclasses;
+
+public class EnglishGreeter implements Greeter
+{
+	@Override
+	public String greet( final String name )
+	{
+		return "Hello " + name;
+	}
+}
@@ -0,0 +1,6 @@
+package com.github.andrpash.minidi.metadatacache.testclasses;
+
+public interface Greeter
+{
+	String greet( String name );
+}
@@ -0,0 +1,49 @@
+package com.github.andrpash.minidi.metadatacache.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class GreetingService
+{
+	private final Greeter greeter;
+
+	@MiniDI.Inject
+	@MiniDI.Lazy
+	private Greeter lazyGreeter;
+
+	@MiniDI.Inject
+	private MiniDI.Provider<Greeter> greeters;
+
+	private boolean warmedUp = false;
+
+	@MiniDI.Inject
+	public GreetingService( final Greeter greeter )
+	{
+		this.greeter = greeter;
+	}
+
+	@MiniDI.PostConstruct
+	void warmUp( )
+	{
+		this.warmedUp = true;
+	}
+
+	public boolean isWarmedUp( )
+	{
+		return this.warmedUp;
+	}
+
+	public Greeter getGreeter( )
+	{
+		return this.greeter;
+	}
+
+	public Greeter getLazyGreeter( )
+	{
+		return this.lazyGreeter;
+	}
+
+	public MiniDI.Provider<Greeter> getGreeters( )
+	{
+		return this.greeters;
+	}
+}
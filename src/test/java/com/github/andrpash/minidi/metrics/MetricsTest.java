@@ -0,0 +1,129 @@
+package com.github.andrpash.minidi.metrics;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.metrics.testclasses.Car;
+import com.github.andrpash.minidi.metrics.testclasses.Engine;
+import com.github.andrpash.minidi.metrics.testclasses.EngineFactory;
+import com.github.andrpash.minidi.metrics.testclasses.PetrolEngine;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsTest
+{
+	private final MBeanServer server = MBeanServerFactory.newMBeanServer( );
+
+	@Test
+	public void test_singletonLookupsHitsAndConstructionsAreCounted( ) throws JMException
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.metrics( new MiniDI.JmxMetrics( this.server ) )
+			.bind( Engine.class ).toClass( PetrolEngine.class )
+			.initialize( );
+
+		injector.get( Engine.class );
+		injector.get( Engine.class );
+		injector.get( Engine.class );
+
+		final ObjectName engine = binding( Engine.class );
+		assertThat( this.server.getAttribute( engine, "Lookups" ) ).isEqualTo( 3L );
+		assertThat( this.server.getAttribute( engine, "Constructions" ) ).isEqualTo( 1L );
+		assertThat( this.server.getAttribute( engine, "SingletonHits" ) ).isEqualTo( 2L );
+	}
+
+	@Test
+	public void test_transientConstructionsAreRecordedInHistogram( ) throws JMException
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.metrics( new MiniDI.JmxMetrics( this.server ) )
+			.bind( Engine.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( PetrolEngine.class )
+			.initialize( );
+
+		for ( int i = 0; i < 5; i++ )
+		{
+			injector.get( Engine.class );
+		}
+
+		final ObjectName engine = binding( Engine.class );
+		final long[] histogram = ( long[] ) this.server.getAttribute( engine, "ConstructionLatencyHistogram" );
+		assertThat( this.server.getAttribute( engine, "Constructions" ) ).isEqualTo( 5L );
+		assertThat( Arrays.stream( histogram ).sum( ) ).isEqualTo( 5L );
+		assertThat( ( Long ) this.server.getAttribute( engine, "ConstructionNanos" ) ).isPositive( );
+	}
+
+	@Test
+	public void test_batchConstructionsAreCounted( ) throws JMException
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.metrics( new MiniDI.JmxMetrics( this.server ) )
+			.bind( Engine.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toFactory( EngineFactory.class )
+			.initialize( );
+
+		injector.getMany( Engine.class, 4 );
+
+		final ObjectName engine = binding( Engine.class );
+		final long[] histogram = ( long[] ) this.server.getAttribute( engine, "ConstructionLatencyHistogram" );
+		assertThat( this.server.getAttribute( engine, "Lookups" ) ).isEqualTo( 1L );
+		assertThat( this.server.getAttribute( engine, "Constructions" ) ).isEqualTo( 4L );
+		assertThat( Arrays.stream( histogram ).sum( ) ).isEqualTo( 4L );
+	}
+
+	@Test
+	public void test_lazyInitializationsAreCounted( ) throws JMException
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.metrics( new MiniDI.JmxMetrics( this.server ) )
+			.bind( Engine.class ).toClass( PetrolEngine.class )
+			.bind( Car.class ).toClass( Car.class )
+			.initialize( );
+
+		final Car car = injector.get( Car.class );
+		assertThat( this.server.getAttribute( binding( Engine.class ), "LazyInitializations" ) ).isEqualTo( 0L );
+
+		car.drive( );
+		car.drive( );
+		assertThat( this.server.getAttribute( binding( Engine.class ), "LazyInitializations" ) ).isEqualTo( 1L );
+	}
+
+	@Test
+	public void test_childInjectorsRegisterOwnBeansUntilClosed( ) throws JMException
+	{
+		final MiniDI.Injector root = MiniDI.create( )
+			.metrics( new MiniDI.JmxMetrics( this.server ) )
+			.bind( Engine.class ).toClass( PetrolEngine.class )
+			.initialize( );
+		final MiniDI.Injector child = root.createChild( )
+			.bind( Car.class ).toClass( Car.class )
+			.initialize( );
+
+		child.get( Car.class );
+		child.get( Engine.class );
+
+		final Set<ObjectName> carBeans = this.server.queryNames( new ObjectName(
+			"com.github.andrpash.minidi:type=Binding,binding=" + ObjectName.quote( Car.class.getName( ) ) + ",*" ), null );
+		assertThat( carBeans ).hasSize( 1 );
+		assertThat( carBeans.iterator( ).next( ).getKeyProperty( "injector" ) ).contains( ".child-" );
+		assertThat( this.server.getAttribute( binding( Engine.class ), "Lookups" ) ).isEqualTo( 1L );
+
+		child.close( );
+
+		assertThat( this.server.queryNames( carBeans.iterator( ).next( ), null ) ).isEmpty( );
+		assertThat( this.server.isRegistered( binding( Engine.class ) ) ).isTrue( );
+	}
+
+	private ObjectName binding( final Class<?> key ) throws JMException
+	{
+		final Set<ObjectName> names = this.server.queryNames( new ObjectName(
+			"com.github.andrpash.minidi:type=Binding,binding=" + ObjectName.quote( key.getName( ) ) + ",*" ), null );
+		assertThat( names ).hasSize( 1 );
+
+		return names.iterator( ).next( );
+	}
+}
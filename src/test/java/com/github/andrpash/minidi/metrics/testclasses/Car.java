@@ -0,0 +1,15 @@
+package com.github.andrpash.minidi.metrics.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class Car
+{
+	@MiniDI.Inject
+	@MiniDI.Lazy
+	private Engine engine;
+
+	public String drive( )
+	{
+		return this.engine.start( );
+	}
+}
@@ -0,0 +1,6 @@
+package com.github.andrpash.minidi.metrics.testclasses;
+
+public interface Engine
+{
+	String start( );
+}
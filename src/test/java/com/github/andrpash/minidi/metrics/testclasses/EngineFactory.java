@@ -0,0 +1,27 @@
+package com.github.andrpash.minidi.metrics.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EngineFactory implements MiniDI.BatchFactory<Engine>
+{
+	@Override
+	public Engine create( )
+	{
+		return new PetrolEngine( );
+	}
+
+	@Override
+	public List<Engine> createBatch( final int count )
+	{
+		final List<Engine> engines = new ArrayList<>( count );
+		for ( int i = 0; i < count; i++ )
+		{
+			engines.add( new PetrolEngine( ) );
+		}
+
+		return engines;
+	}
+}
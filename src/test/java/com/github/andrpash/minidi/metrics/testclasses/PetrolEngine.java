@@ -0,0 +1,10 @@
+package com.github.andrpash.minidi.metrics.testclasses;
+
+public class PetrolEngine implements Engine
+{
+	@Override
+	public String start( )
+	{
+		return "brumm";
+	}
+}
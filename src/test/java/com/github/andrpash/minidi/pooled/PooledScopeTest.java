@@ -0,0 +1,184 @@
+package com.github.andrpash.minidi.pooled;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.pooled.testclasses.Parser;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PooledScopeTest
+{
+	private MiniDI.PooledScope<Parser> parsers;
+	private MiniDI.Injector injector;
+
+	@Before
+	public void setUp( )
+	{
+		Parser.CREATED.set( 0 );
+		this.parsers = MiniDI.Scope.pooled( 2, Parser::reset );
+		this.injector = MiniDI.create( )
+			.bind( Parser.class ).withScope( this.parsers ).toClass( Parser.class )
+			.initialize( );
+	}
+
+	@Test
+	public void test_borrowedInstancesAreNotShared( )
+	{
+		final Parser first = this.injector.get( Parser.class );
+		final Parser second = this.injector.get( Parser.class );
+
+		assertThat( first ).isNotSameAs( second );
+		assertThat( Parser.CREATED.get( ) ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void test_releasedInstanceIsResetAndReused( )
+	{
+		final Parser parser = this.injector.get( Parser.class );
+		parser.buffer.append( "payload" );
+
+		this.parsers.release( Parser.class, parser );
+
+		assertThat( this.injector.get( Parser.class ) ).isSameAs( parser );
+		assertThat( parser.buffer ).isEmpty( );
+		assertThat( Parser.CREATED.get( ) ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void test_handleReleasesOnClose( )
+	{
+		final Parser parser;
+		try ( final MiniDI.Pooled<Parser> handle = this.parsers.borrow( this.injector, Parser.class ) )
+		{
+			parser = handle.get( );
+		}
+
+		assertThat( this.injector.get( Parser.class ) ).isSameAs( parser );
+	}
+
+	@Test
+	public void test_poolKeepsAtMostMaxSizeInstances( )
+	{
+		final List<Parser> borrowed = new ArrayList<>( );
+		for ( int i = 0; i < 3; i++ )
+		{
+			borrowed.add( this.injector.get( Parser.class ) );
+		}
+		borrowed.forEach( parser -> this.parsers.release( Parser.class, parser ) );
+
+		for ( int i = 0; i < 3; i++ )
+		{
+			this.injector.get( Parser.class );
+		}
+
+		assertThat( Parser.CREATED.get( ) ).isEqualTo( 4 );
+	}
+
+	@Test
+	public void test_instanceIsNeverHandedOutTwice( )
+	{
+		final AtomicInteger conflicts = new AtomicInteger( );
+		final List<CompletableFuture<Void>> workers = new ArrayList<>( );
+		for ( int worker = 0; worker < 4; worker++ )
+		{
+			workers.add( CompletableFuture.runAsync( ( ) -> {
+				for ( int i = 0; i < 10_000; i++ )
+				{
+					try ( final MiniDI.Pooled<Parser> handle = this.parsers.borrow( this.injector, Parser.class ) )
+					{
+						if ( !handle.get( ).inUse.compareAndSet( false, true ) )
+						{
+							conflicts.incrementAndGet( );
+						}
+						handle.get( ).inUse.set( false );
+					}
+				}
+			} ) );
+		}
+		CompletableFuture.allOf( workers.toArray( new CompletableFuture<?>[ 0 ] ) ).join( );
+
+		assertThat( conflicts.get( ) ).isZero( );
+	}
+
+	@Test
+	public void test_releaseForUnpooledClass_throws( )
+	{
+		final MiniDI.PooledScope<Object> pool = MiniDI.Scope.pooled( 1 );
+		assertThatThrownBy( ( ) -> pool.release( String.class, "" ) )
+			.isInstanceOf( IllegalArgumentException.class );
+	}
+
+	@Test
+	public void test_doubleRelease_throws( )
+	{
+		final Parser parser = this.injector.get( Parser.class );
+		this.parsers.release( Parser.class, parser );
+
+		assertThatThrownBy( ( ) -> this.parsers.release( Parser.class, parser ) )
+			.isInstanceOf( IllegalStateException.class );
+		assertThat( this.injector.get( Parser.class ) ).isSameAs( parser );
+		assertThat( this.injector.get( Parser.class ) ).isNotSameAs( parser );
+	}
+
+	@Test
+	public void test_instancesAreNotSharedAcrossInjectorsUsingTheScope( )
+	{
+		final MiniDI.Injector other = MiniDI.create( )
+			.bind( Parser.class ).withScope( this.parsers ).toClass( Parser.class )
+			.initialize( );
+
+		final Parser parser = this.injector.get( Parser.class );
+		this.parsers.release( Parser.class, parser );
+		final Parser otherParser = other.get( Parser.class );
+
+		assertThat( otherParser ).isNotSameAs( parser );
+
+		this.parsers.release( Parser.class, otherParser );
+
+		assertThat( this.injector.get( Parser.class ) ).isSameAs( parser );
+		assertThat( other.get( Parser.class ) ).isSameAs( otherParser );
+	}
+
+	@Test
+	public void test_handleReleasesIntoThePoolOfItsBinding( )
+	{
+		final MiniDI.Injector other = MiniDI.create( )
+			.bind( Parser.class ).withScope( this.parsers ).toClass( Parser.class )
+			.initialize( );
+
+		final Parser otherParser;
+		try ( final MiniDI.Pooled<Parser> handle = this.parsers.borrow( other, Parser.class ) )
+		{
+			otherParser = handle.get( );
+		}
+
+		assertThat( this.injector.get( Parser.class ) ).isNotSameAs( otherParser );
+		assertThat( other.get( Parser.class ) ).isSameAs( otherParser );
+	}
+
+	@Test
+	public void test_releaseOfInstanceThatWasNotLeased_throws( )
+	{
+		final Parser foreign = new Parser( );
+
+		assertThatThrownBy( ( ) -> this.parsers.release( Parser.class, foreign ) )
+			.isInstanceOf( IllegalArgumentException.class );
+		assertThat( this.injector.get( Parser.class ) ).isNotSameAs( foreign );
+	}
+
+	@Test( expected = IllegalStateException.class )
+	public void test_handleAfterClose_throws( )
+	{
+		final MiniDI.Pooled<Parser> handle = this.parsers.borrow( this.injector, Parser.class );
+		handle.close( );
+
+		handle.get( );
+	}
+}
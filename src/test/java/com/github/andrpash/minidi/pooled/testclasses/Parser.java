@@ -0,0 +1,22 @@
+package com.github.andrpash.minidi.pooled.testclasses;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Parser
+{
+	public static final AtomicInteger CREATED = new AtomicInteger( );
+
+	public final AtomicBoolean inUse = new AtomicBoolean( );
+	public final StringBuilder buffer = new StringBuilder( );
+
+	public Parser( )
+	{
+		CREATED.incrementAndGet( );
+	}
+
+	public void reset( )
+	{
+		this.buffer.setLength( 0 );
+	}
+}
@@ -0,0 +1,88 @@
+package com.github.andrpash.minidi.provider;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.provider.testclasses.RawProviderConsumer;
+import com.github.andrpash.minidi.provider.testclasses.Widget;
+import com.github.andrpash.minidi.provider.testclasses.WidgetConstructorConsumer;
+import com.github.andrpash.minidi.provider.testclasses.WidgetFieldConsumer;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProviderInjectionTest
+{
+	@Test
+	public void test_fieldProviderCreatesNewTransientInstances( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Widget.class ).withScope( MiniDI.BindingScope.TRANSIENT ).toClass( Widget.class )
+			.bind( WidgetFieldConsumer.class ).toClass( WidgetFieldConsumer.class )
+			.initialize( );
+
+		final MiniDI.Provider<Widget> widgets = injector.get( WidgetFieldConsumer.class ).getWidgets( );
+
+		assertThat( widgets.get( ) ).isNotNull( );
+		assertThat( widgets.get( ) ).isNotSameAs( widgets.get( ) );
+	}
+
+	@Test
+	public void test_constructorProviderReturnsSingleton( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Widget.class ).toClass( Widget.class )
+			.bind( WidgetConstructorConsumer.class ).toClass( WidgetConstructorConsumer.class )
+			.initialize( );
+
+		final MiniDI.Provider<Widget> widgets = injector.get( WidgetConstructorConsumer.class ).getWidgets( );
+
+		assertThat( widgets.get( ) ).isSameAs( injector.get( Widget.class ) );
+		assertThat( widgets.get( ) ).isSameAs( widgets.get( ) );
+	}
+
+	@Test
+	public void test_providerDoesNotInstantiateTargetEagerly( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( Widget.class ).toClass( Widget.class )
+			.bind( WidgetFieldConsumer.class ).toClass( WidgetFieldConsumer.class )
+			.initialize( );
+
+		final int instancesBefore = Widget.INSTANCES.get( );
+		final MiniDI.Provider<Widget> widgets = injector.get( WidgetFieldConsumer.class ).getWidgets( );
+		assertThat( Widget.INSTANCES.get( ) ).isEqualTo( instancesBefore );
+
+		widgets.get( );
+		assertThat( Widget.INSTANCES.get( ) ).isEqualTo( instancesBefore + 1 );
+	}
+
+	@Test
+	public void test_providerForDynamicBinding( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.dynamic( Widget.class )
+			.bind( WidgetFieldConsumer.class ).toClass( WidgetFieldConsumer.class )
+			.initialize( );
+
+		final MiniDI.Provider<Widget> widgets = injector.get( WidgetFieldConsumer.class ).getWidgets( );
+		final Widget widget = new Widget( );
+		injector.bindDynamic( Widget.class ).toInstance( widget );
+
+		assertThat( widgets.get( ) ).isSameAs( widget );
+	}
+
+	@Test( expected = MiniDI.MissingBindingException.class )
+	public void test_providerForMissingBinding_throws( )
+	{
+		MiniDI.create( )
+			.bind( WidgetFieldConsumer.class ).toClass( WidgetFieldConsumer.class )
+			.initialize( );
+	}
+
+	@Test( expected = MiniDI.InvalidProviderDependency.class )
+	public void test_rawProvider_throws( )
+	{
+		MiniDI.create( )
+			.bind( RawProviderConsumer.class ).toClass( RawProviderConsumer.class )
+			.initialize( );
+	}
+}
@@ -0,0 +1,10 @@
+package com.github.andrpash.minidi.provider.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class RawProviderConsumer
+{
+	@MiniDI.Inject
+	@SuppressWarnings( "rawtypes" )
+	private MiniDI.Provider widgets;
+}
@@ -0,0 +1,13 @@
+package com.github.andrpash.minidi.provider.testclasses;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Widget
+{
+	public static final AtomicInteger INSTANCES = new AtomicInteger( );
+
+	public Widget( )
+	{
+		INSTANCES.incrementAndGet( );
+	}
+}
@@ -0,0 +1,19 @@
+package com.github.andrpash.minidi.provider.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class WidgetConstructorConsumer
+{
+	private final MiniDI.Provider<Widget> widgets;
+
+	@MiniDI.Inject
+	public WidgetConstructorConsumer( final MiniDI.Provider<Widget> widgets )
+	{
+		this.widgets = widgets;
+	}
+
+	public MiniDI.Provider<Widget> getWidgets( )
+	{
+		return this.widgets;
+	}
+}
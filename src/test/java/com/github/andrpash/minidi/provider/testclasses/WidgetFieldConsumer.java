@@ -0,0 +1,14 @@
+package com.github.andrpash.minidi.provider.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class WidgetFieldConsumer
+{
+	@MiniDI.Inject
+	private MiniDI.Provider<Widget> widgets;
+
+	public MiniDI.Provider<Widget> getWidgets( )
+	{
+		return this.widgets;
+	}
+}
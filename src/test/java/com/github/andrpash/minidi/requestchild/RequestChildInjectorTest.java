@@ -0,0 +1,144 @@
+package com.github.andrpash.minidi.requestchild;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.requestchild.testclasses.AppService;
+import com.github.andrpash.minidi.requestchild.testclasses.RequestContext;
+import com.github.andrpash.minidi.requestchild.testclasses.RequestContextConsumer;
+import com.github.andrpash.minidi.requestchild.testclasses.RequestHandler;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestChildInjectorTest
+{
+	@Test
+	public void test_requestChildResolvesOwnAndParentBindings( )
+	{
+		final MiniDI.Injector root = MiniDI.create( )
+			.bind( AppService.class ).toClass( AppService.class )
+			.initialize( );
+
+		final RequestContext context = new RequestContext( "request-1" );
+		try ( final MiniDI.Injector request = root.createRequestChild( )
+			.bind( RequestContext.class ).toInstance( context )
+			.bind( RequestHandler.class ).toClass( RequestHandler.class )
+			.initialize( ) )
+		{
+			final RequestHandler handler = request.get( RequestHandler.class );
+
+			assertThat( handler.getRequestContext( ) ).isSameAs( context );
+			assertThat( handler.getAppService( ) ).isSameAs( root.get( AppService.class ) );
+			assertThat( request.get( MiniDI.Injector.class ) ).isSameAs( request );
+		}
+	}
+
+	@Test( expected = MiniDI.MissingBindingException.class )
+	public void test_requestChildValidatesOwnBindings( )
+	{
+		final MiniDI.Injector root = MiniDI.create( )
+			.bind( AppService.class ).toClass( AppService.class )
+			.initialize( );
+
+		root.createRequestChild( )
+			.bind( RequestHandler.class ).toClass( RequestHandler.class )
+			.initialize( );
+	}
+
+	@Test( expected = IllegalStateException.class )
+	public void test_closedRequestChildCannotBeUsed( )
+	{
+		final MiniDI.Injector request = MiniDI.create( )
+			.bind( AppService.class ).toClass( AppService.class )
+			.initialize( )
+			.createRequestChild( )
+			.initialize( );
+
+		request.close( );
+		request.get( AppService.class );
+	}
+
+	@Test
+	public void test_pooledRequestChildIsReusedWithoutPreviousBindings( )
+	{
+		final MiniDI.Injector root = MiniDI.create( )
+			.bind( AppService.class ).toClass( AppService.class )
+			.poolRequestChildren( 4 )
+			.initialize( );
+
+		final MiniDI.Injector first = root.createRequestChild( )
+			.bind( RequestContext.class ).toInstance( new RequestContext( "request-1" ) )
+			.initialize( );
+		first.close( );
+
+		final MiniDI.Injector second = root.createRequestChild( ).initialize( );
+
+		assertThat( second ).isNotSameAs( first );
+		assertThat( second.get( AppService.class ) ).isSameAs( root.get( AppService.class ) );
+
+		MiniDI.MissingBindingException caughtException = null;
+		try
+		{
+			second.get( RequestContext.class );
+		}
+		catch ( final MiniDI.MissingBindingException e )
+		{
+			caughtException = e;
+		}
+		assertThat( caughtException ).isNotNull( );
+	}
+
+	@Test( expected = IllegalStateException.class )
+	public void test_handleOfReusedRequestChildFailsFast( )
+	{
+		final MiniDI.Injector root = MiniDI.create( )
+			.bind( AppService.class ).toClass( AppService.class )
+			.poolRequestChildren( 1 )
+			.initialize( );
+
+		final MiniDI.Injector first = root.createRequestChild( ).initialize( );
+		first.close( );
+		root.createRequestChild( ).initialize( );
+
+		first.get( AppService.class );
+	}
+
+	@Test( expected = IllegalStateException.class )
+	public void test_providerOfReusedRequestChildFailsFast( )
+	{
+		final MiniDI.Injector root = MiniDI.create( )
+			.poolRequestChildren( 1 )
+			.initialize( );
+
+		final RequestContextConsumer consumer;
+		try ( final MiniDI.Injector first = root.createRequestChild( )
+			.bind( RequestContext.class ).toInstance( new RequestContext( "request-1" ) )
+			.bind( RequestContextConsumer.class ).toClass( RequestContextConsumer.class )
+			.initialize( ) )
+		{
+			consumer = first.get( RequestContextConsumer.class );
+			assertThat( consumer.getRequestContexts( ).get( ).getRequestId( ) ).isEqualTo( "request-1" );
+		}
+
+		root.createRequestChild( )
+			.bind( RequestContext.class ).toInstance( new RequestContext( "request-2" ) )
+			.initialize( );
+
+		consumer.getRequestContexts( ).get( );
+	}
+
+	@Test
+	public void test_closingStaleHandleKeepsReusedRequestChildOpen( )
+	{
+		final MiniDI.Injector root = MiniDI.create( )
+			.bind( AppService.class ).toClass( AppService.class )
+			.poolRequestChildren( 1 )
+			.initialize( );
+
+		final MiniDI.Injector first = root.createRequestChild( ).initialize( );
+		first.close( );
+		final MiniDI.Injector second = root.createRequestChild( ).initialize( );
+		first.close( );
+
+		assertThat( second.get( AppService.class ) ).isSameAs( root.get( AppService.class ) );
+	}
+}
@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.requestchild.testclasses;
+
+public class AppService
+{
+}
@@ -0,0 +1,16 @@
+package com.github.andrpash.minidi.requestchild.testclasses;
+
+public class RequestContext
+{
+	private final String requestId;
+
+	public RequestContext( final String requestId )
+	{
+		this.requestId = requestId;
+	}
+
+	public String getRequestId( )
+	{
+		return this.requestId;
+	}
+}
@@ -0,0 +1,14 @@
+package com.github.andrpash.minidi.requestchild.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class RequestContextConsumer
+{
+	@MiniDI.Inject
+	private MiniDI.Provider<RequestContext> requestContexts;
+
+	public MiniDI.Provider<RequestContext> getRequestContexts( )
+	{
+		return this.requestContexts;
+	}
+}
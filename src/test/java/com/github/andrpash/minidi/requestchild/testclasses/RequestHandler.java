@@ -0,0 +1,22 @@
+package com.github.andrpash.minidi.requestchild.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class RequestHandler
+{
+	@MiniDI.Inject
+	private AppService appService;
+
+	@MiniDI.Inject
+	private RequestContext requestContext;
+
+	public AppService getAppService( )
+	{
+		return this.appService;
+	}
+
+	public RequestContext getRequestContext( )
+	{
+		return this.requestContext;
+	}
+}
@@ -0,0 +1,165 @@
+package com.github.andrpash.minidi.scopes;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.scopes.testclasses.CountryTable;
+import com.github.andrpash.minidi.scopes.testclasses.RequestData;
+import com.github.andrpash.minidi.scopes.testclasses.RequestProcessor;
+import com.github.andrpash.minidi.scopes.testclasses.ThreadBuffer;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScopeTest
+{
+	@Test
+	public void test_threadScopeKeepsOneInstancePerThread( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( ThreadBuffer.class ).withScope( MiniDI.Scope.THREAD ).toClass( ThreadBuffer.class )
+			.initialize( );
+
+		final ThreadBuffer buffer = injector.get( ThreadBuffer.class );
+		final ThreadBuffer otherThreadBuffer = CompletableFuture.supplyAsync( ( ) -> injector.get( ThreadBuffer.class ) )
+			.join( );
+
+		assertThat( injector.get( ThreadBuffer.class ) ).isSameAs( buffer );
+		assertThat( otherThreadBuffer ).isNotNull( ).isNotSameAs( buffer );
+	}
+
+	@Test
+	public void test_requestScopeKeepsOneInstancePerRequest( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( RequestData.class ).withScope( MiniDI.Scope.REQUEST ).toClass( RequestData.class )
+			.bind( RequestProcessor.class ).toClass( RequestProcessor.class )
+			.initialize( );
+		final RequestProcessor processor = injector.get( RequestProcessor.class );
+
+		final RequestData first;
+		try ( final MiniDI.RequestScope.Request request = MiniDI.Scope.REQUEST.enter( ) )
+		{
+			first = injector.get( RequestData.class );
+			assertThat( processor.currentRequestData( ) ).isSameAs( first );
+		}
+
+		try ( final MiniDI.RequestScope.Request request = MiniDI.Scope.REQUEST.enter( ) )
+		{
+			assertThat( processor.currentRequestData( ) ).isNotSameAs( first );
+		}
+		assertThat( MiniDI.Scope.REQUEST.isActive( ) ).isFalse( );
+	}
+
+	@Test
+	public void test_nestedRequestsAreIsolated( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( RequestData.class ).withScope( MiniDI.Scope.REQUEST ).toClass( RequestData.class )
+			.initialize( );
+
+		try ( final MiniDI.RequestScope.Request outer = MiniDI.Scope.REQUEST.enter( ) )
+		{
+			final RequestData outerData = injector.get( RequestData.class );
+			try ( final MiniDI.RequestScope.Request inner = MiniDI.Scope.REQUEST.enter( ) )
+			{
+				assertThat( injector.get( RequestData.class ) ).isNotSameAs( outerData );
+			}
+			assertThat( injector.get( RequestData.class ) ).isSameAs( outerData );
+		}
+	}
+
+	@Test( expected = MiniDI.OutOfScopeException.class )
+	public void test_requestScopedBindingOutsideOfRequest_throws( )
+	{
+		MiniDI.create( )
+			.bind( RequestData.class ).withScope( MiniDI.Scope.REQUEST ).toClass( RequestData.class )
+			.initialize( )
+			.get( RequestData.class );
+	}
+
+	@Test
+	public void test_customScope( )
+	{
+		final AtomicInteger scopedLookups = new AtomicInteger( );
+		final MiniDI.Scope countingScope = new MiniDI.Scope( )
+		{
+			@Override
+			public <T> MiniDI.Provider<T> scope( final Class<T> key, final MiniDI.Provider<T> unscoped )
+			{
+				return ( ) -> {
+					scopedLookups.incrementAndGet( );
+					return unscoped.get( );
+				};
+			}
+		};
+
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( RequestData.class ).withScope( countingScope ).toClass( RequestData.class )
+			.initialize( );
+
+		assertThat( injector.get( RequestData.class ) ).isNotSameAs( injector.get( RequestData.class ) );
+		assertThat( scopedLookups ).hasValue( 2 );
+	}
+
+	@Test
+	public void test_softScopeKeepsReachableInstance( )
+	{
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( RequestData.class ).withScope( MiniDI.Scope.SOFT ).toClass( RequestData.class )
+			.initialize( );
+
+		assertThat( injector.get( RequestData.class ) ).isSameAs( injector.get( RequestData.class ) );
+	}
+
+	@Test
+	public void test_expiringScopeRebuildsAfterTimeToLive( ) throws InterruptedException
+	{
+		CountryTable.CREATED.set( 0 );
+		CountryTable.gate = null;
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( CountryTable.class ).withScope( MiniDI.Scope.expiring( 50, TimeUnit.MILLISECONDS ) )
+			.toClass( CountryTable.class )
+			.initialize( );
+
+		final CountryTable first = injector.get( CountryTable.class );
+		assertThat( injector.get( CountryTable.class ) ).isSameAs( first );
+
+		Thread.sleep( 80 );
+
+		assertThat( injector.get( CountryTable.class ) ).isNotSameAs( first );
+		assertThat( CountryTable.CREATED ).hasValue( 2 );
+	}
+
+	@Test
+	public void test_expiringScopeServesPreviousInstanceDuringRebuild( ) throws InterruptedException
+	{
+		CountryTable.CREATED.set( 0 );
+		CountryTable.gate = null;
+		final MiniDI.Injector injector = MiniDI.create( )
+			.bind( CountryTable.class ).withScope( MiniDI.Scope.expiring( 50, TimeUnit.MILLISECONDS ) )
+			.toClass( CountryTable.class )
+			.initialize( );
+		final CountryTable previous = injector.get( CountryTable.class );
+		Thread.sleep( 80 );
+
+		CountryTable.building = new CountDownLatch( 1 );
+		CountryTable.gate = new CountDownLatch( 1 );
+		final CompletableFuture<CountryTable> rebuild =
+			CompletableFuture.supplyAsync( ( ) -> injector.get( CountryTable.class ) );
+		assertThat( CountryTable.building.await( 5, TimeUnit.SECONDS ) ).isTrue( );
+
+		assertThat( injector.get( CountryTable.class ) ).isSameAs( previous );
+
+		CountryTable.gate.countDown( );
+		final CountryTable rebuilt = rebuild.join( );
+		CountryTable.gate = null;
+
+		assertThat( rebuilt ).isNotSameAs( previous );
+		assertThat( injector.get( CountryTable.class ) ).isSameAs( rebuilt );
+		assertThat( CountryTable.CREATED ).hasValue( 2 );
+	}
+}
@@ -0,0 +1,22 @@
+package com.github.andrpash.minidi.scopes.testclasses;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CountryTable
+{
+	public static final AtomicInteger CREATED = new AtomicInteger( );
+	public static volatile CountDownLatch building;
+	public static volatile CountDownLatch gate;
+
+	public CountryTable( ) throws InterruptedException
+	{
+		CREATED.incrementAndGet( );
+		if ( gate != null )
+		{
+			building.countDown( );
+			gate.await( 5, TimeUnit.SECONDS );
+		}
+	}
+}
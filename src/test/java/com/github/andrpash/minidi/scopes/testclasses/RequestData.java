@@ -0,0 +1,5 @@
+package com.github.andrpash.minidi.scopes.testclasses;
+
+public class RequestData
+{
+}
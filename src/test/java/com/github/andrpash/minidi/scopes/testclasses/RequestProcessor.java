@@ -0,0 +1,14 @@
+package com.github.andrpash.minidi.scopes.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class RequestProcessor
+{
+	@MiniDI.Inject
+	private MiniDI.Provider<RequestData> requestData;
+
+	public RequestData currentRequestData( )
+	{
+		return this.requestData.get( );
+	}
+}
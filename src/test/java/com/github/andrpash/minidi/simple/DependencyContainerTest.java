@@ -92,6 +92,32 @@ public class DependencyContainerTest
 		container.get( Root.class );
 	}
 
+	@Test
+	public void test_circularDependency_reportsCyclePath( )
+	{
+		Exception caughtException = null;
+		try
+		{
+			MiniDI.create( )
+				.bind( Root.class ).toClass( Root.class )
+				.bind( Child.class ).toClass( Child.class )
+				.bind( ChildWithRefToRoot.class ).toClass( ChildWithRefToRoot.class )
+				.initialize( );
+		}
+		catch ( final Exception ex )
+		{
+			caughtException = ex;
+		}
+
+		assertThat( caughtException ).isInstanceOf( MiniDI.CircularDependencyException.class );
+		final String message = caughtException.getMessage( );
+		assertThat( message.substring( message.indexOf( ": " ) + 2 ) ).isIn(
+			"Root -> Child -> ChildWithRefToRoot -> Root",
+			"Child -> ChildWithRefToRoot -> Root -> Child",
+			"ChildWithRefToRoot -> Root -> Child -> ChildWithRefToRoot"
+		);
+	}
+
 	@Test
 	public void test_instanceBinding_pass( )
 	{
@@ -0,0 +1,50 @@
+package com.github.andrpash.minidi.validation;
+
+import com.github.andrpash.minidi.MiniDI;
+import com.github.andrpash.minidi.validation.testclasses.DiamondChain;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationTest
+{
+	@Test( timeout = 5000 )
+	public void test_sharedSubgraphsAreValidatedOnce( )
+	{
+		/* every node injects the next one twice, so re-walking shared subgraphs would visit 2^30 paths */
+		final MiniDI.Injector injector = bindAll( MiniDI.create( ) ).initialize( );
+
+		assertThat( injector.get( DiamondChain.Node0.class ) ).isNotNull( );
+	}
+
+	@Test( timeout = 5000 )
+	public void test_childInjectorsReuseValidatedParentBindings( )
+	{
+		final MiniDI.Injector root = bindAll( MiniDI.create( ) ).initialize( );
+
+		MiniDI.Injector injector = root;
+		for ( int i = 0; i < 100; i++ )
+		{
+			injector = injector.createChild( )
+				.bind( DiamondChain.Node0.class ).toClass( DiamondChain.Node0.class )
+				.initialize( );
+		}
+
+		assertThat( injector.get( DiamondChain.Node0.class ) ).isNotNull( );
+	}
+
+	private static MiniDI.InjectorBuilder bindAll( final MiniDI.InjectorBuilder builder )
+	{
+		for ( final Class<?> node : DiamondChain.NODES )
+		{
+			bind( builder, node );
+		}
+
+		return builder;
+	}
+
+	private static <T> void bind( final MiniDI.InjectorBuilder builder, final Class<T> node )
+	{
+		builder.bind( node ).toClass( node );
+	}
+}
@@ -0,0 +1,304 @@
+package com.github.andrpash.minidi.validation.testclasses;
+
+import com.github.andrpash.minidi.MiniDI;
+
+public class DiamondChain
+{
+	public static class Node0
+	{
+		@MiniDI.Inject
+		private Node1 left;
+
+		@MiniDI.Inject
+		private Node1 right;
+	}
+
+	public static class Node1
+	{
+		@MiniDI.Inject
+		private Node2 left;
+
+		@MiniDI.Inject
+		private Node2 right;
+	}
+
+	public static class Node2
+	{
+		@MiniDI.Inject
+		private Node3 left;
+
+		@MiniDI.Inject
+		private Node3 right;
+	}
+
+	public static class Node3
+	{
+		@MiniDI.Inject
+		private Node4 left;
+
+		@MiniDI.Inject
+		private Node4 right;
+	}
+
+	public static class Node4
+	{
+		@MiniDI.Inject
+		private Node5 left;
+
+		@MiniDI.Inject
+		private Node5 right;
+	}
+
+	public static class Node5
+	{
+		@MiniDI.Inject
+		private Node6 left;
+
+		@MiniDI.Inject
+		private Node6 right;
+	}
+
+	public static class Node6
+	{
+		@MiniDI.Inject
+		private Node7 left;
+
+		@MiniDI.Inject
+		private Node7 right;
+	}
+
+	public static class Node7
+	{
+		@MiniDI.Inject
+		private Node8 left;
+
+		@MiniDI.Inject
+		private Node8 right;
+	}
+
+	public static class Node8
+	{
+		@MiniDI.Inject
+		private Node9 left;
+
+		@MiniDI.Inject
+		private Node9 right;
+	}
+
+	public static class Node9
+	{
+		@MiniDI.Inject
+		private Node10 left;
+
+		@MiniDI.Inject
+		private Node10 right;
+	}
+
+	public static class Node10
+	{
+		@MiniDI.Inject
+		private Node11 left;
+
+		@MiniDI.Inject
+		private Node11 right;
+	}
+
+	public static class Node11
+	{
+		@MiniDI.Inject
+		private Node12 left;
+
+		@MiniDI.Inject
+		private Node12 right;
+	}
+
+	public static class Node12
+	{
+		@MiniDI.Inject
+		private Node13 left;
+
+		@MiniDI.Inject
+		private Node13 right;
+	}
+
+	public static class Node13
+	{
+		@MiniDI.Inject
+		private Node14 left;
+
+		@MiniDI.Inject
+		private Node14 right;
+	}
+
+	public static class Node14
+	{
+		@MiniDI.Inject
+		private Node15 left;
+
+		@MiniDI.Inject
+		private Node15 right;
+	}
+
+	public static class Node15
+	{
+		@MiniDI.Inject
+		private Node16 left;
+
+		@MiniDI.Inject
+		private Node16 right;
+	}
+
+	public static class Node16
+	{
+		@MiniDI.Inject
+		private Node17 left;
+
+		@MiniDI.Inject
+		private Node17 right;
+	}
+
+	public static class Node17
+	{
+		@MiniDI.Inject
+		private Node18 left;
+
+		@MiniDI.Inject
+		private Node18 right;
+	}
+
+	public static class Node18
+	{
+		@MiniDI.Inject
+		private Node19 left;
+
+		@MiniDI.Inject
+		private Node19 right;
+	}
+
+	public static class Node19
+	{
+		@MiniDI.Inject
+		private Node20 left;
+
+		@MiniDI.Inject
+		private Node20 right;
+	}
+
+	public static class Node20
+	{
+		@MiniDI.Inject
+		private Node21 left;
+
+		@MiniDI.Inject
+		private Node21 right;
+	}
+
+	public static class Node21
+	{
+		@MiniDI.Inject
+		private Node22 left;
+
+		@MiniDI.Inject
+		private Node22 right;
+	}
+
+	public static class Node22
+	{
+		@MiniDI.Inject
+		private Node23 left;
+
+		@MiniDI.Inject
+		private Node23 right;
+	}
+
+	public static class Node23
+	{
+		@MiniDI.Inject
+		private Node24 left;
+
+		@MiniDI.Inject
+		private Node24 right;
+	}
+
+	public static class Node24
+	{
+		@MiniDI.Inject
+		private Node25 left;
+
+		@MiniDI.Inject
+		private Node25 right;
+	}
+
+	public static class Node25
+	{
+		@MiniDI.Inject
+		private Node26 left;
+
+		@MiniDI.Inject
+		private Node26 right;
+	}
+
+	public static class Node26
+	{
+		@MiniDI.Inject
+		private Node27 left;
+
+		@MiniDI.Inject
+		private Node27 right;
+	}
+
+	public static class Node27
+	{
+		@MiniDI.Inject
+		private Node28 left;
+
+		@MiniDI.Inject
+		private Node28 right;
+	}
+
+	public static class Node28
+	{
+		@MiniDI.Inject
+		private Node29 left;
+
+		@MiniDI.Inject
+		private Node29 right;
+	}
+
+	public static class Node29
+	{
+	}
+
+	public static final Class<?>[] NODES = {
+		Node0.class,
+		Node1.class,
+		Node2.class,
+		Node3.class,
+		Node4.class,
+		Node5.class,
+		Node6.class,
+		Node7.class,
+		Node8.class,
+		Node9.class,
+		Node10.class,
+		Node11.class,
+		Node12.class,
+		Node13.class,
+		Node14.class,
+		Node15.class,
+		Node16.class,
+		Node17.class,
+		Node18.class,
+		Node19.class,
+		Node20.class,
+		Node21.class,
+		Node22.class,
+		Node23.class,
+		Node24.class,
+		Node25.class,
+		Node26.class,
+		Node27.class,
+		Node28.class,
+		Node29.class
+	};
+}